@@ -0,0 +1,67 @@
+package org.lambadaframework.benchmarks;
+
+import org.lambadaframework.benchmarks.resources.BenchmarkResource;
+import org.lambadaframework.jaxrs.JAXRSParser;
+import org.lambadaframework.jaxrs.model.Resource;
+import org.lambadaframework.jaxrs.model.ResourceMethod;
+import org.lambadaframework.jaxrs.route.Route;
+import org.lambadaframework.runtime.models.Request;
+import org.lambadaframework.runtime.router.Router;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fixtures shared by the benchmarks
+ */
+final class Benchmarks {
+
+    static final String PACKAGE_NAME = "org.lambadaframework.benchmarks.resources";
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Gets the router singleton scanning the benchmark resources,
+     * they may not be next to the router class when the benchmarks are not shaded
+     */
+    static Router getRouter() {
+        return Router.getRouter().setJaxrsParser(new JAXRSParser() {
+            @Override
+            public JAXRSParser withPackageName(String packageName, Class clazz) {
+                return super.withPackageName(packageName, BenchmarkResource.class);
+            }
+        });
+    }
+
+    /**
+     * Gets the routes of the benchmark resources
+     *
+     * @return Routes by resource method name
+     */
+    static Map<String, Route> getRoutes() {
+        Map<String, Route> routes = new HashMap<>();
+        for (Resource resource : new JAXRSParser()
+                .withPackageName(PACKAGE_NAME, BenchmarkResource.class)
+                .scan()) {
+            for (ResourceMethod resourceMethod : resource.getResourceMethods()) {
+                Route route = resourceMethod.toRoute();
+                routes.put(route.getMethod().getName(), route);
+            }
+        }
+        return routes;
+    }
+
+    static Request getRequest(Request.RequestMethod method, String pathTemplate) {
+        return new Request()
+                .setPackage(PACKAGE_NAME)
+                .setMethod(method)
+                .setPathtemplate(pathTemplate);
+    }
+
+    static Map<String, String> singletonMap(String key, String value) {
+        Map<String, String> map = new HashMap<>();
+        map.put(key, value);
+        return map;
+    }
+}
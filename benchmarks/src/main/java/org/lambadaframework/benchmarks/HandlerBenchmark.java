@@ -0,0 +1,79 @@
+package org.lambadaframework.benchmarks;
+
+import org.lambadaframework.runtime.Handler;
+import org.lambadaframework.runtime.StreamHandler;
+import org.lambadaframework.runtime.models.Request;
+import org.lambadaframework.runtime.models.Response;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full request pipeline: routing, binding, invocation and the response
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandlerBenchmark {
+
+    private static final String EVENT = "{"
+            + "\"package\":\"" + Benchmarks.PACKAGE_NAME + "\","
+            + "\"pathtemplate\":\"/benchmark\","
+            + "\"method\":\"POST\","
+            + "\"requestbody\":\"{\\\"id\\\":42,\\\"name\\\":\\\"lambada\\\"}\","
+            + "\"path\":{},"
+            + "\"querystring\":{},"
+            + "\"header\":{\"Content-Type\":\"application/json\"}"
+            + "}";
+
+    private Handler handler;
+
+    private StreamHandler streamHandler;
+
+    private Request getRequest;
+
+    private Request postRequest;
+
+    private byte[] event;
+
+    private ByteArrayOutputStream outputStream;
+
+    @Setup
+    public void setUp() {
+        handler = new Handler().setRouter(Benchmarks.getRouter());
+        streamHandler = new StreamHandler().setRouter(Benchmarks.getRouter());
+
+        getRequest = Benchmarks.getRequest(Request.RequestMethod.GET, "/benchmark/{id}")
+                .setPath(Benchmarks.singletonMap("id", "42"));
+
+        postRequest = Benchmarks.getRequest(Request.RequestMethod.POST, "/benchmark")
+                .setRequestbody("{\"id\":42,\"name\":\"lambada\"}");
+
+        event = EVENT.getBytes(StandardCharsets.UTF_8);
+        outputStream = new ByteArrayOutputStream(256);
+    }
+
+    @Benchmark
+    public Response handleGet() {
+        return handler.handleRequest(getRequest, null);
+    }
+
+    @Benchmark
+    public Response handlePost() {
+        return handler.handleRequest(postRequest, null);
+    }
+
+    @Benchmark
+    public int streamPost() throws IOException {
+        outputStream.reset();
+        streamHandler.handleRequest(new ByteArrayInputStream(event), outputStream, null);
+        return outputStream.size();
+    }
+}
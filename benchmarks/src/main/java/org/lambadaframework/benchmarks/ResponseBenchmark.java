@@ -0,0 +1,47 @@
+package org.lambadaframework.benchmarks;
+
+import org.lambadaframework.benchmarks.resources.BenchmarkResource;
+import org.lambadaframework.runtime.models.Response;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response.buildFromJAXRSResponse with a JAX-RS response and with a plain entity
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseBenchmark {
+
+    private javax.ws.rs.core.Response jaxrsResponse;
+
+    private BenchmarkResource.Entity entity;
+
+    @Setup
+    public void setUp() {
+        entity = new BenchmarkResource.Entity();
+        entity.id = 42;
+        entity.name = "lambada";
+
+        jaxrsResponse = javax.ws.rs.core.Response
+                .status(201)
+                .entity(entity)
+                .header("Location", "/benchmark/42")
+                .header("X-Request-Id", "2f1c7e5a-93a4-4c08-a6d2-3b4c1fbd0a11")
+                .build();
+    }
+
+    @Benchmark
+    public Response jaxrsResponse() {
+        return Response.buildFromJAXRSResponse(jaxrsResponse);
+    }
+
+    @Benchmark
+    public Response entity() {
+        return Response.buildFromJAXRSResponse(entity);
+    }
+}
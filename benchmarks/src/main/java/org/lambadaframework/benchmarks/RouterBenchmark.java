@@ -0,0 +1,46 @@
+package org.lambadaframework.benchmarks;
+
+import org.lambadaframework.jaxrs.route.Route;
+import org.lambadaframework.runtime.models.Request;
+import org.lambadaframework.runtime.router.Router;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Router.route on the benchmark resources.
+ * <p>
+ * A declared path template is a read of the precomputed routes, a concrete path
+ * falls back to the route matcher.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouterBenchmark {
+
+    private Router router;
+
+    private Request declaredRequest;
+
+    private Request concreteRequest;
+
+    @Setup
+    public void setUp() {
+        router = Benchmarks.getRouter();
+        declaredRequest = Benchmarks.getRequest(Request.RequestMethod.GET, "/benchmark/{id}");
+        concreteRequest = Benchmarks.getRequest(Request.RequestMethod.GET, "/benchmark/42");
+    }
+
+    @Benchmark
+    public Route cacheHit() {
+        return router.route(declaredRequest);
+    }
+
+    @Benchmark
+    public Route cacheMiss() {
+        return router.route(concreteRequest);
+    }
+}
@@ -0,0 +1,73 @@
+package org.lambadaframework.benchmarks;
+
+import org.lambadaframework.jaxrs.model.RouteDefinition;
+import org.lambadaframework.jaxrs.route.Route;
+import org.lambadaframework.runtime.models.Request;
+import org.lambadaframework.runtime.router.RoutingTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routing with 10, 100 and 1000 declared routes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoutingTableBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int routeCount;
+
+    private RoutingTable routingTable;
+
+    private Request declaredRequest;
+
+    private Request concreteRequest;
+
+    @Setup
+    public void setUp() {
+        Route template = Benchmarks.getRoutes().get("getEntity");
+        RouteDefinition definition = template.getDefinition();
+
+        List<Route> routes = new ArrayList<>(routeCount);
+        for (int i = 0; i < routeCount; i++) {
+            routes.add(new Route(
+                    new RouteDefinition(definition.getHttpMethod(),
+                            "/resource" + i + "/{id}",
+                            definition.getClassName(),
+                            definition.getMethodName(),
+                            definition.getParameterTypes(),
+                            definition.getConsumedTypes(),
+                            definition.getProducedTypes(),
+                            definition.getParameterBindings(),
+                            definition.getReturnType()),
+                    template.getResourceClass(),
+                    template.getMethod()
+            ));
+        }
+        Collections.shuffle(routes);
+
+        routingTable = new RoutingTable(routes);
+
+        int last = routeCount - 1;
+        declaredRequest = Benchmarks.getRequest(Request.RequestMethod.GET, "/resource" + last + "/{id}");
+        concreteRequest = Benchmarks.getRequest(Request.RequestMethod.GET, "/resource" + last + "/42");
+    }
+
+    @Benchmark
+    public Route cacheHit() {
+        return routingTable.route(declaredRequest);
+    }
+
+    @Benchmark
+    public Route cacheMiss() {
+        return routingTable.route(concreteRequest);
+    }
+}
@@ -0,0 +1,106 @@
+package org.lambadaframework.benchmarks;
+
+import org.lambadaframework.jaxrs.JAXRSParser;
+import org.lambadaframework.jaxrs.model.Resource;
+import org.lambadaframework.jaxrs.model.ResourceMethod;
+import org.lambadaframework.jaxrs.route.Route;
+import org.lambadaframework.runtime.models.Request;
+import org.lambadaframework.runtime.router.RoutingTable;
+import org.lambadaframework.stubs.generator.ResourceTree;
+import org.lambadaframework.stubs.generator.ResourceTreeGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scanning, building the routing table and routing on generated APIs of 10 methods per resource
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScalingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int resourceCount;
+
+    @Param({"3"})
+    public int depth;
+
+    private File classesDirectory;
+
+    private String packageName;
+
+    private URLClassLoader classLoader;
+
+    private List<Route> routes;
+
+    private RoutingTable routingTable;
+
+    private Request[] requests;
+
+    private int nextRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        ResourceTree tree = new ResourceTreeGenerator()
+                .withResourceCount(resourceCount)
+                .withMethodCount(10)
+                .withDepth(depth)
+                .generate();
+
+        classesDirectory = Files.createTempDirectory("lambada-benchmarks").toFile();
+        classLoader = tree.compile(classesDirectory);
+        packageName = tree.getPackageName();
+
+        routes = scan();
+        routingTable = new RoutingTable(routes);
+
+        requests = new Request[tree.getEndpoints().size()];
+        for (int i = 0; i < requests.length; i++) {
+            ResourceTree.Endpoint endpoint = tree.getEndpoints().get(i);
+            requests[i] = new Request()
+                    .setPackage(packageName)
+                    .setMethod(Request.RequestMethod.valueOf(endpoint.getHttpMethod()))
+                    .setPathtemplate(endpoint.getConcretePath());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        classLoader.close();
+    }
+
+    @Benchmark
+    public List<Route> scan() {
+        List<Route> routes = new ArrayList<>();
+        for (Resource resource : new JAXRSParser()
+                .withClassesDirectory(classesDirectory.getPath(), packageName, classLoader)
+                .scan()) {
+            for (ResourceMethod resourceMethod : resource.getResourceMethods()) {
+                routes.add(resourceMethod.toRoute());
+            }
+        }
+        return routes;
+    }
+
+    @Benchmark
+    public RoutingTable buildRoutingTable() {
+        return new RoutingTable(routes);
+    }
+
+    @Benchmark
+    public Route route() {
+        Request request = requests[nextRequest];
+        nextRequest = (nextRequest + 1) % requests.length;
+        return routingTable.route(request);
+    }
+}
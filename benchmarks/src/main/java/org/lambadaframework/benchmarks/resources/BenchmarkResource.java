@@ -0,0 +1,54 @@
+package org.lambadaframework.benchmarks.resources;
+
+import javax.ws.rs.*;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+/**
+ * Resource with a method for each parameter source, in the style of the stub handlers
+ */
+@Path("/benchmark")
+public class BenchmarkResource {
+
+    public static class Entity {
+
+        public long id;
+
+        public String name;
+
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Path("/{id}")
+    public Response getEntity(@PathParam("id") long id) {
+        Entity entity = new Entity();
+        entity.id = id;
+        return Response.status(200).entity(entity).build();
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Path("/search")
+    public Response search(@QueryParam("q") String query,
+                           @DefaultValue("10") @QueryParam("limit") int limit) {
+        return Response.status(200).header("X-Limit", String.valueOf(limit)).build();
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Path("/me")
+    public Response getCurrentUser(@HeaderParam("Authorization") String authorization) {
+        return Response.status(200).build();
+    }
+
+    @POST
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    public Response newEntity(Entity entity) {
+        return Response.status(201).entity(entity).build();
+    }
+}
@@ -2,25 +2,47 @@ package org.lambadaframework.jaxrs;
 
 
 import org.lambadaframework.jaxrs.model.Resource;
+import org.lambadaframework.jaxrs.model.RouteDefinition;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Enumeration;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class JAXRSParser {
 
     private String packageName;
     private String jarUrl;
     private Class clazz;
+    private String classesDirectory;
+    private ClassLoader classLoader;
+    private int parallelism = 1;
+
+    /**
+     * Monotonic durations of the last scan in nanoseconds
+     */
+    private long classScanTime;
+    private long modelBuildTime;
 
 
     public JAXRSParser() {
@@ -44,6 +66,108 @@ public class JAXRSParser {
         return this;
     }
 
+    /**
+     * Scans a directory of compiled classes instead of a JAR file.
+     *
+     * @param classesDirectory Root directory of the compiled classes
+     * @param packageName      Package name to scan
+     * @param classLoader      Class loader that can load the classes and their dependencies
+     * @return this
+     */
+    public JAXRSParser withClassesDirectory(String classesDirectory, String packageName, ClassLoader classLoader) {
+        this.classesDirectory = classesDirectory;
+        this.packageName = packageName;
+        this.classLoader = classLoader;
+        return this;
+    }
+
+    /**
+     * Scans in parallel with the given number of threads.
+     * <p>
+     * Class files of a JAR file are filtered and loaded concurrently and the resource models
+     * are built concurrently, the resources are returned in the same order as a sequential scan.
+     *
+     * @param parallelism Number of threads, 1 scans sequentially
+     * @return this
+     */
+    public JAXRSParser withParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism should be at least 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    private <T> Stream<T> stream(Collection<T> collection) {
+        return parallelism > 1 ? collection.parallelStream() : collection.stream();
+    }
+
+    /**
+     * Runs the task in a fork join pool of the configured parallelism,
+     * so the parallel streams of the task use that pool.
+     */
+    private <T> T execute(Callable<T> task)
+            throws IOException {
+        try {
+            if (parallelism == 1) {
+                return task.call();
+            }
+
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                return pool.submit(task).get();
+            } finally {
+                pool.shutdown();
+            }
+        } catch (ExecutionException e) {
+            return rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Scanning is interrupted", e);
+        } catch (Exception e) {
+            return rethrow(e);
+        }
+    }
+
+    private static <T> T rethrow(Throwable throwable)
+            throws IOException {
+        if (throwable instanceof UncheckedIOException) {
+            throw ((UncheckedIOException) throwable).getCause();
+        }
+        if (throwable instanceof IOException) {
+            throw (IOException) throwable;
+        }
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException) throwable;
+        }
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        throw new IOException(throwable);
+    }
+
+    /**
+     * Loads the class of the JAR entry if it is a root resource
+     *
+     * @return Class or null if it is not a root resource or can not be loaded
+     */
+    private static Class<? extends Object> loadRootResource(JarFile jarFile, JarEntry je, String className, ClassLoader cl) {
+        try (InputStream classFile = jarFile.getInputStream(je)) {
+            if (!PathAnnotationFilter.isRootResource(classFile)) {
+                return null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            return Class.forName(className, false, cl);
+        } catch (ClassNotFoundException | NoClassDefFoundError exception) {
+            System.out.printf("Can't load class: " + exception.getMessage());
+            return null;
+        }
+    }
+
     private List<Class<? extends Object>> getClassesInJarFile(String jarUrl)
             throws IOException {
 
@@ -52,7 +176,8 @@ public class JAXRSParser {
         URLClassLoader cl = new URLClassLoader(urls, Thread.currentThread().getContextClassLoader());
 
 
-        List<Class<? extends Object>> classes = new LinkedList<>();
+        List<JarEntry> entries = new ArrayList<>();
+        List<String> classNames = new ArrayList<>();
 
 
         Enumeration e = jarFile.entries();
@@ -69,19 +194,27 @@ public class JAXRSParser {
                 continue;
             }
 
-            try {
-                Class c = Class.forName(className, false, cl);
-                classes.add(c);
-            } catch (ClassNotFoundException | NoClassDefFoundError exception) {
-                System.out.printf("Can't load class: " + exception.getMessage());
-            }
+            entries.add(je);
+            classNames.add(className);
+        }
 
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            indexes.add(i);
+        }
+
+        try {
+            /**
+             * Collecting an ordered stream keeps the order of the entries
+             */
+            return execute(() -> stream(indexes)
+                    .map(i -> loadRootResource(jarFile, entries.get(i), classNames.get(i), cl))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toCollection(LinkedList::new)));
+        } finally {
+            jarFile.close();
+            cl.close();
         }
-        
-        jarFile.close();
-        cl.close();
-        
-        return classes;
     }
 
 
@@ -98,14 +231,7 @@ public class JAXRSParser {
      * @return
      */
     private List<Class<? extends Object>> getClassesInPackage(String packageName, Class clazz) {
-        List<Class<? extends Object>> classes = new LinkedList<>();
-
         try {
-            final String classExtension = ".class";
-            final String blank = "";
-            final String classSeperator = ".";
-
-
             final URL location = clazz.getProtectionDomain().getCodeSource().getLocation();
 			final String jarPath = new File(location.toURI()).getAbsolutePath();
 
@@ -116,74 +242,194 @@ public class JAXRSParser {
                 return getClassesInJarFile(jarPath);
             }
 
-            final String packagePath = jarPath + File.separator + packageName.replace(classSeperator, File.separator);
+            return getClassesInDirectory(jarPath, packageName, clazz.getClassLoader());
+        } catch (URISyntaxException | IOException e) {
+            return new LinkedList<>();
+        }
+    }
 
-            Files.walkFileTree(Paths.get(packagePath), new SimpleFileVisitor<Path>() {
-                @Override
-                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
-                        throws IOException {
+    /**
+     * Get classes in the specified package of a directory of compiled classes.
+     *
+     * @param directory   Root directory of the classes
+     * @param packageName Package Name to search
+     * @param classLoader Class loader to load the classes
+     * @return Found classes
+     * @throws IOException if directory can not be walked
+     */
+    private List<Class<? extends Object>> getClassesInDirectory(String directory, String packageName, ClassLoader classLoader)
+            throws IOException {
+        List<Class<? extends Object>> classes = new LinkedList<>();
+
+        final String classExtension = ".class";
+        final String blank = "";
+        final String classSeperator = ".";
 
-                    String fileName = file.toString();
+        final String packagePath = directory + File.separator + packageName.replace(classSeperator, File.separator);
 
-                    if (fileName.endsWith(classExtension)) {
-                        String className = fileName.replace(jarPath + File.separator, blank).replace(File.separator, classSeperator);
-                        className = className.substring(0, className.length() - classExtension.length());
+        Files.walkFileTree(Paths.get(packagePath), new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                    throws IOException {
 
-                        try {
-                            classes.add(
-                                    Class.forName(className)
-                            );
-                        } catch (ClassNotFoundException | NoClassDefFoundError e) {
+                String fileName = file.toString();
+
+                if (fileName.endsWith(classExtension)) {
+                    String className = fileName.replace(directory + File.separator, blank).replace(File.separator, classSeperator);
+                    className = className.substring(0, className.length() - classExtension.length());
+
+                    try (InputStream classFile = Files.newInputStream(file)) {
+                        if (!PathAnnotationFilter.isRootResource(classFile)) {
                             return FileVisitResult.CONTINUE;
                         }
-
                     }
 
+                    try {
+                        classes.add(
+                                Class.forName(className, false, classLoader)
+                        );
+                    } catch (ClassNotFoundException | NoClassDefFoundError e) {
+                        return FileVisitResult.CONTINUE;
+                    }
 
-                    return FileVisitResult.CONTINUE;
                 }
-            });
 
-        } catch (URISyntaxException | IOException e) {
-            return classes;
+
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        return classes;
+    }
+
+    /**
+     * Get the resource classes listed in the route manifest.
+     * <p>
+     * Only the listed classes are loaded, the package is not walked.
+     *
+     * @param routeDefinitions Route definitions read from the manifest
+     * @param classLoader      Class loader to load the classes
+     * @return Found classes or null if the manifest does not list any class of the package
+     * or a listed class can not be loaded, the package should be scanned then
+     */
+    private List<Class<? extends Object>> getClassesInManifest(List<RouteDefinition> routeDefinitions, ClassLoader classLoader) {
+        Set<String> classNames = new LinkedHashSet<>();
+        for (RouteDefinition routeDefinition : routeDefinitions) {
+            if (this.packageName == null || routeDefinition.getClassName().startsWith(packageName + ".")) {
+                classNames.add(routeDefinition.getClassName());
+            }
+        }
+
+        if (classNames.isEmpty()) {
+            /**
+             * Manifest may belong to another artifact on the classpath
+             */
+            return null;
+        }
+
+        List<Class<? extends Object>> classes = new LinkedList<>();
+        for (String className : classNames) {
+            try {
+                classes.add(Class.forName(className, false, classLoader));
+            } catch (ClassNotFoundException | NoClassDefFoundError exception) {
+                /**
+                 * Manifest is stale, it can not be trusted for the other classes either
+                 */
+                return null;
+            }
         }
 
         return classes;
     }
 
+    private ClassLoader getContextClassLoader() {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader != null ? contextClassLoader : JAXRSParser.class.getClassLoader();
+    }
+
 
     /**
      * Scans package for JAX-RS Annotations
      *
      * @return Found resources
+     * @throws UncheckedIOException if the classes can not be read
      */
     public List<Resource> scan() {
         List<Resource> foundResources = new LinkedList<>();
 
         List<Class<? extends Object>> classes;
+        long startTime = System.nanoTime();
+        classScanTime = 0;
+        modelBuildTime = 0;
 
         try {
-            if (jarUrl == null) {
-                if (this.clazz != null) {
-                    classes = getClassesInPackage(this.packageName, this.clazz);
+            classes = null;
+            if (jarUrl == null && classesDirectory == null) {
+                /**
+                 * Route manifest is generated at build time, it spares scanning the package
+                 */
+                List<RouteDefinition> routeDefinitions = RouteManifest.load(getContextClassLoader());
+                if (routeDefinitions != null) {
+                    classes = getClassesInManifest(routeDefinitions, getContextClassLoader());
+                }
+            }
+
+            if (classes == null) {
+                if (classesDirectory != null) {
+                    classes = getClassesInDirectory(classesDirectory, this.packageName, classLoader);
+                } else if (jarUrl == null) {
+                    if (this.clazz != null) {
+                        classes = getClassesInPackage(this.packageName, this.clazz);
+                    } else {
+                        classes = getClassesInPackage(this.packageName);
+                    }
                 } else {
-                    classes = getClassesInPackage(this.packageName);
+                    classes = getClassesInJarFile(jarUrl);
                 }
-            } else {
-                classes = getClassesInJarFile(jarUrl);
             }
         } catch (IOException e) {
-            return foundResources;
+            throw new UncheckedIOException(e);
         }
 
+        long modelStartTime = System.nanoTime();
+        classScanTime = modelStartTime - startTime;
+
+        List<Class<? extends Object>> resourceClasses = classes;
+        List<List<Resource>> resourcesOfClasses;
+        try {
+            resourcesOfClasses = execute(() -> stream(resourceClasses)
+                    .map(this::getResourcesFromClassRecursive)
+                    .collect(Collectors.toList()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
 
-        for (Class clazz : classes) {
-            foundResources.addAll(getResourcesFromClassRecursive(clazz));
+        for (List<Resource> resourcesOfClass : resourcesOfClasses) {
+            foundResources.addAll(resourcesOfClass);
         }
 
+        modelBuildTime = System.nanoTime() - modelStartTime;
         return foundResources;
     }
 
+    /**
+     * Gets the time the last scan spent finding and loading the resource classes
+     *
+     * @return Duration in nanoseconds
+     */
+    public long getClassScanTime() {
+        return classScanTime;
+    }
+
+    /**
+     * Gets the time the last scan spent building the Jersey model of the resource classes
+     *
+     * @return Duration in nanoseconds
+     */
+    public long getModelBuildTime() {
+        return modelBuildTime;
+    }
+
 
     private List<Resource> getResourcesFromClassRecursive(Class clazz) {
         List<Resource> foundResources = new LinkedList<>();
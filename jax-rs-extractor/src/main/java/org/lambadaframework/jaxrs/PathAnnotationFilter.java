@@ -0,0 +1,210 @@
+package org.lambadaframework.jaxrs;
+
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads class files to find out whether they are root resources before loading them.
+ * <p>
+ * Only the constant pool and the class level RuntimeVisibleAnnotations attribute are
+ * parsed, so classes which are not annotated with {@code javax.ws.rs.Path} (DTOs,
+ * utilities and so on) are never loaded, linked or initialized while scanning.
+ */
+final class PathAnnotationFilter {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final String PATH_DESCRIPTOR = "Ljavax/ws/rs/Path;";
+
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private PathAnnotationFilter() {
+    }
+
+    /**
+     * Checks if the class file is annotated with @Path at class level
+     *
+     * @param classFile Class file stream, it is not closed
+     * @return false only if the class is certainly not a root resource,
+     * true if it is or if the class file could not be understood
+     */
+    static boolean isRootResource(InputStream classFile) {
+        try {
+            return isAnnotatedWithPath(new DataInputStream(new BufferedInputStream(classFile)));
+        } catch (IOException | RuntimeException e) {
+            /**
+             * Let the class loader decide
+             */
+            return true;
+        }
+    }
+
+    private static boolean isAnnotatedWithPath(DataInputStream input)
+            throws IOException {
+
+        if (input.readInt() != MAGIC) {
+            return true;
+        }
+
+        // minor and major version
+        skipFully(input, 4);
+
+        int constantPoolCount = input.readUnsignedShort();
+        String[] utf8 = new String[constantPoolCount];
+        boolean pathFound = false;
+
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = input.readUnsignedByte();
+            switch (tag) {
+                case CONSTANT_UTF8:
+                    utf8[i] = input.readUTF();
+                    pathFound |= PATH_DESCRIPTOR.equals(utf8[i]);
+                    break;
+                case CONSTANT_CLASS:
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    skipFully(input, 2);
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    skipFully(input, 3);
+                    break;
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELDREF:
+                case CONSTANT_METHODREF:
+                case CONSTANT_INTERFACE_METHODREF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    skipFully(input, 4);
+                    break;
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    skipFully(input, 8);
+                    // 8 byte constants take two entries
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        /**
+         * The descriptor is not even referenced, there is no need to read further
+         */
+        if (!pathFound) {
+            return false;
+        }
+
+        // access flags, this class, super class
+        skipFully(input, 6);
+        skipFully(input, 2 * input.readUnsignedShort());
+
+        // fields and methods
+        skipMembers(input);
+        skipMembers(input);
+
+        int attributesCount = input.readUnsignedShort();
+        for (int i = 0; i < attributesCount; i++) {
+            String name = utf8[input.readUnsignedShort()];
+            int length = input.readInt();
+
+            if (!RUNTIME_VISIBLE_ANNOTATIONS.equals(name)) {
+                skipFully(input, length);
+                continue;
+            }
+
+            int annotationsCount = input.readUnsignedShort();
+            for (int j = 0; j < annotationsCount; j++) {
+                if (PATH_DESCRIPTOR.equals(utf8[input.readUnsignedShort()])) {
+                    return true;
+                }
+                skipElementValuePairs(input);
+            }
+            return false;
+        }
+
+        return false;
+    }
+
+    private static void skipMembers(DataInputStream input)
+            throws IOException {
+        int membersCount = input.readUnsignedShort();
+        for (int i = 0; i < membersCount; i++) {
+            // access flags, name, descriptor
+            skipFully(input, 6);
+            int attributesCount = input.readUnsignedShort();
+            for (int j = 0; j < attributesCount; j++) {
+                skipFully(input, 2);
+                skipFully(input, input.readInt());
+            }
+        }
+    }
+
+    private static void skipElementValuePairs(DataInputStream input)
+            throws IOException {
+        int pairsCount = input.readUnsignedShort();
+        for (int i = 0; i < pairsCount; i++) {
+            skipFully(input, 2);
+            skipElementValue(input);
+        }
+    }
+
+    private static void skipElementValue(DataInputStream input)
+            throws IOException {
+        int tag = input.readUnsignedByte();
+        switch (tag) {
+            case 'e':
+                skipFully(input, 4);
+                break;
+            case '@':
+                skipFully(input, 2);
+                skipElementValuePairs(input);
+                break;
+            case '[':
+                int valuesCount = input.readUnsignedShort();
+                for (int i = 0; i < valuesCount; i++) {
+                    skipElementValue(input);
+                }
+                break;
+            default:
+                // constants and classes
+                skipFully(input, 2);
+        }
+    }
+
+    private static void skipFully(DataInputStream input, int length)
+            throws IOException {
+        int skipped = 0;
+        while (skipped < length) {
+            int count = input.skipBytes(length - skipped);
+            if (count <= 0) {
+                throw new IOException("Unexpected end of class file");
+            }
+            skipped += count;
+        }
+    }
+}
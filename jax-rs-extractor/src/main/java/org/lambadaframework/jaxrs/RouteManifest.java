@@ -0,0 +1,126 @@
+package org.lambadaframework.jaxrs;
+
+
+import org.lambadaframework.jaxrs.model.Resource;
+import org.lambadaframework.jaxrs.model.ResourceMethod;
+import org.lambadaframework.jaxrs.model.RouteDefinition;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Route manifest is a list of route definitions written into the artifact at build time.
+ * <p>
+ * Each line of the manifest is a route definition, lines starting with # are comments.
+ * When the manifest is found on the classpath, the resource classes are loaded by name
+ * instead of walking the package and loading every class in it.
+ */
+public final class RouteManifest {
+
+    /**
+     * Location of the manifest in the artifact
+     */
+    public static final String LOCATION = "META-INF/lambada/routes";
+
+    private static final String COMMENT = "#";
+
+    private RouteManifest() {
+    }
+
+    /**
+     * Creates the route definitions of the scanned resources
+     *
+     * @param resources Scanned resources
+     * @return Route definitions in scan order, each resource method only once
+     */
+    public static List<RouteDefinition> fromResources(List<Resource> resources) {
+        Set<String> lines = new LinkedHashSet<>();
+        List<RouteDefinition> routeDefinitions = new ArrayList<>();
+
+        for (Resource resource : resources) {
+            for (ResourceMethod resourceMethod : resource.getResourceMethods()) {
+                RouteDefinition routeDefinition = RouteDefinition.from(resourceMethod);
+                if (lines.add(routeDefinition.toString())) {
+                    routeDefinitions.add(routeDefinition);
+                }
+            }
+        }
+
+        return routeDefinitions;
+    }
+
+    /**
+     * Writes the manifest
+     *
+     * @param routeDefinitions Route definitions
+     * @param writer           Writer, it is not closed
+     * @throws IOException if manifest can not be written
+     */
+    public static void write(List<RouteDefinition> routeDefinitions, Writer writer)
+            throws IOException {
+        writer.write(COMMENT + " HTTP method, path, class, method, consumed types, produced types, parameter bindings, return type\n");
+        for (RouteDefinition routeDefinition : routeDefinitions) {
+            writer.write(routeDefinition.toString());
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Reads the manifest
+     *
+     * @param reader Reader, it is not closed
+     * @return Route definitions
+     * @throws IOException if manifest can not be read
+     */
+    public static List<RouteDefinition> read(Reader reader)
+            throws IOException {
+        List<RouteDefinition> routeDefinitions = new ArrayList<>();
+        BufferedReader bufferedReader = new BufferedReader(reader);
+
+        String line;
+        while ((line = bufferedReader.readLine()) != null) {
+            if (line.isEmpty() || line.startsWith(COMMENT)) {
+                continue;
+            }
+            routeDefinitions.add(RouteDefinition.parse(line));
+        }
+
+        return routeDefinitions;
+    }
+
+    /**
+     * Loads all the manifests found by the class loader
+     *
+     * @param classLoader Class loader
+     * @return Route definitions or null if there is no manifest on the classpath
+     * @throws IOException if a manifest can not be read
+     */
+    public static List<RouteDefinition> load(ClassLoader classLoader)
+            throws IOException {
+        Enumeration<URL> manifests = classLoader.getResources(LOCATION);
+        if (!manifests.hasMoreElements()) {
+            return null;
+        }
+
+        List<RouteDefinition> routeDefinitions = new ArrayList<>();
+        while (manifests.hasMoreElements()) {
+            try (InputStream inputStream = manifests.nextElement().openStream()) {
+                routeDefinitions.addAll(read(new InputStreamReader(inputStream, StandardCharsets.UTF_8)));
+            }
+        }
+
+        return routeDefinitions;
+    }
+}
@@ -0,0 +1,215 @@
+package org.lambadaframework.jaxrs;
+
+
+import org.lambadaframework.jaxrs.model.RouteDefinition;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * On disk cache of the routes scanned from a JAR file.
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the JAR file contents and the package name,
+ * so a changed artifact never hits a stale entry. Entries are stored in the route manifest
+ * format. An entry is refreshed whenever it is read and pruned once it is not used for
+ * {@link #MAXIMUM_AGE}, at most {@link #MAXIMUM_ENTRIES} of the latest entries are kept.
+ */
+public class ScanCache {
+
+    /**
+     * Bumped whenever the stored format changes
+     */
+    private static final String VERSION = "1";
+
+    private static final String ENTRY_PREFIX = "routes-";
+
+    /**
+     * Entries which are not used for this long are pruned
+     */
+    static final long MAXIMUM_AGE = TimeUnit.DAYS.toMillis(30);
+
+    static final int MAXIMUM_ENTRIES = 32;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+
+    private int parallelism = 1;
+
+    public ScanCache(File directory) {
+        this.directory = directory.toPath();
+    }
+
+    /**
+     * Scans with the given number of threads on a cache miss
+     *
+     * @param parallelism Number of threads
+     * @return this
+     */
+    public ScanCache withParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Gets the routes of the JAR file, scanning it only if it is not cached yet
+     *
+     * @param jarFile     JAR file to scan
+     * @param packageName Package name to scan
+     * @return Route definitions
+     * @throws IOException if JAR file can not be read or cache can not be written
+     */
+    public List<RouteDefinition> getRouteDefinitions(String jarFile, String packageName)
+            throws IOException {
+
+        Path entry = directory.resolve(ENTRY_PREFIX + getKey(jarFile, packageName));
+
+        if (Files.isRegularFile(entry)) {
+            try (Reader reader = Files.newBufferedReader(entry, StandardCharsets.UTF_8)) {
+                List<RouteDefinition> routeDefinitions = RouteManifest.read(reader);
+                Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+                return routeDefinitions;
+            } catch (IllegalArgumentException e) {
+                /**
+                 * Corrupted entry, scan again
+                 */
+            }
+        }
+
+        List<RouteDefinition> routeDefinitions;
+        try {
+            routeDefinitions = RouteManifest.fromResources(
+                    new JAXRSParser()
+                            .withJarFile(jarFile, packageName)
+                            .withParallelism(parallelism)
+                            .scan()
+            );
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (!routeDefinitions.isEmpty()) {
+            /**
+             * Nothing found is more likely a wrong package name than a result worth keeping
+             */
+            store(entry, routeDefinitions);
+        }
+        return routeDefinitions;
+    }
+
+    /**
+     * Writes the entry to a temporary file first, so a concurrent or interrupted
+     * build never reads a partially written entry
+     */
+    private void store(Path entry, List<RouteDefinition> routeDefinitions)
+            throws IOException {
+        Files.createDirectories(directory);
+        prune();
+
+        Path temporaryFile = Files.createTempFile(directory, "scan", ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                RouteManifest.write(routeDefinitions, writer);
+            }
+
+            try {
+                Files.move(temporaryFile, entry, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Deletes the entries which are not used for the maximum age,
+     * then the oldest ones above the maximum number of entries
+     */
+    void prune()
+            throws IOException {
+        long now = System.currentTimeMillis();
+        List<Path> entries = new ArrayList<>();
+        Map<Path, Long> lastUsedTimes = new HashMap<>();
+
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(directory, ENTRY_PREFIX + "*")) {
+            for (Path entry : directoryStream) {
+                long lastUsedTime;
+                try {
+                    lastUsedTime = Files.getLastModifiedTime(entry).toMillis();
+                } catch (NoSuchFileException e) {
+                    /**
+                     * Pruned by a concurrent build
+                     */
+                    continue;
+                }
+
+                if (now - lastUsedTime > MAXIMUM_AGE) {
+                    Files.deleteIfExists(entry);
+                } else {
+                    entries.add(entry);
+                    lastUsedTimes.put(entry, lastUsedTime);
+                }
+            }
+        }
+
+        /**
+         * One more entry is about to be stored
+         */
+        if (entries.size() >= MAXIMUM_ENTRIES) {
+            entries.sort(Comparator.comparing(lastUsedTimes::get));
+            for (Path entry : entries.subList(0, entries.size() - MAXIMUM_ENTRIES + 1)) {
+                Files.deleteIfExists(entry);
+            }
+        }
+    }
+
+    static String getKey(String jarFile, String packageName)
+            throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        digest.update(VERSION.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(String.valueOf(packageName).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream input = Files.newInputStream(new File(jarFile).toPath())) {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+
+        StringBuilder key = new StringBuilder();
+        for (byte b : digest.digest()) {
+            key.append(String.format("%02x", b));
+        }
+        return key.toString();
+    }
+}
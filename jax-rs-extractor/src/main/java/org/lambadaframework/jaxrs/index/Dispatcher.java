@@ -0,0 +1,18 @@
+package org.lambadaframework.jaxrs.index;
+
+/**
+ * Calls the resource method of a route directly, without reflection.
+ */
+@FunctionalInterface
+public interface Dispatcher {
+
+    /**
+     * Calls the resource method
+     *
+     * @param instance  Resource instance, ignored for static methods
+     * @param arguments Arguments in the order of the method's parameters
+     * @return Return value of the resource method, null for void methods
+     * @throws Exception if resource method throws an exception
+     */
+    Object dispatch(Object instance, Object[] arguments) throws Exception;
+}
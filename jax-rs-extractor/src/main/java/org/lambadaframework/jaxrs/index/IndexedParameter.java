@@ -0,0 +1,104 @@
+package org.lambadaframework.jaxrs.index;
+
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parameter of an indexed resource method
+ */
+public final class IndexedParameter {
+
+    /**
+     * Where the value of the parameter comes from
+     */
+    public enum Source {
+        PATH, QUERY, HEADER, BODY, CONTEXT
+    }
+
+    /**
+     * Lambda context can be injected, the class itself is not a dependency of the extractor
+     */
+    public static final String LAMBDA_CONTEXT = "com.amazonaws.services.lambda.runtime.Context";
+
+    /**
+     * text/plain is treated the same as application/json, in order to avoid pre-flight CORS OPTION request
+     */
+    private static final List<String> BODY_TYPES = Arrays.asList("application/json", "text/plain");
+
+    private final Source source;
+
+    private final String name;
+
+    private final String defaultValue;
+
+    private final Class<?> type;
+
+    private final Type genericType;
+
+    /**
+     * @param source       Source of the value
+     * @param name         Name of the path, query or header parameter, null for the others
+     * @param defaultValue Value of @DefaultValue or null if it is not declared
+     * @param type         Parameter class
+     * @param genericType  Generic parameter type
+     */
+    public IndexedParameter(Source source, String name, String defaultValue, Class<?> type, Type genericType) {
+        this.source = source;
+        this.name = name;
+        this.defaultValue = defaultValue;
+        this.type = type;
+        this.genericType = genericType;
+    }
+
+    /**
+     * Resolves the source of a parameter without a path, query or header parameter annotation.
+     * <p>
+     * The parameter takes the request body if the resource method itself consumes JSON or plain text,
+     * a class level @Consumes does not count. Otherwise only the Lambda context can be injected.
+     * Both the runtime and the route index processor bind parameters by this rule.
+     *
+     * @param methodConsumes Values of the @Consumes annotation of the resource method, empty if it is not annotated
+     * @param typeName       Name of the parameter class
+     * @return Source or null if the parameter can not be bound
+     */
+    public static Source getSource(List<String> methodConsumes, String typeName) {
+        for (String value : methodConsumes) {
+            /**
+             * A single value may have several media types separated by comma
+             */
+            for (String mediaType : value.split(",")) {
+                if (BODY_TYPES.contains(mediaType.trim())) {
+                    return Source.BODY;
+                }
+            }
+        }
+
+        if (LAMBDA_CONTEXT.equals(typeName)) {
+            return Source.CONTEXT;
+        }
+
+        return null;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDefaultValue() {
+        return defaultValue;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public Type getGenericType() {
+        return genericType;
+    }
+}
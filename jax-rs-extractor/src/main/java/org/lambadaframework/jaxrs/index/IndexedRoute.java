@@ -0,0 +1,53 @@
+package org.lambadaframework.jaxrs.index;
+
+
+import org.lambadaframework.jaxrs.model.RouteDefinition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Route of a generated route index with everything needed to call the resource method
+ */
+public final class IndexedRoute {
+
+    private final RouteDefinition definition;
+
+    private final Class<?> resourceClass;
+
+    private final List<IndexedParameter> parameters;
+
+    private final Dispatcher dispatcher;
+
+    public IndexedRoute(RouteDefinition definition,
+                        Class<?> resourceClass,
+                        List<IndexedParameter> parameters,
+                        Dispatcher dispatcher) {
+        this.definition = definition;
+        this.resourceClass = resourceClass;
+        this.parameters = Collections.unmodifiableList(new ArrayList<>(parameters));
+        this.dispatcher = dispatcher;
+    }
+
+    public RouteDefinition getDefinition() {
+        return definition;
+    }
+
+    public Class<?> getResourceClass() {
+        return resourceClass;
+    }
+
+    public List<IndexedParameter> getParameters() {
+        return parameters;
+    }
+
+    public Dispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    @Override
+    public String toString() {
+        return definition.toString();
+    }
+}
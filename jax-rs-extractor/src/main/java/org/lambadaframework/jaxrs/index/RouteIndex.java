@@ -0,0 +1,20 @@
+package org.lambadaframework.jaxrs.index;
+
+
+import java.util.List;
+
+/**
+ * Routing table generated at compile time by the route index processor.
+ * <p>
+ * Implementations are registered as services, so they are found with
+ * {@link java.util.ServiceLoader} without scanning the classpath.
+ */
+public interface RouteIndex {
+
+    /**
+     * Gets all the routes found while compiling
+     *
+     * @return Routes
+     */
+    List<IndexedRoute> getRoutes();
+}
@@ -0,0 +1,65 @@
+package org.lambadaframework.jaxrs.index;
+
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Finds the generated route indexes
+ */
+public final class RouteIndexes {
+
+    private RouteIndexes() {
+    }
+
+    /**
+     * Loads the routes of the package from the generated route indexes
+     *
+     * @param classLoader Class loader to look up the indexes
+     * @param packageName Package name
+     * @return Routes of the package or null if no index has a route in the package
+     */
+    public static List<IndexedRoute> load(ClassLoader classLoader, String packageName) {
+        String packagePrefix = packageName + ".";
+        List<IndexedRoute> routes = new ArrayList<>();
+
+        Iterator<RouteIndex> routeIndexes = ServiceLoader.load(RouteIndex.class, classLoader).iterator();
+        while (routeIndexes.hasNext()) {
+            for (IndexedRoute route : routeIndexes.next().getRoutes()) {
+                String routePackage = route.getDefinition().getPackageName();
+                if (routePackage.equals(packageName) || routePackage.startsWith(packagePrefix)) {
+                    routes.add(route);
+                }
+            }
+        }
+
+        return routes.isEmpty() ? null : routes;
+    }
+
+    /**
+     * Gets the generic type of a parameter.
+     * <p>
+     * Generated indexes call it only for parameterized types, which can not be written as class literals.
+     *
+     * @param resourceClass  Resource class
+     * @param methodName     Method name
+     * @param index          Index of the parameter
+     * @param parameterTypes Parameter classes of the method
+     * @return Generic parameter type
+     */
+    public static Type getGenericParameterType(Class<?> resourceClass, String methodName, int index, Class<?>... parameterTypes) {
+        for (Class<?> clazz = resourceClass; clazz != null; clazz = clazz.getSuperclass()) {
+            try {
+                return clazz.getDeclaredMethod(methodName, parameterTypes).getGenericParameterTypes()[index];
+            } catch (NoSuchMethodException e) {
+                /**
+                 * Method is inherited
+                 */
+            }
+        }
+        return parameterTypes[index];
+    }
+}
@@ -1,44 +1,67 @@
 package org.lambadaframework.jaxrs.model;
 
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * This class proxies org.glassfish.jersey.server.model.ResourceMethod
  * and extends its functionality for custom Lambada annotations.
+ * <p>
+ * Resources are immutable. A whole resource tree is wrapped in one pass: child resources
+ * and resource methods share their parent's instance and the full path is computed once.
  */
 public final class Resource {
 
-    List<Resource> childResources;
-    List<ResourceMethod> resourceMethods;
-
     private static final String SLASH_CHARACTER = "/";
 
     private final org.glassfish.jersey.server.model.Resource proxied;
 
-    private Resource parent;
+    private final Resource parent;
+
+    /**
+     * Concatenated paths of the parent chain before normalization
+     */
+    private final String rawPath;
+
+    private final String path;
+
+    private final List<Resource> childResources;
+
+    private final List<ResourceMethod> resourceMethods;
 
     public Resource(org.glassfish.jersey.server.model.Resource proxied) {
-        this.proxied = proxied;
-        this.setChildResources();
-        this.setResourceMethods();
+        this(proxied, proxied.getParent() == null ? null : new Resource(proxied.getParent()));
     }
 
-    private Resource setChildResources() {
-        childResources = new LinkedList<>();
+    Resource(org.glassfish.jersey.server.model.Resource proxied, Resource parent) {
+        this.proxied = proxied;
+        this.parent = parent;
+        this.rawPath = parent == null ? String.valueOf(proxied.getPath()) : parent.rawPath + proxied.getPath();
+        this.path = normalize(rawPath);
+
+        List<Resource> childResources = new ArrayList<>();
         proxied.getChildResources().forEach(childResource -> {
-            childResources.add(new Resource(childResource));
+            childResources.add(new Resource(childResource, this));
         });
-        return this;
-    }
+        this.childResources = Collections.unmodifiableList(childResources);
 
-    private Resource setResourceMethods() {
-        resourceMethods = new LinkedList<>();
+        List<ResourceMethod> resourceMethods = new ArrayList<>();
         proxied.getResourceMethods().forEach(resourceMethod -> {
-            resourceMethods.add(new ResourceMethod(resourceMethod));
+            resourceMethods.add(new ResourceMethod(resourceMethod, this));
         });
-        return this;
+        this.resourceMethods = Collections.unmodifiableList(resourceMethods);
+    }
+
+    private static String normalize(String path) {
+        String normalized = path.replace(SLASH_CHARACTER + SLASH_CHARACTER, SLASH_CHARACTER);
+
+        if (normalized.endsWith(SLASH_CHARACTER) && !normalized.equals(SLASH_CHARACTER)) {
+            return normalized.substring(0, normalized.length() - 1);
+        }
+
+        return normalized;
     }
 
     public List<Resource> getChildResources() {
@@ -52,34 +75,11 @@ public final class Resource {
 
 
     public String getPath() {
-        StringBuilder stringBuilder = new StringBuilder();
-        org.glassfish.jersey.server.model.Resource parentResource = proxied.getParent();
-        stringBuilder.append(proxied.getPath());
-        while (parentResource != null) {
-            stringBuilder.insert(0, parentResource.getPath());
-            parentResource = parentResource.getParent();
-        }
-
-        String normalized = stringBuilder.toString().replace(SLASH_CHARACTER + SLASH_CHARACTER, SLASH_CHARACTER);
-
-        if (normalized.endsWith(SLASH_CHARACTER) && !normalized.equals(SLASH_CHARACTER)) {
-            return normalized.substring(0, normalized.length() - 1);
-        }
-
-        return normalized;
+        return path;
     }
 
     public Resource getParent() {
-
-        if (proxied.getParent() == null) {
-            return null;
-        }
-
-        if (parent != null) {
-            return parent;
-        }
-
-        return parent = new Resource(proxied.getParent());
+        return parent;
     }
 
 }
@@ -2,6 +2,7 @@ package org.lambadaframework.jaxrs.model;
 
 
 import org.glassfish.jersey.server.model.Invocable;
+import org.lambadaframework.jaxrs.route.Route;
 
 import javax.ws.rs.core.MediaType;
 import java.util.List;
@@ -11,10 +12,15 @@ public final class ResourceMethod {
 
     private final org.glassfish.jersey.server.model.ResourceMethod proxied;
 
-    private Resource parent;
+    private final Resource parent;
 
     public ResourceMethod(org.glassfish.jersey.server.model.ResourceMethod proxied) {
+        this(proxied, proxied.getParent() == null ? null : new Resource(proxied.getParent()));
+    }
+
+    ResourceMethod(org.glassfish.jersey.server.model.ResourceMethod proxied, Resource parent) {
         this.proxied = proxied;
+        this.parent = parent;
     }
 
     public List<MediaType> getProducedTypes() {
@@ -22,7 +28,7 @@ public final class ResourceMethod {
     }
 
     public List<MediaType> getConsumedTypes() {
-        return proxied.getProducedTypes();
+        return proxied.getConsumedTypes();
     }
 
     public String getHttpMethod() {
@@ -30,15 +36,25 @@ public final class ResourceMethod {
     }
 
     public Resource getParent() {
-        if (proxied.getParent() == null) {
-            return null;
-        }
-        return parent = new Resource(proxied.getParent());
+        return parent;
     }
 
     public Invocable getInvocable() {
         return proxied.getInvocable();
     }
 
+    /**
+     * Converts the resource method to a route which does not depend on Jersey model
+     *
+     * @return Route
+     */
+    public Route toRoute() {
+        Invocable invocable = proxied.getInvocable();
+        return new Route(
+                RouteDefinition.from(this),
+                invocable.getHandler().getHandlerClass(),
+                invocable.getHandlingMethod()
+        );
+    }
 
 }
@@ -0,0 +1,275 @@
+package org.lambadaframework.jaxrs.model;
+
+
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Description of a single route: an HTTP method and a path template
+ * bound to a method of a resource class.
+ * <p>
+ * Route definitions are written into the route manifest at build time
+ * and read back at runtime, so they only hold names and never load the
+ * resource classes themselves.
+ * <p>
+ * Each parameter has a binding: <code>path:name</code>, <code>query:name</code>,
+ * <code>header:name</code> or an empty string if it is not bound to a request parameter.
+ */
+public final class RouteDefinition {
+
+    public static final String PATH_BINDING = "path";
+
+    public static final String QUERY_BINDING = "query";
+
+    public static final String HEADER_BINDING = "header";
+
+    private static final String BINDING_SEPARATOR = ":";
+
+    private static final String FIELD_SEPARATOR = "\t";
+
+    private static final String LIST_SEPARATOR = ",";
+
+    private static final int FIELD_COUNT = 8;
+
+    private final String httpMethod;
+
+    private final String path;
+
+    private final String className;
+
+    private final String methodName;
+
+    private final List<String> parameterTypes;
+
+    private final List<String> consumedTypes;
+
+    private final List<String> producedTypes;
+
+    private final List<String> parameterBindings;
+
+    private final String returnType;
+
+    public RouteDefinition(String httpMethod,
+                           String path,
+                           String className,
+                           String methodName,
+                           List<String> parameterTypes,
+                           List<String> consumedTypes,
+                           List<String> producedTypes,
+                           List<String> parameterBindings,
+                           String returnType) {
+        if (parameterBindings.size() != parameterTypes.size()) {
+            throw new IllegalArgumentException("Every parameter should have a binding");
+        }
+
+        this.httpMethod = httpMethod;
+        this.path = path;
+        this.className = className;
+        this.methodName = methodName;
+        this.parameterTypes = Collections.unmodifiableList(new ArrayList<>(parameterTypes));
+        this.consumedTypes = Collections.unmodifiableList(new ArrayList<>(consumedTypes));
+        this.producedTypes = Collections.unmodifiableList(new ArrayList<>(producedTypes));
+        this.parameterBindings = Collections.unmodifiableList(new ArrayList<>(parameterBindings));
+        this.returnType = returnType;
+    }
+
+    /**
+     * Creates the definition of a scanned resource method
+     *
+     * @param resourceMethod Resource method
+     * @return Route definition
+     */
+    public static RouteDefinition from(ResourceMethod resourceMethod) {
+        Method method = resourceMethod.getInvocable().getHandlingMethod();
+
+        List<String> parameterTypes = new ArrayList<>();
+        List<String> parameterBindings = new ArrayList<>();
+        for (Parameter parameter : method.getParameters()) {
+            parameterTypes.add(parameter.getType().getName());
+            parameterBindings.add(getBinding(parameter));
+        }
+
+        return new RouteDefinition(
+                resourceMethod.getHttpMethod(),
+                resourceMethod.getParent().getPath(),
+                resourceMethod.getInvocable().getHandler().getHandlerClass().getName(),
+                method.getName(),
+                parameterTypes,
+                toStrings(resourceMethod.getConsumedTypes()),
+                toStrings(resourceMethod.getProducedTypes()),
+                parameterBindings,
+                resourceMethod.getInvocable().getRawResponseType().getName()
+        );
+    }
+
+    private static String getBinding(Parameter parameter) {
+        if (parameter.isAnnotationPresent(PathParam.class)) {
+            return PATH_BINDING + BINDING_SEPARATOR + parameter.getAnnotation(PathParam.class).value();
+        }
+        if (parameter.isAnnotationPresent(QueryParam.class)) {
+            return QUERY_BINDING + BINDING_SEPARATOR + parameter.getAnnotation(QueryParam.class).value();
+        }
+        if (parameter.isAnnotationPresent(HeaderParam.class)) {
+            return HEADER_BINDING + BINDING_SEPARATOR + parameter.getAnnotation(HeaderParam.class).value();
+        }
+        return "";
+    }
+
+    private static List<String> toStrings(List<MediaType> mediaTypes) {
+        List<String> strings = new ArrayList<>();
+        for (MediaType mediaType : mediaTypes) {
+            strings.add(mediaType.toString());
+        }
+        return strings;
+    }
+
+    /**
+     * Parses a line of the route manifest
+     *
+     * @param line Tab separated line
+     * @return Route definition
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    public static RouteDefinition parse(String line) {
+        String[] fields = line.split(FIELD_SEPARATOR, -1);
+        if (fields.length != FIELD_COUNT) {
+            throw new IllegalArgumentException("Malformed route definition: " + line);
+        }
+
+        String signature = fields[3];
+        int parenthesis = signature.indexOf('(');
+        if (parenthesis < 1 || !signature.endsWith(")")) {
+            throw new IllegalArgumentException("Malformed method signature: " + signature);
+        }
+
+        List<String> parameterTypes = split(signature.substring(parenthesis + 1, signature.length() - 1));
+
+        /**
+         * Bindings may be empty strings, so they are split only if there are parameters
+         */
+        List<String> parameterBindings = parameterTypes.isEmpty()
+                ? Collections.emptyList()
+                : Arrays.asList(fields[6].split(LIST_SEPARATOR, -1));
+
+        return new RouteDefinition(
+                fields[0],
+                fields[1],
+                fields[2],
+                signature.substring(0, parenthesis),
+                parameterTypes,
+                split(fields[4]),
+                split(fields[5]),
+                parameterBindings,
+                fields[7]
+        );
+    }
+
+    private static List<String> split(String value) {
+        if (value.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(value.split(LIST_SEPARATOR));
+    }
+
+    /**
+     * Gets the names of the parameters with the given binding
+     *
+     * @param binding PATH_BINDING, QUERY_BINDING or HEADER_BINDING
+     * @return Parameter names in declaration order
+     */
+    public List<String> getParameterNames(String binding) {
+        String prefix = binding + BINDING_SEPARATOR;
+        List<String> names = new ArrayList<>();
+        for (String parameterBinding : parameterBindings) {
+            if (parameterBinding.startsWith(prefix)) {
+                names.add(parameterBinding.substring(prefix.length()));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Gets the package of the resource class
+     *
+     * @return Package name
+     */
+    public String getPackageName() {
+        int lastDot = className.lastIndexOf('.');
+        return lastDot < 0 ? "" : className.substring(0, lastDot);
+    }
+
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public List<String> getParameterTypes() {
+        return parameterTypes;
+    }
+
+    public List<String> getConsumedTypes() {
+        return consumedTypes;
+    }
+
+    public List<String> getProducedTypes() {
+        return producedTypes;
+    }
+
+    public List<String> getParameterBindings() {
+        return parameterBindings;
+    }
+
+    /**
+     * Gets the name of the raw return type as Class.getName() returns it
+     *
+     * @return Return type name
+     */
+    public String getReturnType() {
+        return returnType;
+    }
+
+    /**
+     * Gets the signature of the handling method, e.g. getEntity(long)
+     *
+     * @return Method signature
+     */
+    public String getSignature() {
+        return methodName + "(" + String.join(LIST_SEPARATOR, parameterTypes) + ")";
+    }
+
+    /**
+     * Formats the definition as a line of the route manifest
+     *
+     * @return Tab separated line
+     */
+    @Override
+    public String toString() {
+        return httpMethod + FIELD_SEPARATOR
+                + path + FIELD_SEPARATOR
+                + className + FIELD_SEPARATOR
+                + getSignature() + FIELD_SEPARATOR
+                + String.join(LIST_SEPARATOR, consumedTypes) + FIELD_SEPARATOR
+                + String.join(LIST_SEPARATOR, producedTypes) + FIELD_SEPARATOR
+                + String.join(LIST_SEPARATOR, parameterBindings) + FIELD_SEPARATOR
+                + returnType;
+    }
+}
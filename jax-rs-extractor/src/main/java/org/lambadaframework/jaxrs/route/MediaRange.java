@@ -0,0 +1,168 @@
+package org.lambadaframework.jaxrs.route;
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Media type or media range with its quality, parsed from Content-Type and Accept headers
+ * or from @Consumes and @Produces values.
+ * <p>
+ * Parameters other than the quality are ignored, names are lower cased.
+ */
+public final class MediaRange {
+
+    static final String WILDCARD = "*";
+
+    /**
+     * Qualities are kept in thousandths, so they are compared as integers
+     */
+    public static final int MAXIMUM_QUALITY = 1000;
+
+    private static final String QUALITY_PARAMETER = "q";
+
+    private static final MediaRange ANY = new MediaRange(WILDCARD, WILDCARD, MAXIMUM_QUALITY);
+
+    private static final List<MediaRange> ACCEPT_ANY = Collections.singletonList(ANY);
+
+    /**
+     * Most specific ranges first, then the ones with higher qualities
+     */
+    private static final Comparator<MediaRange> PRECEDENCE = Comparator
+            .comparingInt(MediaRange::getSpecificity).reversed()
+            .thenComparing(Comparator.comparingInt(MediaRange::getQuality).reversed());
+
+    private final String type;
+
+    private final String subtype;
+
+    private final int quality;
+
+    MediaRange(String type, String subtype, int quality) {
+        this.type = type;
+        this.subtype = subtype;
+        this.quality = quality;
+    }
+
+    /**
+     * Parses a single media type
+     *
+     * @param value Media type, i.e. <code>application/json; charset=utf-8</code>
+     * @return Media range or null if the value is null or malformed
+     */
+    public static MediaRange parse(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        String[] parts = value.split(";");
+        String name = parts[0].trim().toLowerCase(Locale.ROOT);
+        int slash = name.indexOf('/');
+
+        if (name.equals(WILDCARD)) {
+            /**
+             * Some clients send a single asterisk instead of a full wildcard
+             */
+            return new MediaRange(WILDCARD, WILDCARD, parseQuality(parts));
+        }
+
+        if (slash < 1 || slash == name.length() - 1 || name.indexOf('/', slash + 1) >= 0) {
+            return null;
+        }
+
+        String type = name.substring(0, slash).trim();
+        String subtype = name.substring(slash + 1).trim();
+        if (type.equals(WILDCARD) && !subtype.equals(WILDCARD)) {
+            return null;
+        }
+
+        return new MediaRange(type, subtype, parseQuality(parts));
+    }
+
+    /**
+     * Parses the value of an Accept header
+     *
+     * @param value Header value, null accepts anything
+     * @return Media ranges in precedence order, malformed ones are skipped
+     */
+    public static List<MediaRange> parseAccept(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return ACCEPT_ANY;
+        }
+
+        List<MediaRange> ranges = new ArrayList<>();
+        for (String element : value.split(",")) {
+            MediaRange range = parse(element);
+            if (range != null) {
+                ranges.add(range);
+            }
+        }
+
+        if (ranges.isEmpty()) {
+            return ACCEPT_ANY;
+        }
+
+        ranges.sort(PRECEDENCE);
+        return ranges;
+    }
+
+    private static int parseQuality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String[] parameter = parts[i].split("=", 2);
+            if (parameter.length != 2 || !parameter[0].trim().equalsIgnoreCase(QUALITY_PARAMETER)) {
+                continue;
+            }
+
+            try {
+                double quality = Double.parseDouble(parameter[1].trim());
+                return (int) Math.round(Math.max(0, Math.min(1, quality)) * MAXIMUM_QUALITY);
+            } catch (NumberFormatException e) {
+                return MAXIMUM_QUALITY;
+            }
+        }
+        return MAXIMUM_QUALITY;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getSubtype() {
+        return subtype;
+    }
+
+    public int getQuality() {
+        return quality;
+    }
+
+    /**
+     * Gets how specific the range is
+     *
+     * @return 2 for a concrete type, 1 for <code>type/*</code> and 0 for <code>*&#47;*</code>
+     */
+    public int getSpecificity() {
+        if (type.equals(WILDCARD)) {
+            return 0;
+        }
+        return subtype.equals(WILDCARD) ? 1 : 2;
+    }
+
+    /**
+     * Checks if the two ranges have a type in common
+     *
+     * @param other Other range
+     * @return true if they are compatible
+     */
+    public boolean isCompatible(MediaRange other) {
+        return (type.equals(WILDCARD) || other.type.equals(WILDCARD) || type.equals(other.type))
+                && (subtype.equals(WILDCARD) || other.subtype.equals(WILDCARD) || subtype.equals(other.subtype));
+    }
+
+    @Override
+    public String toString() {
+        return type + "/" + subtype + (quality == MAXIMUM_QUALITY ? "" : ";q=" + quality / (double) MAXIMUM_QUALITY);
+    }
+}
@@ -0,0 +1,217 @@
+package org.lambadaframework.jaxrs.route;
+
+
+import javax.ws.rs.core.MediaType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Pre-sorted index of the media types a route consumes or produces.
+ * <p>
+ * It is built once per route. Declared types are sorted most specific first and
+ * hashed by type and subtype, so checking a requested media type against the route
+ * is a few set lookups no matter how many types are declared.
+ * A route which does not declare any type accepts anything.
+ */
+public final class MediaTypes {
+
+    private static final Comparator<MediaRange> MOST_SPECIFIC_FIRST = Comparator
+            .comparingInt(MediaRange::getSpecificity).reversed();
+
+    /**
+     * Ranks are combined from the negotiated quality and the specificities of the matched types,
+     * specificities are between 0 and 2
+     */
+    private static final int SPECIFICITY_LEVELS = 3;
+
+    private final List<MediaRange> mediaTypes;
+
+    /**
+     * Declared <code>type/subtype</code> pairs
+     */
+    private final Set<String> concreteTypes = new HashSet<>();
+
+    /**
+     * Types of the declared concrete types
+     */
+    private final Set<String> typesOfConcreteTypes = new HashSet<>();
+
+    /**
+     * Types of the declared <code>type/*</code> ranges
+     */
+    private final Set<String> wildcardSubtypes = new HashSet<>();
+
+    private final boolean wildcard;
+
+    private final int maximumSpecificity;
+
+    MediaTypes(List<MediaRange> mediaTypes) {
+        List<MediaRange> sorted = new ArrayList<>(mediaTypes);
+        if (sorted.isEmpty()) {
+            sorted.add(new MediaRange(MediaRange.WILDCARD, MediaRange.WILDCARD, MediaRange.MAXIMUM_QUALITY));
+        }
+        sorted.sort(MOST_SPECIFIC_FIRST);
+
+        boolean wildcard = false;
+        for (MediaRange mediaType : sorted) {
+            switch (mediaType.getSpecificity()) {
+                case 2:
+                    concreteTypes.add(mediaType.getType() + "/" + mediaType.getSubtype());
+                    typesOfConcreteTypes.add(mediaType.getType());
+                    break;
+                case 1:
+                    wildcardSubtypes.add(mediaType.getType());
+                    break;
+                default:
+                    wildcard = true;
+            }
+        }
+
+        this.mediaTypes = Collections.unmodifiableList(sorted);
+        this.wildcard = wildcard;
+        this.maximumSpecificity = sorted.get(0).getSpecificity();
+    }
+
+    /**
+     * Builds the index of Jersey media types
+     *
+     * @param mediaTypes Declared media types
+     * @return Index
+     */
+    public static MediaTypes of(List<MediaType> mediaTypes) {
+        List<MediaRange> ranges = new ArrayList<>();
+        for (MediaType mediaType : mediaTypes) {
+            ranges.add(new MediaRange(
+                    mediaType.getType().toLowerCase(Locale.ROOT),
+                    mediaType.getSubtype().toLowerCase(Locale.ROOT),
+                    MediaRange.MAXIMUM_QUALITY
+            ));
+        }
+        return new MediaTypes(ranges);
+    }
+
+    /**
+     * Builds the index of media types given as strings, i.e. in route definitions
+     *
+     * @param mediaTypes Declared media types, malformed ones are skipped
+     * @return Index
+     */
+    public static MediaTypes parse(List<String> mediaTypes) {
+        List<MediaRange> ranges = new ArrayList<>();
+        for (String mediaType : mediaTypes) {
+            MediaRange range = MediaRange.parse(mediaType);
+            if (range != null) {
+                ranges.add(range);
+            }
+        }
+        return new MediaTypes(ranges);
+    }
+
+    /**
+     * Gets the declared media types
+     *
+     * @return Media types, most specific first
+     */
+    public List<MediaRange> getMediaTypes() {
+        return mediaTypes;
+    }
+
+    /**
+     * Finds the most specific declared type compatible with the given type
+     *
+     * @param range Requested media type or range
+     * @return Specificity of the declared type, -1 if none is compatible
+     */
+    public int match(MediaRange range) {
+        switch (range.getSpecificity()) {
+            case 2:
+                if (concreteTypes.contains(range.getType() + "/" + range.getSubtype())) {
+                    return 2;
+                }
+                if (wildcardSubtypes.contains(range.getType())) {
+                    return 1;
+                }
+                return wildcard ? 0 : -1;
+            case 1:
+                if (typesOfConcreteTypes.contains(range.getType())) {
+                    return 2;
+                }
+                if (wildcardSubtypes.contains(range.getType())) {
+                    return 1;
+                }
+                return wildcard ? 0 : -1;
+            default:
+                return maximumSpecificity;
+        }
+    }
+
+    /**
+     * Negotiates the best declared type with the accepted ranges.
+     * <p>
+     * The quality of a concrete type comes from the most specific range that accepts it,
+     * so <code>text/html;q=0</code> excludes text/html even if <code>*&#47;*</code> is accepted.
+     *
+     * @param acceptedTypes Accepted ranges in precedence order
+     * @return Rank combined from the quality and the specificity of the type, -1 if nothing is acceptable
+     */
+    public int getQuality(List<MediaRange> acceptedTypes) {
+        int best = -1;
+
+        for (MediaRange mediaType : mediaTypes) {
+            int quality = 0;
+            for (MediaRange acceptedType : acceptedTypes) {
+                if (!acceptedType.isCompatible(mediaType)) {
+                    continue;
+                }
+
+                if (mediaType.getSpecificity() == 2) {
+                    quality = acceptedType.getQuality();
+                    break;
+                }
+
+                /**
+                 * A declared range may produce any of the types it covers
+                 */
+                quality = Math.max(quality, acceptedType.getQuality());
+            }
+
+            if (quality > 0) {
+                best = Math.max(best, quality * SPECIFICITY_LEVELS + mediaType.getSpecificity());
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Ranks a route for the request's content type and accepted ranges
+     *
+     * @param consumedTypes Types consumed by the route
+     * @param producedTypes Types produced by the route
+     * @param contentType   Content type of the request, null if it does not have a body
+     * @param acceptedTypes Accepted ranges in precedence order
+     * @return Rank, higher is better, -1 if the route can not serve the request
+     */
+    public static int negotiate(MediaTypes consumedTypes,
+                                MediaTypes producedTypes,
+                                MediaRange contentType,
+                                List<MediaRange> acceptedTypes) {
+
+        int consumedSpecificity = contentType == null ? 0 : consumedTypes.match(contentType);
+        if (consumedSpecificity < 0) {
+            return -1;
+        }
+
+        int quality = producedTypes.getQuality(acceptedTypes);
+        if (quality < 0) {
+            return -1;
+        }
+
+        return quality * SPECIFICITY_LEVELS + consumedSpecificity;
+    }
+}
@@ -0,0 +1,183 @@
+package org.lambadaframework.jaxrs.route;
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled JAX-RS path template.
+ * <p>
+ * Template variables match a single path segment unless they declare a regular
+ * expression, i.e. <code>{id}</code> or <code>{path: .*}</code>. The expression
+ * is compiled once, when the template is compiled.
+ */
+public final class PathTemplate {
+
+    private static final char SLASH_CHARACTER = '/';
+
+    private static final char TEMPLATE_START = '{';
+
+    private static final char TEMPLATE_END = '}';
+
+    private static final char REGEX_SEPARATOR = ':';
+
+    private static final String DEFAULT_REGEX = "[^/]+";
+
+    private final String template;
+
+    private final List<String> variables;
+
+    private final Pattern pattern;
+
+    private PathTemplate(String template, List<String> variables, Pattern pattern) {
+        this.template = template;
+        this.variables = variables;
+        this.pattern = pattern;
+    }
+
+    /**
+     * Compiles the template
+     *
+     * @param template Path template
+     * @return Compiled template
+     * @throws IllegalArgumentException if a template variable is not closed
+     */
+    public static PathTemplate compile(String template) {
+        List<String> variables = new ArrayList<>();
+        StringBuilder regex = new StringBuilder();
+        int literalStart = 0;
+        int i = 0;
+
+        while (i < template.length()) {
+            if (template.charAt(i) != TEMPLATE_START) {
+                i++;
+                continue;
+            }
+
+            int end = findTemplateEnd(template, i);
+            if (end < 0) {
+                throw new IllegalArgumentException("Template variable is not closed in " + template);
+            }
+
+            if (i > literalStart) {
+                regex.append(Pattern.quote(template.substring(literalStart, i)));
+            }
+
+            String variable = template.substring(i + 1, end);
+            int separator = variable.indexOf(REGEX_SEPARATOR);
+            if (separator < 0) {
+                variables.add(variable.trim());
+                regex.append("(?:").append(DEFAULT_REGEX).append(")");
+            } else {
+                variables.add(variable.substring(0, separator).trim());
+                regex.append("(?:").append(variable.substring(separator + 1).trim()).append(")");
+            }
+
+            i = end + 1;
+            literalStart = i;
+        }
+
+        if (literalStart < template.length()) {
+            regex.append(Pattern.quote(template.substring(literalStart)));
+        }
+
+        return new PathTemplate(template, Collections.unmodifiableList(variables), Pattern.compile(regex.toString()));
+    }
+
+    /**
+     * Finds the closing brace of the variable, braces of its regular expression are skipped
+     */
+    private static int findTemplateEnd(String template, int start) {
+        int depth = 0;
+        for (int i = start; i < template.length(); i++) {
+            char c = template.charAt(i);
+            if (c == TEMPLATE_START) {
+                depth++;
+            } else if (c == TEMPLATE_END && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Gets the names of the template variables
+     *
+     * @return Names in declaration order
+     */
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    /**
+     * Checks if a concrete path or the template itself matches
+     * <p>
+     * API Gateway sends the declared template as the path, it always matches
+     * even if its variables declare regular expressions.
+     *
+     * @param path Path or path template
+     * @return true if it matches
+     */
+    public boolean matches(String path) {
+        if (path == null) {
+            return false;
+        }
+        return template.equals(path) || pattern.matcher(path).matches();
+    }
+
+    /**
+     * Splits a path into its segments.
+     * <p>
+     * Slashes inside template variables (i.e. regular expressions like <code>{path: .*\/.*}</code>)
+     * do not start a new segment.
+     *
+     * @param path Path
+     * @return Non empty segments
+     */
+    public static List<String> split(String path) {
+        List<String> segments = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == TEMPLATE_START) {
+                depth++;
+            } else if (c == TEMPLATE_END && depth > 0) {
+                depth--;
+            } else if (c == SLASH_CHARACTER && depth == 0) {
+                if (i > start) {
+                    segments.add(path.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+
+        if (start < path.length()) {
+            segments.add(path.substring(start));
+        }
+
+        return segments;
+    }
+
+    /**
+     * Checks if the segment has a template variable
+     *
+     * @param segment Path segment
+     * @return true if it is not a literal segment
+     */
+    public static boolean isVariableSegment(String segment) {
+        return segment.indexOf(TEMPLATE_START) >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
@@ -0,0 +1,134 @@
+package org.lambadaframework.jaxrs.route;
+
+
+import org.lambadaframework.jaxrs.model.RouteDefinition;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Route bound to a resource method, without any Jersey model behind it.
+ * <p>
+ * The path template and the media type indexes are compiled once when the route is
+ * built. Routes can be built from the route definitions of a route manifest using
+ * plain reflection, so serving requests does not need the Jersey server classes.
+ */
+public final class Route {
+
+    private final RouteDefinition definition;
+
+    private final PathTemplate pathTemplate;
+
+    private final Class<?> resourceClass;
+
+    private final Method method;
+
+    private final MediaTypes consumedTypes;
+
+    private final MediaTypes producedTypes;
+
+    public Route(RouteDefinition definition, Class<?> resourceClass, Method method) {
+        this.definition = definition;
+        this.pathTemplate = PathTemplate.compile(definition.getPath());
+        this.resourceClass = resourceClass;
+        this.method = method;
+        this.consumedTypes = MediaTypes.parse(definition.getConsumedTypes());
+        this.producedTypes = MediaTypes.parse(definition.getProducedTypes());
+    }
+
+    /**
+     * Builds the route of a route definition
+     *
+     * @param definition  Route definition
+     * @param classLoader Class loader of the resource class
+     * @return Route
+     * @throws ClassNotFoundException if resource class can not be loaded
+     * @throws NoSuchMethodException  if resource class does not have the method
+     */
+    public static Route from(RouteDefinition definition, ClassLoader classLoader)
+            throws ClassNotFoundException, NoSuchMethodException {
+
+        Class<?> resourceClass = Class.forName(definition.getClassName(), false, classLoader);
+        return new Route(definition, resourceClass, findMethod(resourceClass, definition));
+    }
+
+    /**
+     * Public methods are searched first, they may be inherited from interfaces,
+     * then the methods declared by the class and its superclasses
+     */
+    private static Method findMethod(Class<?> resourceClass, RouteDefinition definition)
+            throws NoSuchMethodException {
+
+        for (Method method : resourceClass.getMethods()) {
+            if (isMethodOf(method, definition)) {
+                return method;
+            }
+        }
+
+        for (Class<?> clazz = resourceClass; clazz != null; clazz = clazz.getSuperclass()) {
+            for (Method method : clazz.getDeclaredMethods()) {
+                if (isMethodOf(method, definition)) {
+                    return method;
+                }
+            }
+        }
+
+        throw new NoSuchMethodException(definition.getClassName() + "." + definition.getSignature());
+    }
+
+    private static boolean isMethodOf(Method method, RouteDefinition definition) {
+        if (method.isBridge() || !method.getName().equals(definition.getMethodName())) {
+            return false;
+        }
+
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        List<String> parameterTypeNames = definition.getParameterTypes();
+        if (parameterTypes.length != parameterTypeNames.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (!parameterTypes[i].getName().equals(parameterTypeNames.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public RouteDefinition getDefinition() {
+        return definition;
+    }
+
+    public String getHttpMethod() {
+        return definition.getHttpMethod();
+    }
+
+    public String getPath() {
+        return definition.getPath();
+    }
+
+    public PathTemplate getPathTemplate() {
+        return pathTemplate;
+    }
+
+    public Class<?> getResourceClass() {
+        return resourceClass;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public MediaTypes getConsumedTypes() {
+        return consumedTypes;
+    }
+
+    public MediaTypes getProducedTypes() {
+        return producedTypes;
+    }
+
+    @Override
+    public String toString() {
+        return definition.getHttpMethod() + " " + definition.getPath() + " " + method;
+    }
+}
@@ -0,0 +1,146 @@
+package org.lambadaframework.jaxrs.route;
+
+import org.lambadaframework.jaxrs.model.RouteDefinition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Compiled route matcher built once from the routes of a package.
+ * <p>
+ * It is a prefix tree keyed by path segments. Every node has its literal
+ * children, at most one template variable branch and the routes declared
+ * on that path grouped by HTTP method. Finding the candidates of a request
+ * costs O(path depth) no matter how many routes are declared.
+ * <p>
+ * Any kind of route can be matched as long as its definition is known,
+ * i.e. scanned {@link Route}s or generated index routes.
+ *
+ * @param <R> Route type
+ */
+public final class RouteMatcher<R> {
+
+    private final Node<R> root = new Node<>();
+
+    private int size;
+
+    /**
+     * Builds the matcher of scanned routes
+     *
+     * @param routes Routes
+     * @return Route matcher
+     */
+    public static RouteMatcher<Route> of(List<Route> routes) {
+        return new RouteMatcher<>(routes, Route::getDefinition);
+    }
+
+    /**
+     * Builds the matcher
+     *
+     * @param routes      Routes
+     * @param definitions Gets the definition of a route
+     */
+    public RouteMatcher(List<R> routes, Function<R, RouteDefinition> definitions) {
+        for (R route : routes) {
+            add(route, definitions.apply(route));
+        }
+    }
+
+    private void add(R route, RouteDefinition definition) {
+        Node<R> node = root;
+        for (String segment : PathTemplate.split(definition.getPath())) {
+            node = node.child(segment);
+        }
+
+        List<R> leaf = node.routes.get(definition.getHttpMethod());
+        if (leaf == null) {
+            leaf = new ArrayList<>(1);
+            node.routes.put(definition.getHttpMethod(), leaf);
+        }
+        leaf.add(route);
+        size++;
+    }
+
+    /**
+     * Number of routes in the matcher
+     *
+     * @return Size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the routes which may serve the given path and HTTP method.
+     * <p>
+     * Literal segments take precedence over template variables, so the candidates
+     * are returned in the order they should be tried.
+     *
+     * @param path       Request path or path template
+     * @param httpMethod HTTP method
+     * @return Candidates, empty if nothing is declared on this path
+     */
+    public List<R> find(String path, String httpMethod) {
+        if (path == null || httpMethod == null) {
+            return Collections.emptyList();
+        }
+
+        List<R> candidates = new LinkedList<>();
+        collect(root, PathTemplate.split(path), 0, httpMethod, candidates);
+        return candidates;
+    }
+
+    private void collect(Node<R> node,
+                         List<String> segments,
+                         int depth,
+                         String httpMethod,
+                         List<R> candidates) {
+
+        if (depth == segments.size()) {
+            List<R> leaf = node.routes.get(httpMethod);
+            if (leaf != null) {
+                candidates.addAll(leaf);
+            }
+            return;
+        }
+
+        Node<R> literal = node.literals.get(segments.get(depth));
+        if (literal != null) {
+            collect(literal, segments, depth + 1, httpMethod, candidates);
+        }
+
+        if (node.variable != null) {
+            collect(node.variable, segments, depth + 1, httpMethod, candidates);
+        }
+    }
+
+    private static final class Node<R> {
+
+        private final Map<String, Node<R>> literals = new HashMap<>();
+
+        private final Map<String, List<R>> routes = new HashMap<>();
+
+        private Node<R> variable;
+
+        private Node<R> child(String segment) {
+            if (PathTemplate.isVariableSegment(segment)) {
+                if (variable == null) {
+                    variable = new Node<>();
+                }
+                return variable;
+            }
+
+            Node<R> node = literals.get(segment);
+            if (node == null) {
+                node = new Node<>();
+                literals.put(segment, node);
+            }
+            return node;
+        }
+    }
+}
@@ -2,16 +2,24 @@ package org.lambadaframework.jaxrs;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.FilenameFilter;
+import java.io.FileWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 
 import org.junit.Test;
 import org.lambadaframework.jaxrs.model.Resource;
+import org.lambadaframework.jaxrs.model.ResourceMethod;
+import org.lambadaframework.jaxrs.model.RouteDefinition;
 import org.lambadaframework.stubs.StubHandler;
 
 public class JAXRSParserTest {
@@ -34,6 +42,25 @@ public class JAXRSParserTest {
         assertFalse(resourceList.isEmpty());
     }
 
+    @Test
+    public void testParallelScanJar() throws Exception {
+        String stubHandlerFileName = new File("../stub-handlers/target").listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String filename) {
+                return filename.startsWith("stub-handlers-");
+            }
+        })[0].getAbsolutePath();
+
+        List<Resource> sequential = new JAXRSParser().withJarFile(stubHandlerFileName, "org.lambadaframework").scan();
+        List<Resource> parallel = new JAXRSParser().withJarFile(stubHandlerFileName, "org.lambadaframework").withParallelism(4).scan();
+
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertEquals(sequential.get(i).getPath(), parallel.get(i).getPath());
+            assertEquals(sequential.get(i).getResourceMethods().size(), parallel.get(i).getResourceMethods().size());
+        }
+    }
+
     @Test
     public void testScanPackage() throws Exception {
         JAXRSParser parser = new JAXRSParser().withPackageName("org.lambadaframework", StubHandler.class);
@@ -53,6 +80,99 @@ public class JAXRSParserTest {
         assertEquals("/resource1/{id}/users", resourceList.get(3).getPath());
     }
 
+    @Test
+    public void testSharedParents() throws Exception {
+        List<Resource> resourceList = new JAXRSParser().withPackageName("org.lambadaframework", StubHandler.class).scan();
+        for (Resource resource : resourceList) {
+            assertSame(resource.getPath(), resource.getPath());
+            for (ResourceMethod resourceMethod : resource.getResourceMethods()) {
+                assertSame(resource, resourceMethod.getParent());
+            }
+            if (resource.getParent() != null) {
+                assertTrue(resource.getParent().getChildResources().contains(resource));
+                assertTrue(resource.getPath().startsWith(resource.getParent().getPath()));
+            }
+        }
+    }
+
+    @Test
+    public void testScanManifest() throws Exception {
+        List<RouteDefinition> routeDefinitions = RouteManifest.fromResources(
+                new JAXRSParser().withPackageName("org.lambadaframework", StubHandler.class).scan()
+        );
+        assertEquals(6, routeDefinitions.size());
+
+        /**
+         * Manifest lists only one route, so the classes not listed in it are not scanned
+         */
+        File directory = Files.createTempDirectory("lambada").toFile();
+        File manifest = new File(directory, RouteManifest.LOCATION);
+        assertTrue(manifest.getParentFile().mkdirs());
+        try (Writer writer = new FileWriter(manifest)) {
+            RouteManifest.write(routeDefinitions.subList(0, 1), writer);
+        }
+
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{directory.toURI().toURL()}, contextClassLoader)) {
+            Thread.currentThread().setContextClassLoader(classLoader);
+
+            List<RouteDefinition> loadedDefinitions = RouteManifest.load(classLoader);
+            assertEquals(1, loadedDefinitions.size());
+            assertEquals(routeDefinitions.get(0).toString(), loadedDefinitions.get(0).toString());
+
+            List<Resource> resourceList = new JAXRSParser().withPackageName("org.lambadaframework", StubHandler.class).scan();
+            assertEquals(4, resourceList.size());
+            assertEquals(StubHandler.class, resourceList.get(0).getResourceMethods().get(0).getInvocable().getHandler().getHandlerClass());
+
+            List<Resource> otherPackage = new JAXRSParser().withPackageName("com.example", StubHandler.class).scan();
+            assertTrue(otherPackage.isEmpty());
+        } finally {
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    @Test
+    public void testScanStaleManifest() throws Exception {
+        List<Resource> scanned = new JAXRSParser().withPackageName("org.lambadaframework", StubHandler.class).scan();
+
+        /**
+         * Manifest lists a class which is not on the classpath anymore, the package is scanned instead
+         */
+        File directory = Files.createTempDirectory("lambada").toFile();
+        File manifest = new File(directory, RouteManifest.LOCATION);
+        assertTrue(manifest.getParentFile().mkdirs());
+        try (Writer writer = new FileWriter(manifest)) {
+            RouteManifest.write(Collections.singletonList(RouteDefinition.parse(
+                    "GET\t/removed\torg.lambadaframework.stubs.RemovedHandler\tgetEntity()\t\tapplication/json\t\tjava.lang.Object")), writer);
+        }
+
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{directory.toURI().toURL()}, contextClassLoader)) {
+            Thread.currentThread().setContextClassLoader(classLoader);
+
+            List<Resource> resourceList = new JAXRSParser().withPackageName("org.lambadaframework", StubHandler.class).scan();
+            assertEquals(scanned.size(), resourceList.size());
+        } finally {
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    @Test
+    public void testRouteDefinition() throws Exception {
+        RouteDefinition routeDefinition = RouteDefinition.parse("GET\t/resource1/{id}\torg.lambadaframework.stubs.StubHandler\tgetEntity(long)\t\tapplication/json\tpath:id\tjava.lang.Object");
+        assertEquals("GET", routeDefinition.getHttpMethod());
+        assertEquals("/resource1/{id}", routeDefinition.getPath());
+        assertEquals("getEntity", routeDefinition.getMethodName());
+        assertEquals(Collections.singletonList("long"), routeDefinition.getParameterTypes());
+        assertTrue(routeDefinition.getConsumedTypes().isEmpty());
+        assertEquals(Collections.singletonList("application/json"), routeDefinition.getProducedTypes());
+        assertEquals("getEntity(long)", routeDefinition.getSignature());
+        assertEquals(Collections.singletonList("id"), routeDefinition.getParameterNames(RouteDefinition.PATH_BINDING));
+        assertTrue(routeDefinition.getParameterNames(RouteDefinition.QUERY_BINDING).isEmpty());
+        assertEquals("java.lang.Object", routeDefinition.getReturnType());
+        assertEquals("org.lambadaframework.stubs", routeDefinition.getPackageName());
+    }
+
     private class PathComparator implements Comparator<Resource> {
 
         @Override
@@ -0,0 +1,35 @@
+package org.lambadaframework.jaxrs;
+
+import org.junit.Test;
+import org.lambadaframework.stubs.StubHandler;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static org.junit.Assert.*;
+
+public class PathAnnotationFilterTest {
+
+    private boolean isRootResource(Class<?> clazz) throws Exception {
+        try (InputStream classFile = clazz.getResourceAsStream("/" + clazz.getName().replace('.', '/') + ".class")) {
+            return PathAnnotationFilter.isRootResource(classFile);
+        }
+    }
+
+    @Test
+    public void testRootResource() throws Exception {
+        assertTrue(isRootResource(StubHandler.class));
+    }
+
+    @Test
+    public void testNotRootResource() throws Exception {
+        assertFalse(isRootResource(StubHandler.NewEntityRequest.class));
+        assertFalse(isRootResource(PathAnnotationFilterTest.class));
+        assertFalse(isRootResource(JAXRSParser.class));
+    }
+
+    @Test
+    public void testMalformedClassFile() throws Exception {
+        assertTrue(PathAnnotationFilter.isRootResource(new ByteArrayInputStream(new byte[]{(byte) 0xCA, (byte) 0xFE})));
+    }
+}
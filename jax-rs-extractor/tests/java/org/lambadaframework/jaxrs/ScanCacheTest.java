@@ -0,0 +1,123 @@
+package org.lambadaframework.jaxrs;
+
+import org.junit.Test;
+import org.lambadaframework.jaxrs.model.RouteDefinition;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.FileWriter;
+import java.io.Writer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ScanCacheTest {
+
+    private String getStubHandlerJar() {
+        return new File("../stub-handlers/target").listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String filename) {
+                return filename.startsWith("stub-handlers-");
+            }
+        })[0].getAbsolutePath();
+    }
+
+    @Test
+    public void testCachedScan() throws Exception {
+        File directory = Files.createTempDirectory("lambada").toFile();
+        String jarFile = getStubHandlerJar();
+        String key = ScanCache.getKey(jarFile, "org.lambadaframework");
+
+        List<RouteDefinition> scanned = new ScanCache(directory).getRouteDefinitions(jarFile, "org.lambadaframework");
+        assertEquals(6, scanned.size());
+        File entry = new File(directory, "routes-" + key);
+        assertTrue(entry.isFile());
+
+        /**
+         * Overwrite the entry, the next call should read it instead of scanning
+         */
+        try (Writer writer = new FileWriter(entry)) {
+            RouteManifest.write(scanned.subList(0, 1), writer);
+        }
+        List<RouteDefinition> cached = new ScanCache(directory).getRouteDefinitions(jarFile, "org.lambadaframework");
+        assertEquals(1, cached.size());
+        assertEquals(scanned.get(0).toString(), cached.get(0).toString());
+    }
+
+    @Test
+    public void testScanFailure() throws Exception {
+        File directory = Files.createTempDirectory("lambada").toFile();
+        File jarFile = File.createTempFile("lambada", ".jar");
+        Files.write(jarFile.toPath(), Collections.singletonList("not a jar"));
+
+        try {
+            new ScanCache(directory).getRouteDefinitions(jarFile.getAbsolutePath(), "org.lambadaframework");
+            fail("Scan failure should be propagated");
+        } catch (IOException e) {
+            /**
+             * Expected
+             */
+        }
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void testEmptyScanIsNotStored() throws Exception {
+        File directory = Files.createTempDirectory("lambada").toFile();
+        String jarFile = getStubHandlerJar();
+
+        assertTrue(new ScanCache(directory).getRouteDefinitions(jarFile, "com.example").isEmpty());
+        assertFalse(new File(directory, "routes-" + ScanCache.getKey(jarFile, "com.example")).exists());
+    }
+
+    @Test
+    public void testPrune() throws Exception {
+        File directory = Files.createTempDirectory("lambada").toFile();
+        long now = System.currentTimeMillis();
+
+        File expired = new File(directory, "routes-expired");
+        File recent = new File(directory, "routes-recent");
+        for (File entry : new File[]{expired, recent}) {
+            Files.write(entry.toPath(), Collections.singletonList("# entry"));
+        }
+        Files.setLastModifiedTime(expired.toPath(), FileTime.fromMillis(now - ScanCache.MAXIMUM_AGE - 1000));
+        Files.setLastModifiedTime(recent.toPath(), FileTime.fromMillis(now - (ScanCache.MAXIMUM_ENTRIES + 1) * 1000));
+
+        /**
+         * Entries of other JAR files and packages are kept while they are used
+         */
+        String jarFile = getStubHandlerJar();
+        new ScanCache(directory).getRouteDefinitions(jarFile, "org.lambadaframework");
+        assertFalse(expired.exists());
+        assertTrue(recent.exists());
+        assertTrue(new File(directory, "routes-" + ScanCache.getKey(jarFile, "org.lambadaframework")).isFile());
+
+        for (int i = 0; i < ScanCache.MAXIMUM_ENTRIES; i++) {
+            File entry = new File(directory, "routes-" + i);
+            Files.write(entry.toPath(), Collections.singletonList("# entry"));
+            Files.setLastModifiedTime(entry.toPath(), FileTime.fromMillis(now - i * 1000));
+        }
+        new ScanCache(directory).prune();
+        assertEquals(ScanCache.MAXIMUM_ENTRIES - 1, directory.list().length);
+        assertTrue(new File(directory, "routes-0").exists());
+        assertFalse(new File(directory, "routes-" + (ScanCache.MAXIMUM_ENTRIES - 1)).exists());
+        assertFalse(recent.exists());
+    }
+
+    @Test
+    public void testKey() throws Exception {
+        File jarFile = File.createTempFile("lambada", ".jar");
+        Files.write(jarFile.toPath(), Collections.singletonList("first"));
+        String first = ScanCache.getKey(jarFile.getAbsolutePath(), "org.lambadaframework");
+
+        assertEquals(first, ScanCache.getKey(jarFile.getAbsolutePath(), "org.lambadaframework"));
+        assertNotEquals(first, ScanCache.getKey(jarFile.getAbsolutePath(), "org.example"));
+
+        Files.write(jarFile.toPath(), Collections.singletonList("second"));
+        assertNotEquals(first, ScanCache.getKey(jarFile.getAbsolutePath(), "org.lambadaframework"));
+    }
+}
@@ -0,0 +1,77 @@
+package org.lambadaframework.jaxrs.route;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MediaTypesTest {
+
+    @Test
+    public void testParse() throws Exception {
+        MediaRange mediaRange = MediaRange.parse("Application/JSON; charset=utf-8; q=0.5");
+        assertEquals("application", mediaRange.getType());
+        assertEquals("json", mediaRange.getSubtype());
+        assertEquals(500, mediaRange.getQuality());
+        assertEquals(2, mediaRange.getSpecificity());
+
+        assertEquals(0, MediaRange.parse("*").getSpecificity());
+        assertNull(MediaRange.parse("json"));
+        assertNull(MediaRange.parse("*/json"));
+        assertNull(MediaRange.parse(null));
+    }
+
+    @Test
+    public void testParseAccept() throws Exception {
+        List<MediaRange> accepted = MediaRange.parseAccept("*/*;q=0.1, text/*, application/json;q=0.9, broken");
+        assertEquals(3, accepted.size());
+        assertEquals("application/json;q=0.9", accepted.get(0).toString());
+        assertEquals("text/*", accepted.get(1).toString());
+        assertEquals("*/*;q=0.1", accepted.get(2).toString());
+
+        assertEquals(Collections.singletonList("*/*"), Collections.singletonList(MediaRange.parseAccept(null).get(0).toString()));
+    }
+
+    @Test
+    public void testMatch() throws Exception {
+        MediaTypes mediaTypes = MediaTypes.parse(Arrays.asList("application/json", "text/*"));
+        assertEquals(2, mediaTypes.match(MediaRange.parse("application/json")));
+        assertEquals(1, mediaTypes.match(MediaRange.parse("text/plain")));
+        assertEquals(2, mediaTypes.match(MediaRange.parse("application/*")));
+        assertEquals(-1, mediaTypes.match(MediaRange.parse("image/png")));
+        assertEquals(2, mediaTypes.match(MediaRange.parse("*/*")));
+
+        MediaTypes anything = MediaTypes.parse(Collections.emptyList());
+        assertEquals(0, anything.match(MediaRange.parse("image/png")));
+    }
+
+    @Test
+    public void testQuality() throws Exception {
+        MediaTypes html = MediaTypes.parse(Collections.singletonList("text/html"));
+        MediaTypes json = MediaTypes.parse(Collections.singletonList("application/json"));
+
+        List<MediaRange> accepted = MediaRange.parseAccept("text/html;q=0, */*");
+        assertEquals(-1, html.getQuality(accepted));
+        assertTrue(json.getQuality(accepted) > 0);
+
+        accepted = MediaRange.parseAccept("text/html;q=0.5, application/json");
+        assertTrue(json.getQuality(accepted) > html.getQuality(accepted));
+
+        MediaTypes wildcard = MediaTypes.parse(Collections.singletonList("*/*"));
+        assertTrue(json.getQuality(MediaRange.parseAccept(null)) > wildcard.getQuality(MediaRange.parseAccept(null)));
+    }
+
+    @Test
+    public void testNegotiate() throws Exception {
+        MediaTypes json = MediaTypes.parse(Collections.singletonList("application/json"));
+        List<MediaRange> acceptAny = MediaRange.parseAccept(null);
+
+        assertTrue(MediaTypes.negotiate(json, json, null, acceptAny) >= 0);
+        assertTrue(MediaTypes.negotiate(json, json, MediaRange.parse("application/json"), acceptAny) >= 0);
+        assertEquals(-1, MediaTypes.negotiate(json, json, MediaRange.parse("text/plain"), acceptAny));
+        assertEquals(-1, MediaTypes.negotiate(json, json, null, MediaRange.parseAccept("text/plain")));
+    }
+}
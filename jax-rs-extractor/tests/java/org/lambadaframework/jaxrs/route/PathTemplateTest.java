@@ -0,0 +1,50 @@
+package org.lambadaframework.jaxrs.route;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class PathTemplateTest {
+
+    @Test
+    public void testMatches() throws Exception {
+        PathTemplate pathTemplate = PathTemplate.compile("/resource1/{id}/users");
+        assertEquals(Arrays.asList("id"), pathTemplate.getVariables());
+        assertTrue(pathTemplate.matches("/resource1/{id}/users"));
+        assertTrue(pathTemplate.matches("/resource1/123/users"));
+        assertFalse(pathTemplate.matches("/resource1/123/456/users"));
+        assertFalse(pathTemplate.matches("/resource1/users"));
+        assertFalse(pathTemplate.matches(null));
+    }
+
+    @Test
+    public void testMatchesRegex() throws Exception {
+        PathTemplate pathTemplate = PathTemplate.compile("/files/{path: .*/.*}/{version: [0-9]{1,3}}");
+        assertEquals(Arrays.asList("path", "version"), pathTemplate.getVariables());
+        assertTrue(pathTemplate.matches("/files/{path: .*/.*}/{version: [0-9]{1,3}}"));
+        assertTrue(pathTemplate.matches("/files/a/b/c/12"));
+        assertFalse(pathTemplate.matches("/files/a/12"));
+        assertFalse(pathTemplate.matches("/files/a/b/1234"));
+    }
+
+    @Test
+    public void testLiteralsAreQuoted() throws Exception {
+        PathTemplate pathTemplate = PathTemplate.compile("/v1.0/{id}");
+        assertTrue(pathTemplate.matches("/v1.0/1"));
+        assertFalse(pathTemplate.matches("/v1x0/1"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotClosedVariable() throws Exception {
+        PathTemplate.compile("/resource1/{id");
+    }
+
+    @Test
+    public void testSplit() throws Exception {
+        assertEquals(Arrays.asList("resource1", "{id}", "users"), PathTemplate.split("/resource1/{id}/users/"));
+        assertEquals(Arrays.asList("files", "{path: .*/.*}"), PathTemplate.split("/files/{path: .*/.*}"));
+        assertTrue(PathTemplate.split("/").isEmpty());
+    }
+}
@@ -0,0 +1,71 @@
+package org.lambadaframework.jaxrs.route;
+
+import org.junit.Test;
+import org.lambadaframework.jaxrs.JAXRSParser;
+import org.lambadaframework.jaxrs.model.Resource;
+import org.lambadaframework.jaxrs.model.ResourceMethod;
+import org.lambadaframework.stubs.StubHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RouteMatcherTest {
+
+    private RouteMatcher<Route> getRouteMatcher() {
+        List<Route> routes = new ArrayList<>();
+        for (Resource resource : new JAXRSParser()
+                .withPackageName("org.lambadaframework", StubHandler.class)
+                .scan()) {
+            for (ResourceMethod resourceMethod : resource.getResourceMethods()) {
+                routes.add(resourceMethod.toRoute());
+            }
+        }
+        return RouteMatcher.of(routes);
+    }
+
+    private String getMethodName(List<Route> candidates) {
+        assertEquals(1, candidates.size());
+        return candidates.get(0).getMethod().getName();
+    }
+
+    @Test
+    public void testSize() throws Exception {
+        assertEquals(6, getRouteMatcher().size());
+    }
+
+    @Test
+    public void testFindLiteralPath() throws Exception {
+        RouteMatcher<Route> routeMatcher = getRouteMatcher();
+        assertEquals("getList", getMethodName(routeMatcher.find("/resource1", "GET")));
+        assertEquals("newEntity", getMethodName(routeMatcher.find("/resource1", "POST")));
+        assertEquals("removeEntity", getMethodName(routeMatcher.find("/resource1/", "DELETE")));
+    }
+
+    @Test
+    public void testFindTemplatePath() throws Exception {
+        RouteMatcher<Route> routeMatcher = getRouteMatcher();
+        assertEquals("getEntity", getMethodName(routeMatcher.find("/resource1/{id}", "GET")));
+        assertEquals("getEntityUsers", getMethodName(routeMatcher.find("/resource1/{id}/users", "GET")));
+        assertEquals("removeEntityUser", getMethodName(routeMatcher.find("/resource1/123/users", "DELETE")));
+    }
+
+    @Test
+    public void testNotFound() throws Exception {
+        RouteMatcher<Route> routeMatcher = getRouteMatcher();
+        assertTrue(routeMatcher.find("/resource2", "GET").isEmpty());
+        assertTrue(routeMatcher.find("/resource1/{id}", "POST").isEmpty());
+        assertTrue(routeMatcher.find("/resource1/{id}/users/{userId}", "GET").isEmpty());
+        assertTrue(routeMatcher.find(null, "GET").isEmpty());
+    }
+
+    @Test
+    public void testRouteFromDefinition() throws Exception {
+        for (Route route : getRouteMatcher().find("/resource1/{id}", "GET")) {
+            Route loaded = Route.from(route.getDefinition(), getClass().getClassLoader());
+            assertEquals(route.getResourceClass(), loaded.getResourceClass());
+            assertEquals(route.getMethod(), loaded.getMethod());
+        }
+    }
+}
@@ -1,20 +1,19 @@
 package org.lambadaframework.aws;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-import javax.ws.rs.HeaderParam;
-import javax.ws.rs.PathParam;
-import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 
 import org.lambadaframework.deployer.Deployment;
-import org.lambadaframework.jaxrs.JAXRSParser;
+import org.lambadaframework.jaxrs.ScanCache;
 import org.lambadaframework.jaxrs.model.Resource;
-import org.lambadaframework.jaxrs.model.ResourceMethod;
+import org.lambadaframework.jaxrs.model.RouteDefinition;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.AmazonWebServiceRequest;
@@ -135,7 +134,7 @@ public class ApiGateway extends AWSTools {
             log.info("API Gateway deployment is being initialized.");
         }
 
-        List<Resource> resources = getResources();
+        Map<String, List<RouteDefinition>> resources = getResources();
 
         if (log != null) {
             log.info(resources.size() + " resources found in JAR File.");
@@ -216,7 +215,11 @@ public class ApiGateway extends AWSTools {
      * @return Path part of the resource
      */
     protected String getPathPartOfResource(Resource resource) {
-        String[] pathParts = resource.getPath().split(SLASH_CHARACTER);
+        return getPathPartOfResource(resource.getPath());
+    }
+
+    protected String getPathPartOfResource(String fullPath) {
+        String[] pathParts = fullPath.split(SLASH_CHARACTER);
         if (pathParts.length > 0) {
             return pathParts[pathParts.length - 1];
         }
@@ -231,7 +234,10 @@ public class ApiGateway extends AWSTools {
      * @return Get path elements
      */
     protected String[] getPathElementsOfResource(Resource resource) {
-        String fullPath = resource.getPath();
+        return getPathElementsOfResource(resource.getPath());
+    }
+
+    protected String[] getPathElementsOfResource(String fullPath) {
         if (fullPath.equals(SLASH_CHARACTER)) {
             return new String[]{
                     SLASH_CHARACTER
@@ -251,7 +257,10 @@ public class ApiGateway extends AWSTools {
      * @return Parent path
      */
     protected String getParentPathOfResource(Resource resource) {
-        String fullPath = resource.getPath();
+        return getParentPathOfResource(resource.getPath());
+    }
+
+    protected String getParentPathOfResource(String fullPath) {
         if (fullPath.equals(SLASH_CHARACTER)) {
             return null;
         }
@@ -266,14 +275,15 @@ public class ApiGateway extends AWSTools {
     }
 
     /**
-     * This method returns REST Resources found in the JAR File.
+     * This method returns REST Resources found in the JAR File grouped by their paths.
      * <p>
-     * It used JAX-RS Scanner package, and uses the local copy of the JAR file in the target directory
+     * It used JAX-RS Scanner package, and uses the local copy of the JAR file in the target directory.
+     * Scanned routes are cached in the target directory, so an unchanged JAR file is not scanned again.
      *
-     * @return Found resources
+     * @return Route definitions by path
      * @throws IOException
      */
-    protected List<Resource> getResources()
+    protected Map<String, List<RouteDefinition>> getResources()
             throws IOException {
         String jarFileLocation = deployment.getJarFileLocationOnLocalFileSystem();
 
@@ -281,12 +291,19 @@ public class ApiGateway extends AWSTools {
             log.info("JAR File is being scanned. Used JAR File location: " + jarFileLocation + " Package: " + deployment.getPackageName());
         }
 
-        JAXRSParser parser = new JAXRSParser().withJarFile(jarFileLocation, deployment.getPackageName());
-        return parser.scan();
+        List<RouteDefinition> routeDefinitions = new ScanCache(new File(deployment.getScanCacheDirectory()))
+                .withParallelism(Runtime.getRuntime().availableProcessors())
+                .getRouteDefinitions(jarFileLocation, deployment.getPackageName());
+
+        Map<String, List<RouteDefinition>> resources = new LinkedHashMap<>();
+        for (RouteDefinition routeDefinition : routeDefinitions) {
+            resources.computeIfAbsent(routeDefinition.getPath(), path -> new ArrayList<>()).add(routeDefinition);
+        }
+        return resources;
     }
 
 
-    protected void walkThroughResources(List<Resource> resources) {
+    protected void walkThroughResources(Map<String, List<RouteDefinition>> resources) {
 
         if (resources.isEmpty()) {
             if (log != null) {
@@ -318,7 +335,7 @@ public class ApiGateway extends AWSTools {
             }
         }
 
-        resources.forEach(resourceToDeploy -> deployResource(resourceToDeploy));
+        resources.forEach((path, routeDefinitions) -> deployResource(path, routeDefinitions));
     }
 
     /**
@@ -344,12 +361,12 @@ public class ApiGateway extends AWSTools {
     }
 
 
-    protected String createResource(Resource jerseyResource) {
+    protected String createResource(String fullPath) {
 
         com.amazonaws.services.apigateway.model.Resource rootResource = getResourceByPath(SLASH_CHARACTER);
         String parentResource = rootResource.getId();
 
-        String[] paths = getPathElementsOfResource(jerseyResource);
+        String[] paths = getPathElementsOfResource(fullPath);
         String createdPath = "";
 
         for (String path : paths) {
@@ -379,22 +396,20 @@ public class ApiGateway extends AWSTools {
     }
 
 
-    protected boolean deployResource(Resource jerseyResource) {
-
-        String fullPath = jerseyResource.getPath();
+    protected boolean deployResource(String fullPath, List<RouteDefinition> routeDefinitions) {
 
         if (log != null) {
             log.info("Resource is being created: " + fullPath);
         }
 
-        String createdId = createResource(jerseyResource);
+        String createdId = createResource(fullPath);
 
         if (log != null) {
             log.info("Resource created: " + fullPath + " (" + createdId + ")");
         }
 
         com.amazonaws.services.apigateway.model.Resource amazonApiResource = getResourceByPath(fullPath);
-        deployMethods(jerseyResource, amazonApiResource);
+        deployMethods(routeDefinitions, amazonApiResource);
         return true;
     }
 
@@ -415,7 +430,7 @@ public class ApiGateway extends AWSTools {
     }
 
 
-    protected void deployMethods(Resource jerseyResource, com.amazonaws.services.apigateway.model.Resource apiGatewayResource) {
+    protected void deployMethods(List<RouteDefinition> routeDefinitions, com.amazonaws.services.apigateway.model.Resource apiGatewayResource) {
 
         if (log != null) {
             log.info("Methods are being deployed");
@@ -443,7 +458,7 @@ public class ApiGateway extends AWSTools {
         }
 
 
-        jerseyResource.getResourceMethods().forEach(method -> {
+        routeDefinitions.forEach(method -> {
 
             String httpMethod = method.getHttpMethod();
 
@@ -506,6 +521,16 @@ public class ApiGateway extends AWSTools {
         });
     }
 
+    /**
+     * Return types that a byte[] can be assigned to
+     */
+    private static final List<String> BINARY_RETURN_TYPES = Arrays.asList(
+            byte[].class.getName(),
+            Object.class.getName(),
+            java.io.Serializable.class.getName(),
+            Cloneable.class.getName()
+    );
+
     private static final List<MediaType> BINARY_TYPES = Arrays.asList(
     		new MediaType[] {
     			MediaType.APPLICATION_OCTET_STREAM_TYPE,
@@ -513,16 +538,16 @@ public class ApiGateway extends AWSTools {
     			new MediaType("image", "png")
     		});
 
-    private Map<String, String> getResponseTemplate(ResourceMethod method) {
+    private Map<String, String> getResponseTemplate(RouteDefinition method) {
 
         Map<String, String> responseTemplate = new LinkedHashMap<>();
         
-        if(method.getProducedTypes().size() > 0 && BINARY_TYPES.contains(method.getProducedTypes().get(0))) {
+        if(method.getProducedTypes().size() > 0 && BINARY_TYPES.contains(MediaType.valueOf(method.getProducedTypes().get(0)))) {
         	if(method.getProducedTypes().size() != 1) {
         		throw new IllegalArgumentException("Ambiguous Produces(MediaType) annotations.");
         	}
-        	MediaType primaryType = method.getProducedTypes().get(0);
-        	if(!method.getInvocable().getRawResponseType().isAssignableFrom(byte[].class)) {
+        	MediaType primaryType = MediaType.valueOf(method.getProducedTypes().get(0));
+        	if(!BINARY_RETURN_TYPES.contains(method.getReturnType())) {
         		throw new IllegalArgumentException(primaryType + " requires a byte[] return.");
         	}
             responseTemplate.put(MediaType.APPLICATION_JSON, 
@@ -537,8 +562,8 @@ public class ApiGateway extends AWSTools {
     }
 
 
-    protected Map<String, String> getInputTemplate(ResourceMethod jerseyMethod) {
-        String packageName = jerseyMethod.getInvocable().getHandler().getHandlerClass().getPackage().getName();
+    protected Map<String, String> getInputTemplate(RouteDefinition method) {
+        String packageName = method.getPackageName();
         Map<String, String> requestTemplates = new LinkedHashMap<>();
         requestTemplates.put(MediaType.APPLICATION_JSON, INPUT_TEMPLATE.replace(PACKAGE_VARIABLE, packageName));
         requestTemplates.put(MediaType.TEXT_PLAIN, INPUT_TEMPLATE.replace(PACKAGE_VARIABLE, packageName));
@@ -546,62 +571,43 @@ public class ApiGateway extends AWSTools {
     }
 
 
-    private Map<String, Boolean> getRequestParameters(ResourceMethod method) {
+    private Map<String, Boolean> getRequestParameters(RouteDefinition method) {
 
         Map<String, Boolean> requestParameters = new LinkedHashMap<>();
 
-        method.getInvocable().getParameters().forEach(parameter -> {
-            if (parameter.isAnnotationPresent(QueryParam.class)) {
-                QueryParam annotation = parameter.getAnnotation(QueryParam.class);
-                requestParameters.put("method.request.querystring." + annotation.value(), true);
-            }
+        method.getParameterNames(RouteDefinition.QUERY_BINDING).forEach(name ->
+                requestParameters.put("method.request.querystring." + name, true));
 
-            if (parameter.isAnnotationPresent(HeaderParam.class)) {
-                HeaderParam annotation = parameter.getAnnotation(HeaderParam.class);
-                requestParameters.put("method.request.header." + annotation.value(), true);
-            }
+        method.getParameterNames(RouteDefinition.HEADER_BINDING).forEach(name ->
+                requestParameters.put("method.request.header." + name, true));
 
-            if (parameter.isAnnotationPresent(PathParam.class)) {
-                PathParam annotation = parameter.getAnnotation(PathParam.class);
-                requestParameters.put("method.request.path." + annotation.value(), true);
-            }
-        });
+        method.getParameterNames(RouteDefinition.PATH_BINDING).forEach(name ->
+                requestParameters.put("method.request.path." + name, true));
 
         return requestParameters;
     }
 
-    private Map<String, String> getRequestParametersIntegration(ResourceMethod method) {
+    private Map<String, String> getRequestParametersIntegration(RouteDefinition method) {
         Map<String, String> requestParameters = new LinkedHashMap<>();
 
-        method.getInvocable().getParameters().forEach(parameter -> {
-
-            /**
-             * Path parameter
-             */
-            if (parameter.isAnnotationPresent(PathParam.class)) {
-                PathParam annotation = parameter.getAnnotation(PathParam.class);
-                requestParameters.put("integration.request.path." + annotation.value(), "method.request.path." + annotation.value());
-            }
-
-
-            /**
-             * Query parameter
-             */
-            if (parameter.isAnnotationPresent(QueryParam.class)) {
-                QueryParam annotation = parameter.getAnnotation(QueryParam.class);
-                requestParameters.put("integration.request.querystring." + annotation.value(), "method.request.querystring." + annotation.value());
-            }
+        /**
+         * Path parameter
+         */
+        method.getParameterNames(RouteDefinition.PATH_BINDING).forEach(name ->
+                requestParameters.put("integration.request.path." + name, "method.request.path." + name));
 
-            /**
-             * Header parameter
-             */
-            if (parameter.isAnnotationPresent(HeaderParam.class)) {
-                HeaderParam annotation = parameter.getAnnotation(HeaderParam.class);
-                requestParameters.put("integration.request.header." + annotation.value(), "method.request.header." + annotation.value());
-            }
 
+        /**
+         * Query parameter
+         */
+        method.getParameterNames(RouteDefinition.QUERY_BINDING).forEach(name ->
+                requestParameters.put("integration.request.querystring." + name, "method.request.querystring." + name));
 
-        });
+        /**
+         * Header parameter
+         */
+        method.getParameterNames(RouteDefinition.HEADER_BINDING).forEach(name ->
+                requestParameters.put("integration.request.header." + name, "method.request.header." + name));
 
 
         return requestParameters;
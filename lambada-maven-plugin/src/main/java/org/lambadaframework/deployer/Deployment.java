@@ -143,6 +143,13 @@ public class Deployment {
         return project.getBuild().getDirectory() + seperator + project.getBuild().getFinalName() + "." + project.getPackaging();
     }
 
+    /**
+     * Directory of the routes scanned from the JAR file, it is removed by mvn clean
+     */
+    public String getScanCacheDirectory() {
+        return project.getBuild().getDirectory() + seperator + "lambada" + seperator + "scan-cache";
+    }
+
     public String getBucketName() {
         String bucketName = this.project.getProperties().getProperty(deploymentBucketPropertyName);
         if (bucketName == null) {
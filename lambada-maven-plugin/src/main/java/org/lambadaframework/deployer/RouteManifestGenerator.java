@@ -0,0 +1,69 @@
+package org.lambadaframework.deployer;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.lambadaframework.AbstractMojoPlugin;
+import org.lambadaframework.jaxrs.JAXRSParser;
+import org.lambadaframework.jaxrs.RouteManifest;
+import org.lambadaframework.jaxrs.model.RouteDefinition;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes goal writes the route manifest into the compiled classes,
+ * so the manifest is packaged into the artifact.
+ * <p>
+ * Runtime loads only the resource classes listed in the manifest
+ * instead of scanning the package in every new container.
+ */
+@Mojo(name = "routes",
+        defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+        requiresDependencyResolution = ResolutionScope.COMPILE
+)
+public class RouteManifestGenerator extends AbstractMojoPlugin {
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        try {
+            String classesDirectory = mavenProject.getBuild().getOutputDirectory();
+
+            List<URL> urls = new ArrayList<>();
+            for (Object classpathElement : mavenProject.getCompileClasspathElements()) {
+                urls.add(new File(classpathElement.toString()).toURI().toURL());
+            }
+
+            List<RouteDefinition> routeDefinitions;
+            try (URLClassLoader classLoader = new URLClassLoader(urls.toArray(new URL[urls.size()]), getClass().getClassLoader())) {
+                routeDefinitions = RouteManifest.fromResources(new JAXRSParser()
+                        .withClassesDirectory(classesDirectory, packageName, classLoader)
+                        .scan());
+            }
+
+            File manifest = new File(classesDirectory, RouteManifest.LOCATION);
+            if (!manifest.getParentFile().isDirectory() && !manifest.getParentFile().mkdirs()) {
+                throw new MojoExecutionException("Could not create " + manifest.getParent());
+            }
+
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(manifest), StandardCharsets.UTF_8)) {
+                RouteManifest.write(routeDefinitions, writer);
+            }
+
+            getLog().info("Route manifest is written with " + routeDefinitions.size() + " routes.");
+        } catch (MojoExecutionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new MojoExecutionException("Exception at route manifest generation", e);
+        }
+    }
+}
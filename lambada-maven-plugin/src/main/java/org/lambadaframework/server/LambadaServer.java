@@ -6,11 +6,12 @@ import org.apache.maven.plugins.annotations.*;
 import org.lambadaframework.AbstractMojoPlugin;
 import org.lambadaframework.deployer.Deployment;
 import org.lambadaframework.aws.ApiGateway;
-import org.lambadaframework.jaxrs.JAXRSParser;
-import org.lambadaframework.jaxrs.model.Resource;
+import org.lambadaframework.jaxrs.ScanCache;
+import org.lambadaframework.jaxrs.model.RouteDefinition;
 import spark.Request;
 import spark.Response;
 
+import java.io.File;
 import java.util.List;
 import java.util.Map;
 
@@ -64,43 +65,37 @@ public class LambadaServer extends AbstractMojoPlugin {
 
             Deployment deployment = getDeployment();
 
-            JAXRSParser jaxrsParser = new JAXRSParser()
-                    .withJarFile(deployment.getJarFileLocationOnLocalFileSystem(), packageName);
+            List<RouteDefinition> routeDefinitions = new ScanCache(new File(deployment.getScanCacheDirectory()))
+                    .withParallelism(Runtime.getRuntime().availableProcessors())
+                    .getRouteDefinitions(deployment.getJarFileLocationOnLocalFileSystem(), packageName);
+            getLog().info(routeDefinitions.size() + " routes has been found");
 
-            List<Resource> resources = jaxrsParser.scan();
-            getLog().info(resources.size() + " resources has been found");
 
+            routeDefinitions.forEach(routeDefinition -> {
 
-            resources.forEach(resource -> {
+                final String fullPath = routeDefinition.getPath();
 
-                final String fullPath = resource.getPath();
+                getLog().info(fullPath + " is being created");
 
-                resource.getResourceMethods().forEach(resourceMethod -> {
+                if (routeDefinition.getHttpMethod().equals(HTTPMethods.GET.value())) {
+                    get(getSparkPath(fullPath), this::handle);
+                }
 
+                if (routeDefinition.getHttpMethod().equals(HTTPMethods.POST.value())) {
+                    post(getSparkPath(fullPath), this::handle);
+                }
 
-                    getLog().info(fullPath + " is being created");
+                if (routeDefinition.getHttpMethod().equals(HTTPMethods.DELETE.value())) {
+                    delete(getSparkPath(fullPath), this::handle);
+                }
 
-                    if (resourceMethod.getHttpMethod().equals(HTTPMethods.GET.value())) {
-                        get(getSparkPath(fullPath), this::handle);
-                    }
+                if (routeDefinition.getHttpMethod().equals(HTTPMethods.HEAD.value())) {
+                    head(getSparkPath(fullPath), this::handle);
+                }
 
-                    if (resourceMethod.getHttpMethod().equals(HTTPMethods.POST.value())) {
-                        post(getSparkPath(fullPath), this::handle);
-                    }
-
-                    if (resourceMethod.getHttpMethod().equals(HTTPMethods.DELETE.value())) {
-                        delete(getSparkPath(fullPath), this::handle);
-                    }
-
-                    if (resourceMethod.getHttpMethod().equals(HTTPMethods.HEAD.value())) {
-                        head(getSparkPath(fullPath), this::handle);
-                    }
-
-                    if (resourceMethod.getHttpMethod().equals(HTTPMethods.PUT.value())) {
-                        put(getSparkPath(fullPath), this::handle);
-                    }
-
-                });
+                if (routeDefinition.getHttpMethod().equals(HTTPMethods.PUT.value())) {
+                    put(getSparkPath(fullPath), this::handle);
+                }
             });
 
 
@@ -0,0 +1,132 @@
+package org.lambadaframework.aws;
+
+import org.junit.Test;
+import org.lambadaframework.deployer.Deployment;
+import org.lambadaframework.jaxrs.RouteManifest;
+import org.lambadaframework.jaxrs.model.RouteDefinition;
+import org.lambadaframework.stubs.generator.ResourceTree;
+import org.lambadaframework.stubs.generator.ResourceTreeGenerator;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.*;
+
+/**
+ * Resources are read from a real JAR file, so the test does not run with PowerMock's class loader
+ */
+public class ApiGatewayResourcesTest {
+
+    private File getJarFile(ResourceTree tree) throws IOException {
+        File classesDirectory = Files.createTempDirectory("lambada").toFile();
+        tree.compile(classesDirectory).close();
+
+        File jarFile = File.createTempFile("lambada", ".jar");
+        try (JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(jarFile));
+             Stream<Path> files = Files.walk(classesDirectory.toPath())) {
+            for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                String name = classesDirectory.toPath().relativize(file).toString().replace(File.separatorChar, '/');
+                jarOutputStream.putNextEntry(new JarEntry(name));
+                Files.copy(file, jarOutputStream);
+                jarOutputStream.closeEntry();
+            }
+        }
+        return jarFile;
+    }
+
+    private Deployment getDeployment(File jarFile, String packageName, File scanCacheDirectory) {
+        Deployment deployment = createMock(Deployment.class);
+        expect(deployment.getJarFileLocationOnLocalFileSystem())
+                .andReturn(jarFile.getAbsolutePath())
+                .anyTimes();
+        expect(deployment.getPackageName())
+                .andReturn(packageName)
+                .anyTimes();
+        expect(deployment.getScanCacheDirectory())
+                .andReturn(scanCacheDirectory.getPath())
+                .anyTimes();
+        replay(deployment);
+        return deployment;
+    }
+
+    @Test
+    public void testGetResourcesFromCachedScan() throws Exception {
+        ResourceTree tree = new ResourceTreeGenerator()
+                .withResourceCount(2)
+                .withMethodCount(4)
+                .withDepth(2)
+                .generate();
+
+        File jarFile = getJarFile(tree);
+        File scanCacheDirectory = new File(Files.createTempDirectory("lambada").toFile(), "scan-cache");
+        ApiGateway apiGateway = new ApiGateway(getDeployment(jarFile, tree.getPackageName(), scanCacheDirectory), "testArn", "testArn");
+
+        Map<String, List<RouteDefinition>> resources = apiGateway.getResources();
+
+        Set<String> paths = new HashSet<>();
+        for (ResourceTree.Endpoint endpoint : tree.getEndpoints()) {
+            paths.add(endpoint.getPath());
+        }
+        assertEquals(paths, resources.keySet());
+
+        int routeCount = 0;
+        for (Map.Entry<String, List<RouteDefinition>> resource : resources.entrySet()) {
+            for (RouteDefinition routeDefinition : resource.getValue()) {
+                assertEquals(resource.getKey(), routeDefinition.getPath());
+                routeCount++;
+            }
+        }
+        assertEquals(tree.getEndpoints().size(), routeCount);
+
+        File[] entries = scanCacheDirectory.listFiles();
+        assertNotNull(entries);
+        assertEquals(1, entries.length);
+        assertTrue(entries[0].getName().startsWith("routes-"));
+
+        /**
+         * Overwrite the entry, the next deployment should read it instead of scanning the JAR file
+         */
+        RouteDefinition first = resources.values().iterator().next().get(0);
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(entries[0]), StandardCharsets.UTF_8)) {
+            RouteManifest.write(Collections.singletonList(first), writer);
+        }
+
+        Map<String, List<RouteDefinition>> cached = apiGateway.getResources();
+        assertEquals(Collections.singleton(first.getPath()), cached.keySet());
+        assertEquals(1, cached.get(first.getPath()).size());
+        assertEquals(first.toString(), cached.get(first.getPath()).get(0).toString());
+    }
+
+    @Test
+    public void testEmptyScanIsNotCached() throws Exception {
+        ResourceTree tree = new ResourceTreeGenerator()
+                .withResourceCount(1)
+                .withMethodCount(2)
+                .generate();
+
+        File jarFile = getJarFile(tree);
+        File scanCacheDirectory = new File(Files.createTempDirectory("lambada").toFile(), "scan-cache");
+        ApiGateway apiGateway = new ApiGateway(getDeployment(jarFile, "com.example", scanCacheDirectory), "testArn", "testArn");
+
+        assertTrue(apiGateway.getResources().isEmpty());
+        assertFalse(scanCacheDirectory.exists());
+    }
+}
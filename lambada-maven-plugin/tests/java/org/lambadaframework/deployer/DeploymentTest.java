@@ -0,0 +1,57 @@
+package org.lambadaframework.deployer;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.model.Build;
+import org.apache.maven.project.MavenProject;
+import org.junit.Test;
+
+import java.util.Properties;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.*;
+
+public class DeploymentTest {
+
+    protected Deployment getExampleDeployment() {
+        Artifact artifact = createMock(Artifact.class);
+        expect(artifact.getVersion())
+                .andReturn("0.0.2")
+                .anyTimes();
+        expect(artifact.getBaseVersion())
+                .andReturn("0.0.2")
+                .anyTimes();
+        replay(artifact);
+
+        Build build = new Build();
+        build.setDirectory("/project/target");
+        build.setFinalName("runtime-deploy-maven-plugin-0.0.2");
+
+        MavenProject project = new MavenProject();
+        project.getProperties().setProperty("deployment.bucket", "maven.cagataygurturk.com");
+        project.setGroupId("org.lambadaframework");
+        project.setArtifactId("runtime-deploy-maven-plugin");
+        project.setVersion("0.0.2");
+        project.setPackaging("jar");
+        project.setBuild(build);
+        project.setArtifact(artifact);
+
+        return new Deployment(project, "org.lambadaframework", new Properties(), "eu-west-1", "dev");
+    }
+
+    @Test
+    public void testJarFileLocationOnLocalFileSystem() throws Exception {
+        assertEquals("/project/target/runtime-deploy-maven-plugin-0.0.2.jar",
+                getExampleDeployment().getJarFileLocationOnLocalFileSystem());
+    }
+
+    @Test
+    public void testScanCacheDirectory() throws Exception {
+        /**
+         * Cache is under the build directory, so mvn clean removes it
+         */
+        assertEquals("/project/target/lambada/scan-cache",
+                getExampleDeployment().getScanCacheDirectory());
+    }
+}
@@ -0,0 +1,100 @@
+package org.lambadaframework.deployer;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+import org.junit.Test;
+import org.lambadaframework.jaxrs.RouteManifest;
+import org.lambadaframework.jaxrs.model.RouteDefinition;
+import org.lambadaframework.stubs.generator.ResourceTree;
+import org.lambadaframework.stubs.generator.ResourceTreeGenerator;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class RouteManifestGeneratorTest {
+
+    private RouteManifestGenerator getGenerator(File classesDirectory, String packageName) {
+        Build build = new Build();
+        build.setOutputDirectory(classesDirectory.getPath());
+
+        MavenProject project = new MavenProject();
+        project.setGroupId("org.lambadaframework");
+        project.setArtifactId("runtime-deploy-maven-plugin");
+        project.setVersion("0.0.2");
+        project.setBuild(build);
+
+        RouteManifestGenerator generator = new RouteManifestGenerator();
+        generator.mavenProject = project;
+        generator.packageName = packageName;
+        return generator;
+    }
+
+    private Set<String> getRoutes(List<RouteDefinition> routeDefinitions) {
+        Set<String> routes = new HashSet<>();
+        for (RouteDefinition routeDefinition : routeDefinitions) {
+            routes.add(routeDefinition.getHttpMethod() + " " + routeDefinition.getPath() + " "
+                    + routeDefinition.getClassName() + "#" + routeDefinition.getMethodName());
+        }
+        return routes;
+    }
+
+    @Test
+    public void testManifestIsWrittenAndReadBack() throws Exception {
+        ResourceTree tree = new ResourceTreeGenerator()
+                .withResourceCount(3)
+                .withMethodCount(4)
+                .withDepth(2)
+                .generate();
+
+        File classesDirectory = Files.createTempDirectory("lambada").toFile();
+        tree.compile(classesDirectory).close();
+
+        getGenerator(classesDirectory, tree.getPackageName()).execute();
+
+        Set<String> expected = new HashSet<>();
+        for (ResourceTree.Endpoint endpoint : tree.getEndpoints()) {
+            expected.add(endpoint.getHttpMethod() + " " + endpoint.getPath() + " "
+                    + endpoint.getClassName() + "#" + endpoint.getMethodName());
+        }
+
+        File manifest = new File(classesDirectory, RouteManifest.LOCATION);
+        assertTrue(manifest.isFile());
+        try (Reader reader = new InputStreamReader(new FileInputStream(manifest), StandardCharsets.UTF_8)) {
+            assertEquals(expected, getRoutes(RouteManifest.read(reader)));
+        }
+
+        /**
+         * Runtime finds the manifest on the class path of the packaged classes
+         */
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{classesDirectory.toURI().toURL()}, null)) {
+            List<RouteDefinition> loaded = RouteManifest.load(classLoader);
+            assertNotNull(loaded);
+            assertEquals(expected, getRoutes(loaded));
+        }
+    }
+
+    @Test(expected = MojoExecutionException.class)
+    public void testMissingPackage() throws Exception {
+        ResourceTree tree = new ResourceTreeGenerator()
+                .withResourceCount(1)
+                .withMethodCount(2)
+                .generate();
+
+        File classesDirectory = Files.createTempDirectory("lambada").toFile();
+        tree.compile(classesDirectory).close();
+
+        getGenerator(classesDirectory, "com.example").execute();
+    }
+}
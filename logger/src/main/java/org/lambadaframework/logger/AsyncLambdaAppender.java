@@ -0,0 +1,224 @@
+package org.lambadaframework.logger;
+
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.LambdaRuntime;
+import com.amazonaws.services.lambda.runtime.LambdaRuntimeInternal;
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.Layout;
+import org.apache.log4j.spi.Filter;
+import org.apache.log4j.spi.LoggingEvent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous variant of the Lambda appender.
+ * <p>
+ * Request threads only capture the parts of an event which depend on the calling thread
+ * and put it in a bounded lock-free ring buffer. A background thread formats the events
+ * and writes them in batches, one write for many lines. When the buffer is full, the
+ * calling thread drains it itself, so no line is ever dropped.
+ * <p>
+ * Lambda freezes the container as soon as the handler returns and the background thread
+ * may not run again before the container is reclaimed, so {@link #flush()} should be called
+ * before returning from the handler. The runtime handlers of Lambada do it.
+ */
+public class AsyncLambdaAppender extends AppenderSkeleton {
+
+    static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Lines are written once a batch exceeds this many characters
+     */
+    static final int MAXIMUM_BATCH_LENGTH = 64 * 1024;
+
+    private static final long FLUSH_INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final RingBuffer<LoggingEvent> buffer;
+
+    private final LambdaLogger output;
+
+    /**
+     * Batch being formatted, reused by every flush and guarded by the flush lock
+     */
+    private final StringBuilder batch = new StringBuilder(4096);
+
+    private final Object flushLock = new Object();
+
+    private final Thread flusher;
+
+    private boolean locationInfo;
+
+    private volatile boolean stopped;
+
+    public AsyncLambdaAppender() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an appender
+     *
+     * @param capacity Number of events the buffer can hold
+     */
+    public AsyncLambdaAppender(int capacity) {
+        this(capacity, LambdaRuntime.getLogger());
+        LambdaRuntimeInternal.setUseLog4jAppender(true);
+    }
+
+    AsyncLambdaAppender(int capacity, LambdaLogger output) {
+        this.buffer = new RingBuffer<>(capacity);
+        this.output = output;
+        this.flusher = new Thread(this::runFlusher, "lambada-log-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Captures the location of the log calls, required by layouts which print it
+     *
+     * @param locationInfo true to capture the location
+     */
+    public void setLocationInfo(boolean locationInfo) {
+        this.locationInfo = locationInfo;
+    }
+
+    public boolean getLocationInfo() {
+        return locationInfo;
+    }
+
+    /**
+     * Same as the appender skeleton without its lock, appending is thread safe
+     */
+    @Override
+    public void doAppend(LoggingEvent event) {
+        if (!isAsSevereAsThreshold(event.getLevel())) {
+            return;
+        }
+
+        Filter filter = getFilter();
+        filters:
+        while (filter != null) {
+            switch (filter.decide(event)) {
+                case Filter.DENY:
+                    return;
+                case Filter.ACCEPT:
+                    break filters;
+                default:
+                    filter = filter.getNext();
+            }
+        }
+
+        append(event);
+    }
+
+    @Override
+    protected void append(LoggingEvent event) {
+        if (stopped) {
+            synchronized (flushLock) {
+                format(event);
+                write();
+            }
+            return;
+        }
+
+        /**
+         * These are taken from the calling thread or may change once the call returns
+         */
+        event.getNDC();
+        event.getThreadName();
+        event.getMDCCopy();
+        event.getRenderedMessage();
+        event.getThrowableStrRep();
+        if (locationInfo) {
+            event.getLocationInformation();
+        }
+
+        if (buffer.offer(event)) {
+            if (stopped) {
+                /**
+                 * Closed while the event was being added, the last flush may have missed it
+                 */
+                flush();
+            } else if (buffer.size() >= buffer.capacity() / 2) {
+                LockSupport.unpark(flusher);
+            }
+            return;
+        }
+
+        flush();
+        if (!buffer.offer(event)) {
+            /**
+             * Other threads filled the buffer again in the meantime
+             */
+            synchronized (flushLock) {
+                format(event);
+                write();
+            }
+        }
+    }
+
+    /**
+     * Writes every buffered event on the calling thread
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            buffer.drain(this::format);
+            write();
+        }
+    }
+
+    private void format(LoggingEvent event) {
+        Layout layout = getLayout();
+        if (layout == null) {
+            batch.append(event.getLevel()).append(' ').append(event.getRenderedMessage()).append(Layout.LINE_SEP);
+        } else {
+            batch.append(layout.format(event));
+        }
+
+        if (layout == null || layout.ignoresThrowable()) {
+            String[] throwable = event.getThrowableStrRep();
+            if (throwable != null) {
+                for (String line : throwable) {
+                    batch.append(line).append(Layout.LINE_SEP);
+                }
+            }
+        }
+
+        if (batch.length() >= MAXIMUM_BATCH_LENGTH) {
+            write();
+        }
+    }
+
+    private void write() {
+        if (batch.length() > 0) {
+            output.log(batch.toString());
+            batch.setLength(0);
+        }
+    }
+
+    private void runFlusher() {
+        while (!stopped) {
+            LockSupport.parkNanos(this, FLUSH_INTERVAL);
+            if (buffer.size() > 0) {
+                flush();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        stopped = true;
+        LockSupport.unpark(flusher);
+        flush();
+        closed = true;
+    }
+
+    @Override
+    public boolean requiresLayout() {
+        return true;
+    }
+}
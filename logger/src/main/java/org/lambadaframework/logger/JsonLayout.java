@@ -0,0 +1,145 @@
+package org.lambadaframework.logger;
+
+
+import org.apache.log4j.Layout;
+import org.apache.log4j.spi.LoggingEvent;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Layout writing every event as a single line JSON object:
+ * <pre>
+ * {"timestamp":1466170000000,"level":"INFO","logger":"org.example.Resource","message":"Hello","requestId":"...","functionName":"...","functionVersion":"$LATEST"}
+ * </pre>
+ * The location of the log call is never looked up, so there is no stack walk per event.
+ * Function name and version are encoded once when the layout is created and logger names
+ * once per logger, lines are built in a buffer which is reused by every event. Like
+ * PatternLayout, the layout is not thread safe and relies on the appender to serialize calls.
+ */
+public class JsonLayout extends Layout {
+
+    static final String REQUEST_ID_KEY = "AWSRequestId";
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final int MAXIMUM_BUFFER_CAPACITY = 16 * 1024;
+
+    /**
+     * Function name and version, ends the line
+     */
+    private final String encodedSuffix;
+
+    private final ConcurrentMap<String, String> encodedLoggerNames = new ConcurrentHashMap<>();
+
+    private StringBuilder buffer = new StringBuilder(256);
+
+    public JsonLayout() {
+        this(System.getenv("AWS_LAMBDA_FUNCTION_NAME"), System.getenv("AWS_LAMBDA_FUNCTION_VERSION"));
+    }
+
+    JsonLayout(String functionName, String functionVersion) {
+        StringBuilder suffix = new StringBuilder();
+        appendField(suffix, "functionName", functionName);
+        appendField(suffix, "functionVersion", functionVersion);
+        encodedSuffix = suffix.append('}').append(LINE_SEP).toString();
+    }
+
+    @Override
+    public String format(LoggingEvent event) {
+        if (buffer.capacity() > MAXIMUM_BUFFER_CAPACITY) {
+            /**
+             * Do not hold on to the buffer of an exceptionally large event
+             */
+            buffer = new StringBuilder(256);
+        } else {
+            buffer.setLength(0);
+        }
+
+        buffer.append("{\"timestamp\":").append(event.getTimeStamp())
+                .append(",\"level\":\"").append(event.getLevel().toString()).append('"')
+                .append(",\"logger\":").append(getEncodedLoggerName(event.getLoggerName()));
+
+        appendField(buffer, "message", event.getRenderedMessage());
+
+        Object requestId = event.getMDC(REQUEST_ID_KEY);
+        if (requestId != null) {
+            appendField(buffer, "requestId", requestId.toString());
+        }
+
+        String[] throwable = event.getThrowableStrRep();
+        if (throwable != null) {
+            buffer.append(",\"exception\":\"");
+            for (int i = 0; i < throwable.length; i++) {
+                if (i > 0) {
+                    buffer.append("\\n");
+                }
+                appendEscaped(buffer, throwable[i]);
+            }
+            buffer.append('"');
+        }
+
+        return buffer.append(encodedSuffix).toString();
+    }
+
+    private String getEncodedLoggerName(String loggerName) {
+        String encodedLoggerName = encodedLoggerNames.get(loggerName);
+        if (encodedLoggerName == null) {
+            StringBuilder encoded = new StringBuilder(loggerName.length() + 2).append('"');
+            appendEscaped(encoded, loggerName);
+            encodedLoggerName = encoded.append('"').toString();
+            encodedLoggerNames.putIfAbsent(loggerName, encodedLoggerName);
+        }
+        return encodedLoggerName;
+    }
+
+    private static void appendField(StringBuilder builder, String name, String value) {
+        if (value == null) {
+            return;
+        }
+        builder.append(",\"").append(name).append("\":\"");
+        appendEscaped(builder, value);
+        builder.append('"');
+    }
+
+    static void appendEscaped(StringBuilder builder, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        builder.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+    }
+
+    /**
+     * Throwables are written in the exception field
+     */
+    @Override
+    public boolean ignoresThrowable() {
+        return false;
+    }
+
+    @Override
+    public void activateOptions() {
+    }
+}
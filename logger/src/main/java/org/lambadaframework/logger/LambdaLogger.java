@@ -3,32 +3,126 @@ package org.lambadaframework.logger;
 
 import com.amazonaws.services.lambda.runtime.log4j.LambdaAppender;
 import org.apache.log4j.Appender;
+import org.apache.log4j.Layout;
 import org.apache.log4j.Level;
 import org.apache.log4j.PatternLayout;
 
+/**
+ * Loggers writing to the Lambda log.
+ * <p>
+ * Lines are written synchronously on the logging thread unless the asynchronous mode is
+ * enabled by {@link #setAsync(boolean)}, the lambada.logger.async system property or the
+ * LAMBADA_LOGGER_ASYNC environment variable. In asynchronous mode {@link #flush()} should be
+ * called before the handler returns, the runtime handlers of Lambada do it.
+ * <p>
+ * Lines are formatted by a pattern with the location of the log call unless the JSON layout is
+ * enabled by {@link #setJsonLayout(boolean)}, the lambada.logger.json system property or the
+ * LAMBADA_LOGGER_JSON environment variable. The JSON layout does not look up the location.
+ */
 public class LambdaLogger {
 
-    private static Appender appender;
+    public static final String ASYNC_PROPERTY = "lambada.logger.async";
+
+    public static final String ASYNC_ENVIRONMENT_VARIABLE = "LAMBADA_LOGGER_ASYNC";
+
+    public static final String JSON_PROPERTY = "lambada.logger.json";
+
+    public static final String JSON_ENVIRONMENT_VARIABLE = "LAMBADA_LOGGER_JSON";
+
+    static final String APPENDER_NAME = "LambadaLambdaAppender";
+
+    static final String CONVERSION_PATTERN = "%d{yyyy-MM-dd HH:mm:ss} <%X{AWSRequestId}> %-5p %c{1}:%L - %m%n";
+
+    private static volatile Appender appender;
+
+    private static Boolean async;
+
+    private static Boolean jsonLayout;
 
     private static Level globalLogLevel = Level.ALL;
 
     private LambdaLogger() {
     }
 
-    private static Appender getAppender() {
+    private static synchronized Appender getAppender() {
         if (appender == null) {
-            PatternLayout patternLayout = new PatternLayout();
-            patternLayout.setConversionPattern("%d{yyyy-MM-dd HH:mm:ss} <%X{AWSRequestId}> %-5p %c{1}:%L - %m%n");
-            appender = new LambdaAppender();
-            appender.setLayout(patternLayout);
+            if (jsonLayout == null) {
+                jsonLayout = isEnabled(JSON_PROPERTY, JSON_ENVIRONMENT_VARIABLE);
+            }
+            if (async == null) {
+                async = isEnabled(ASYNC_PROPERTY, ASYNC_ENVIRONMENT_VARIABLE);
+            }
+
+            Layout layout;
+            if (jsonLayout) {
+                layout = new JsonLayout();
+            } else {
+                PatternLayout patternLayout = new PatternLayout();
+                patternLayout.setConversionPattern(CONVERSION_PATTERN);
+                layout = patternLayout;
+            }
+
+            if (async) {
+                AsyncLambdaAppender asyncAppender = new AsyncLambdaAppender();
+                asyncAppender.setLocationInfo(!jsonLayout);
+                appender = asyncAppender;
+            } else {
+                appender = new LambdaAppender();
+            }
+            appender.setName(APPENDER_NAME);
+            appender.setLayout(layout);
         }
         return appender;
     }
 
+    private static boolean isEnabled(String property, String environmentVariable) {
+        String value = System.getProperty(property);
+        if (value == null) {
+            value = System.getenv(environmentVariable);
+        }
+        return Boolean.parseBoolean(value);
+    }
+
     public static void setLogLevel(Level level) {
         globalLogLevel = level;
     }
 
+    /**
+     * Enables or disables the asynchronous mode
+     *
+     * @param async true to write the lines on a background thread
+     * @throws IllegalStateException if a logger is already created
+     */
+    public static synchronized void setAsync(boolean async) {
+        if (appender != null) {
+            throw new IllegalStateException("Asynchronous mode should be set before the first logger is created");
+        }
+        LambdaLogger.async = async;
+    }
+
+    /**
+     * Enables or disables the JSON layout
+     *
+     * @param jsonLayout true to write every line as a JSON object
+     * @throws IllegalStateException if a logger is already created
+     */
+    public static synchronized void setJsonLayout(boolean jsonLayout) {
+        if (appender != null) {
+            throw new IllegalStateException("Layout should be set before the first logger is created");
+        }
+        LambdaLogger.jsonLayout = jsonLayout;
+    }
+
+    /**
+     * Writes the buffered lines on the calling thread, nothing is done in synchronous mode
+     */
+    public static void flush() {
+        Appender currentAppender = appender;
+        if (currentAppender instanceof AsyncLambdaAppender) {
+            ((AsyncLambdaAppender) currentAppender).flush();
+        }
+    }
+
     public static org.apache.log4j.Logger getLogger(Class clazz) {
         return getLogger(clazz, globalLogLevel);
     }
@@ -36,8 +130,9 @@ public class LambdaLogger {
     public static org.apache.log4j.Logger getLogger(Class clazz, Level level) {
         org.apache.log4j.Logger logger = org.apache.log4j.Logger.getLogger(clazz);
         logger.setLevel(level);
-        logger.addAppender(getAppender());
+        if (logger.getAppender(APPENDER_NAME) == null) {
+            logger.addAppender(getAppender());
+        }
         return logger;
     }
 }
-
@@ -0,0 +1,105 @@
+package org.lambadaframework.logger;
+
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded ring buffer for many producers and one consumer at a time.
+ * <p>
+ * Producers claim a slot with a single compare and set on the tail sequence and never block.
+ * A slot is visible to the consumer once its element is written, so the consumer stops at the
+ * first slot which is claimed but not written yet and picks it up on its next drain.
+ * Consumers should not drain concurrently, callers serialize them.
+ */
+final class RingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+
+    private final int capacity;
+
+    private final int mask;
+
+    /**
+     * Sequence of the next slot to claim
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Sequence of the next slot to consume, it is advanced only after the slots are cleared
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Creates a ring buffer
+     *
+     * @param capacity Capacity, rounded up to the next power of two
+     */
+    RingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity should be at least 1");
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of claimed slots, it may be stale as soon as it is returned
+     *
+     * @return Size
+     */
+    int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    /**
+     * Adds an element if there is a free slot
+     *
+     * @param element Element, not null
+     * @return false if the buffer is full
+     */
+    boolean offer(E element) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head.get() >= capacity) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+
+        slots.lazySet((int) sequence & mask, element);
+        return true;
+    }
+
+    /**
+     * Removes the written elements in order
+     *
+     * @param consumer Consumer of the elements
+     * @return Number of removed elements
+     */
+    int drain(Consumer<E> consumer) {
+        long sequence = head.get();
+        int count = 0;
+
+        while (true) {
+            int index = (int) sequence & mask;
+            E element = slots.get(index);
+            if (element == null) {
+                break;
+            }
+
+            slots.lazySet(index, null);
+            sequence++;
+            count++;
+            head.set(sequence);
+            consumer.accept(element);
+        }
+        return count;
+    }
+}
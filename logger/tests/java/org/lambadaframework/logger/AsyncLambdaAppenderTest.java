@@ -0,0 +1,160 @@
+package org.lambadaframework.logger;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import org.apache.log4j.Logger;
+import org.apache.log4j.PatternLayout;
+import org.apache.log4j.spi.LoggingEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class AsyncLambdaAppenderTest {
+
+    private final List<String> writes = Collections.synchronizedList(new ArrayList<>());
+
+    private final LambdaLogger output = writes::add;
+
+    private final Logger logger = Logger.getLogger(AsyncLambdaAppenderTest.class);
+
+    private AsyncLambdaAppender appender;
+
+    private AsyncLambdaAppender getAppender(int capacity) {
+        appender = new AsyncLambdaAppender(capacity, output);
+        appender.setLayout(new PatternLayout("%p %m%n"));
+        logger.addAppender(appender);
+        return appender;
+    }
+
+    private List<String> getLines() {
+        List<String> lines = new ArrayList<>();
+        synchronized (writes) {
+            for (String write : writes) {
+                Collections.addAll(lines, write.split("\n"));
+            }
+        }
+        return lines;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        logger.setAdditivity(false);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        logger.removeAllAppenders();
+        if (appender != null) {
+            appender.close();
+        }
+    }
+
+    @Test
+    public void testFlushWritesBatch() throws Exception {
+        getAppender(1024);
+
+        for (int i = 0; i < 10; i++) {
+            logger.info("line " + i);
+        }
+        appender.flush();
+
+        List<String> lines = getLines();
+        assertEquals(10, lines.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("INFO line " + i, lines.get(i));
+        }
+        assertTrue(writes.size() < 10);
+    }
+
+    @Test
+    public void testFullBufferDoesNotDropLines() throws Exception {
+        getAppender(4);
+
+        for (int i = 0; i < 100; i++) {
+            logger.warn("line " + i);
+        }
+        appender.flush();
+
+        List<String> lines = getLines();
+        assertEquals(100, lines.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("WARN line " + i, lines.get(i));
+        }
+    }
+
+    @Test
+    public void testThrowableIsWritten() throws Exception {
+        getAppender(16);
+
+        logger.error("failed", new IllegalStateException("broken"));
+        appender.flush();
+
+        List<String> lines = getLines();
+        assertEquals("ERROR failed", lines.get(0));
+        assertEquals("java.lang.IllegalStateException: broken", lines.get(1).trim());
+    }
+
+    @Test
+    public void testMessageIsRenderedOnCallingThread() throws Exception {
+        getAppender(16);
+
+        StringBuilder message = new StringBuilder("before");
+        logger.info(message);
+        message.setLength(0);
+        message.append("after");
+        appender.flush();
+
+        assertEquals("INFO before", getLines().get(0));
+    }
+
+    @Test
+    public void testBackgroundFlush() throws Exception {
+        getAppender(1024);
+
+        logger.info("background");
+        for (int i = 0; i < 100 && writes.isEmpty(); i++) {
+            Thread.sleep(20);
+        }
+
+        assertEquals(Collections.singletonList("INFO background"), getLines());
+    }
+
+    @Test
+    public void testConcurrentLogging() throws Exception {
+        getAppender(64);
+        int threadCount = 4;
+        int perThread = 2000;
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    logger.info("line");
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        appender.flush();
+
+        assertEquals(threadCount * perThread, getLines().size());
+    }
+
+    @Test
+    public void testClosedAppenderWritesSynchronously() throws Exception {
+        getAppender(16);
+        appender.close();
+
+        appender.append(new LoggingEvent(Logger.class.getName(), logger, org.apache.log4j.Level.INFO, "late", null));
+        assertEquals(Collections.singletonList("INFO late"), getLines());
+    }
+}
@@ -0,0 +1,91 @@
+package org.lambadaframework.logger;
+
+import org.apache.log4j.Layout;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.MDC;
+import org.apache.log4j.spi.LoggingEvent;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class JsonLayoutTest {
+
+    private final Logger logger = Logger.getLogger("org.example.Resource");
+
+    private LoggingEvent getEvent(Level level, Object message, Throwable throwable) {
+        return new LoggingEvent(Logger.class.getName(), logger, 1466170000000L, level, message, throwable);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        MDC.remove(JsonLayout.REQUEST_ID_KEY);
+    }
+
+    @Test
+    public void testFormat() throws Exception {
+        JsonLayout layout = new JsonLayout("my-function", "$LATEST");
+
+        assertEquals("{\"timestamp\":1466170000000,\"level\":\"INFO\",\"logger\":\"org.example.Resource\",\"message\":\"Hello\""
+                        + ",\"functionName\":\"my-function\",\"functionVersion\":\"$LATEST\"}" + Layout.LINE_SEP,
+                layout.format(getEvent(Level.INFO, "Hello", null)));
+    }
+
+    @Test
+    public void testFormatWithoutFunction() throws Exception {
+        JsonLayout layout = new JsonLayout(null, null);
+
+        assertEquals("{\"timestamp\":1466170000000,\"level\":\"WARN\",\"logger\":\"org.example.Resource\",\"message\":\"Hello\"}" + Layout.LINE_SEP,
+                layout.format(getEvent(Level.WARN, "Hello", null)));
+    }
+
+    @Test
+    public void testRequestId() throws Exception {
+        JsonLayout layout = new JsonLayout(null, null);
+        MDC.put(JsonLayout.REQUEST_ID_KEY, "6bc28136-xmpl-4365-b021-0ce6b2e64ab0");
+
+        assertTrue(layout.format(getEvent(Level.INFO, "Hello", null))
+                .contains(",\"requestId\":\"6bc28136-xmpl-4365-b021-0ce6b2e64ab0\"}"));
+    }
+
+    @Test
+    public void testEscaping() throws Exception {
+        JsonLayout layout = new JsonLayout("quoted \"function\"", null);
+
+        String line = layout.format(getEvent(Level.INFO, "line\nbreak\t\"quoted\" back\\slash \u0001", null));
+        assertTrue(line, line.contains("\"message\":\"line\\nbreak\\t\\\"quoted\\\" back\\\\slash \\u0001\""));
+        assertTrue(line, line.contains("\"functionName\":\"quoted \\\"function\\\"\""));
+        assertEquals(line.length() - Layout.LINE_SEP.length(), line.indexOf(Layout.LINE_SEP));
+    }
+
+    @Test
+    public void testThrowable() throws Exception {
+        JsonLayout layout = new JsonLayout(null, null);
+        assertFalse(layout.ignoresThrowable());
+
+        String line = layout.format(getEvent(Level.ERROR, "Failed", new IllegalStateException("broken")));
+        assertTrue(line, line.contains(",\"exception\":\"java.lang.IllegalStateException: broken\\n\\tat "));
+        assertEquals(line.length() - Layout.LINE_SEP.length(), line.indexOf(Layout.LINE_SEP));
+    }
+
+    @Test
+    public void testBufferIsReused() throws Exception {
+        JsonLayout layout = new JsonLayout(null, null);
+
+        String first = layout.format(getEvent(Level.INFO, "first message", null));
+        String second = layout.format(getEvent(Level.INFO, "second", null));
+
+        assertTrue(first.contains("\"message\":\"first message\""));
+        assertTrue(second.contains("\"message\":\"second\"}"));
+    }
+
+    @Test
+    public void testLocationIsNotLookedUp() throws Exception {
+        JsonLayout layout = new JsonLayout(null, null);
+        LoggingEvent event = getEvent(Level.INFO, "Hello", null);
+
+        layout.format(event);
+        assertFalse(event.locationInformationExists());
+    }
+}
@@ -0,0 +1,32 @@
+package org.lambadaframework.logger;
+
+import org.apache.log4j.Logger;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class LambdaLoggerTest {
+
+    @Test
+    public void testAppenderIsAddedOnce() throws Exception {
+        Logger logger = LambdaLogger.getLogger(LambdaLoggerTest.class);
+        assertSame(logger, LambdaLogger.getLogger(LambdaLoggerTest.class));
+
+        assertEquals(1, Collections.list(logger.getAllAppenders()).size());
+        assertNotNull(logger.getAppender(LambdaLogger.APPENDER_NAME));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAsyncModeCannotChangeOnceLoggersExist() throws Exception {
+        LambdaLogger.getLogger(LambdaLoggerTest.class);
+        LambdaLogger.setAsync(true);
+    }
+
+    @Test
+    public void testFlushInSynchronousMode() throws Exception {
+        LambdaLogger.getLogger(LambdaLoggerTest.class);
+        LambdaLogger.flush();
+    }
+}
@@ -0,0 +1,81 @@
+package org.lambadaframework.logger;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.*;
+
+public class RingBufferTest {
+
+    @Test
+    public void testCapacityIsPowerOfTwo() throws Exception {
+        assertEquals(1, new RingBuffer<String>(1).capacity());
+        assertEquals(8, new RingBuffer<String>(5).capacity());
+        assertEquals(1024, new RingBuffer<String>(1024).capacity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() throws Exception {
+        new RingBuffer<String>(0);
+    }
+
+    @Test
+    public void testDrainInOrder() throws Exception {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(buffer.offer(round * 4 + i));
+            }
+            assertFalse(buffer.offer(-1));
+            assertEquals(4, buffer.size());
+
+            assertEquals(4, buffer.drain(drained::add));
+            assertEquals(0, buffer.size());
+        }
+
+        for (int i = 0; i < drained.size(); i++) {
+            assertEquals(Integer.valueOf(i), drained.get(i));
+        }
+        assertEquals(0, buffer.drain(drained::add));
+    }
+
+    @Test
+    public void testConcurrentProducers() throws Exception {
+        RingBuffer<Integer> buffer = new RingBuffer<>(64);
+        Set<Integer> drained = ConcurrentHashMap.newKeySet();
+        int threadCount = 4;
+        int perThread = 10000;
+
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            int offset = t * perThread;
+            producers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    while (!buffer.offer(offset + i)) {
+                        synchronized (buffer) {
+                            buffer.drain(drained::add);
+                        }
+                    }
+                }
+            }));
+        }
+
+        for (Thread producer : producers) {
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        synchronized (buffer) {
+            buffer.drain(drained::add);
+        }
+
+        assertEquals(threadCount * perThread, drained.size());
+    }
+}
@@ -0,0 +1,794 @@
+package org.lambadaframework.processor;
+
+
+import org.lambadaframework.jaxrs.index.IndexedParameter;
+import org.lambadaframework.jaxrs.index.RouteIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates the route index of the compiled JAX-RS resources.
+ * <p>
+ * The generated class lists every route with its path template, HTTP method, media types
+ * and parameters, and calls each resource method through a lambda. It is registered as a
+ * {@link RouteIndex} service, so the runtime neither scans the classpath nor builds the
+ * Jersey model of the resources.
+ * <p>
+ * If a resource can not be indexed (e.g. a sub-resource locator or a method that is not public)
+ * no index is generated at all and the resources are scanned at runtime as before.
+ * <p>
+ * The runtime trusts the index and does not scan the package, so the index should never
+ * miss a resource. An incremental compile only passes the recompiled resources to the
+ * processor, thus the resources of the previous index are recorded next to it and the ones
+ * which are not recompiled are read back from the class output and indexed again.
+ */
+@SupportedAnnotationTypes(RouteIndexProcessor.PATH)
+public class RouteIndexProcessor extends AbstractProcessor {
+
+    static final String PATH = "javax.ws.rs.Path";
+
+    static final String INDEX_CLASS_NAME = "LambadaRouteIndex";
+
+    private static final String HTTP_METHOD = "javax.ws.rs.HttpMethod";
+
+    private static final String PRODUCES = "javax.ws.rs.Produces";
+
+    private static final String CONSUMES = "javax.ws.rs.Consumes";
+
+    private static final String PATH_PARAM = "javax.ws.rs.PathParam";
+
+    private static final String QUERY_PARAM = "javax.ws.rs.QueryParam";
+
+    private static final String HEADER_PARAM = "javax.ws.rs.HeaderParam";
+
+    private static final String DEFAULT_VALUE = "javax.ws.rs.DefaultValue";
+
+    private static final String ENCODED = "javax.ws.rs.Encoded";
+
+    private static final String JAXRS_PACKAGE = "javax.ws.rs.";
+
+    private static final String SERVICE_FILE = "META-INF/services/" + RouteIndex.class.getName();
+
+    /**
+     * Resource classes of the generated index, one qualified name per line
+     */
+    static final String RESOURCES_FILE = "META-INF/lambada/route-index-resources";
+
+    private static final String INDEX_PACKAGE = "org.lambadaframework.jaxrs.index.";
+
+    private boolean generated;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        if (generated || roundEnv.processingOver()) {
+            return false;
+        }
+
+        TypeElement pathAnnotation = processingEnv.getElementUtils().getTypeElement(PATH);
+        if (pathAnnotation == null) {
+            return false;
+        }
+
+        List<TypeElement> resourceClasses = new ArrayList<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(pathAnnotation)) {
+            if (element.getKind() == ElementKind.CLASS) {
+                resourceClasses.add((TypeElement) element);
+            }
+        }
+
+        if (resourceClasses.isEmpty()) {
+            /**
+             * Index of the previous compile is left as it is
+             */
+            return false;
+        }
+
+        addIndexedResources(resourceClasses);
+
+        generated = true;
+        resourceClasses.sort(Comparator.comparing(resourceClass -> resourceClass.getQualifiedName().toString()));
+
+        try {
+            List<Route> routes = new ArrayList<>();
+            for (TypeElement resourceClass : resourceClasses) {
+                collectRoutes(resourceClass, routes);
+            }
+            writeIndex(getIndexPackage(resourceClasses), routes, resourceClasses);
+        } catch (NotIndexableException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Route index is not generated, resources are going to be scanned at runtime: " + e.getMessage(),
+                    e.element);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Route index could not be written: " + e.getMessage());
+        }
+
+        return false;
+    }
+
+    /**
+     * Adds the resources of the previous index which are not recompiled, they are read from
+     * their class files. Resources which are deleted or not annotated anymore are skipped.
+     */
+    private void addIndexedResources(List<TypeElement> resourceClasses) {
+        Set<String> resourceNames = new HashSet<>();
+        for (TypeElement resourceClass : resourceClasses) {
+            resourceNames.add(resourceClass.getQualifiedName().toString());
+        }
+
+        for (String resourceName : readIndexedResources()) {
+            if (!resourceNames.add(resourceName)) {
+                continue;
+            }
+
+            TypeElement resourceClass = processingEnv.getElementUtils().getTypeElement(resourceName);
+            if (resourceClass != null && resourceClass.getKind() == ElementKind.CLASS && hasAnnotation(resourceClass, PATH)) {
+                resourceClasses.add(resourceClass);
+            }
+        }
+    }
+
+    private List<String> readIndexedResources() {
+        List<String> resourceNames = new ArrayList<>();
+        try {
+            FileObject resourcesFile = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", RESOURCES_FILE);
+            for (String line : resourcesFile.getCharContent(true).toString().split("\n")) {
+                if (!line.trim().isEmpty()) {
+                    resourceNames.add(line.trim());
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            /**
+             * No index is generated before, it is a full compile
+             */
+        }
+        return resourceNames;
+    }
+
+    private void collectRoutes(TypeElement resourceClass, List<Route> routes)
+            throws NotIndexableException {
+
+        if (!isAccessible(resourceClass) || resourceClass.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new NotIndexableException("resource class should be public, concrete and static if it is nested", resourceClass);
+        }
+
+        String classPath = (String) getAnnotationValue(resourceClass, PATH);
+        List<String> classConsumes = getMediaTypes(resourceClass, CONSUMES);
+        List<String> classProduces = getMediaTypes(resourceClass, PRODUCES);
+
+        /**
+         * Methods of the superclasses are resource methods too, unless they are overridden
+         */
+        Set<String> signatures = new HashSet<>();
+        for (TypeElement type = resourceClass; type != null; type = getSuperclass(type)) {
+            for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+
+                if (!signatures.add(getSignature(method))) {
+                    continue;
+                }
+
+                ExecutableElement annotatedMethod = getAnnotatedMethod(method, resourceClass);
+                if (annotatedMethod == null) {
+                    continue;
+                }
+
+                String httpMethod = getHttpMethod(annotatedMethod);
+                String methodPath = (String) getAnnotationValue(annotatedMethod, PATH);
+
+                if (httpMethod == null) {
+                    if (methodPath != null) {
+                        throw new NotIndexableException("sub-resource locators are not supported", method);
+                    }
+                    continue;
+                }
+
+                if (!method.getModifiers().contains(Modifier.PUBLIC)) {
+                    throw new NotIndexableException("resource method should be public", method);
+                }
+
+                List<String> methodConsumes = getMediaTypes(annotatedMethod, CONSUMES);
+                List<String> consumes = methodConsumes.isEmpty() ? classConsumes : methodConsumes;
+
+                List<String> produces = getMediaTypes(annotatedMethod, PRODUCES);
+                if (produces.isEmpty()) {
+                    produces = classProduces;
+                }
+
+                /**
+                 * Annotations of the parameters are inherited with the method, their types are the overriding ones
+                 */
+                List<Parameter> parameters = new ArrayList<>();
+                for (int i = 0; i < method.getParameters().size(); i++) {
+                    parameters.add(getParameter(annotatedMethod.getParameters().get(i), method.getParameters().get(i).asType(), methodConsumes));
+                }
+
+                routes.add(new Route(httpMethod,
+                        getPath(classPath, methodPath),
+                        resourceClass,
+                        method,
+                        consumes,
+                        produces,
+                        parameters));
+            }
+        }
+    }
+
+    /**
+     * Finds the declaration of the method which carries its JAX-RS annotations.
+     * <p>
+     * As JAX-RS 2.0 section 3.6 defines, a method without any JAX-RS annotation inherits the annotations
+     * of the method it overrides, superclasses are searched before interfaces.
+     *
+     * @return Annotated declaration or null if neither the method nor an overridden one is annotated
+     */
+    private ExecutableElement getAnnotatedMethod(ExecutableElement method, TypeElement resourceClass) {
+        if (hasJaxrsAnnotations(method)) {
+            return method;
+        }
+
+        for (TypeElement supertype : getSupertypes((TypeElement) method.getEnclosingElement())) {
+            ExecutableElement annotatedMethod = getAnnotatedMethod(method, supertype, resourceClass);
+            if (annotatedMethod != null) {
+                return annotatedMethod;
+            }
+        }
+        return null;
+    }
+
+    private ExecutableElement getAnnotatedMethod(ExecutableElement method, TypeElement type, TypeElement resourceClass) {
+        for (ExecutableElement candidate : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (processingEnv.getElementUtils().overrides(method, candidate, resourceClass)) {
+                if (hasJaxrsAnnotations(candidate)) {
+                    return candidate;
+                }
+                /**
+                 * Overridden method is not annotated either, it may inherit the annotations in turn
+                 */
+                break;
+            }
+        }
+
+        for (TypeElement supertype : getSupertypes(type)) {
+            ExecutableElement annotatedMethod = getAnnotatedMethod(method, supertype, resourceClass);
+            if (annotatedMethod != null) {
+                return annotatedMethod;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Superclass first, then the interfaces in declaration order
+     */
+    private List<TypeElement> getSupertypes(TypeElement type) {
+        List<TypeElement> supertypes = new ArrayList<>();
+
+        TypeElement superclass = getSuperclass(type);
+        if (superclass != null) {
+            supertypes.add(superclass);
+        }
+
+        for (TypeMirror superinterface : type.getInterfaces()) {
+            if (superinterface.getKind() == TypeKind.DECLARED) {
+                supertypes.add((TypeElement) ((DeclaredType) superinterface).asElement());
+            }
+        }
+        return supertypes;
+    }
+
+    private static boolean hasJaxrsAnnotations(ExecutableElement method) {
+        if (hasJaxrsAnnotations((Element) method) || getHttpMethod(method) != null) {
+            return true;
+        }
+
+        for (VariableElement parameter : method.getParameters()) {
+            if (hasJaxrsAnnotations(parameter)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasJaxrsAnnotations(Element element) {
+        for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+            if (getName(annotationMirror).startsWith(JAXRS_PACKAGE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Binds the parameter like the runtime does, see {@link IndexedParameter#getSource(List, String)}
+     *
+     * @param parameter      Parameter of the annotated declaration of the method
+     * @param type           Type of the parameter in the overriding method
+     * @param methodConsumes Media types of the method level @Consumes
+     */
+    private Parameter getParameter(VariableElement parameter, TypeMirror type, List<String> methodConsumes)
+            throws NotIndexableException {
+
+        String defaultValue = (String) getAnnotationValue(parameter, DEFAULT_VALUE);
+
+        if (hasAnnotation(parameter, PATH_PARAM)) {
+            return new Parameter("PATH", (String) getAnnotationValue(parameter, PATH_PARAM), defaultValue, type);
+        }
+
+        if (hasAnnotation(parameter, QUERY_PARAM)) {
+            return new Parameter("QUERY", (String) getAnnotationValue(parameter, QUERY_PARAM), defaultValue, type);
+        }
+
+        if (hasAnnotation(parameter, HEADER_PARAM)) {
+            return new Parameter("HEADER", (String) getAnnotationValue(parameter, HEADER_PARAM), defaultValue, type);
+        }
+
+        for (AnnotationMirror annotationMirror : parameter.getAnnotationMirrors()) {
+            String annotationName = getName(annotationMirror);
+            if (annotationName.startsWith(JAXRS_PACKAGE) && !annotationName.equals(DEFAULT_VALUE) && !annotationName.equals(ENCODED)) {
+                throw new NotIndexableException("@" + annotationName + " is not supported", parameter);
+            }
+        }
+
+        IndexedParameter.Source source = IndexedParameter.getSource(methodConsumes, getBinaryName(type));
+        if (source != null) {
+            return new Parameter(source.name(), null, null, type);
+        }
+
+        throw new NotIndexableException("can't handle parameter type [" + type + "]", parameter);
+    }
+
+    private void writeIndex(String packageName, List<Route> routes, List<TypeElement> resourceClasses)
+            throws IOException {
+
+        String className = packageName.isEmpty() ? INDEX_CLASS_NAME : packageName + "." + INDEX_CLASS_NAME;
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+
+        source.append("/**\n")
+                .append(" * Route index generated by ").append(RouteIndexProcessor.class.getName()).append(", do not edit.\n")
+                .append(" */\n")
+                .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(INDEX_CLASS_NAME).append(" implements ").append(RouteIndex.class.getName()).append(" {\n\n")
+                .append("    private static final java.util.List<").append(INDEX_PACKAGE).append("IndexedRoute> ROUTES = java.util.Collections.unmodifiableList(java.util.Arrays.asList(");
+
+        for (int i = 0; i < routes.size(); i++) {
+            source.append(i == 0 ? "\n" : ",\n");
+            writeRoute(source, routes.get(i));
+        }
+
+        source.append("\n    ));\n\n")
+                .append("    @Override\n")
+                .append("    public java.util.List<").append(INDEX_PACKAGE).append("IndexedRoute> getRoutes() {\n")
+                .append("        return ROUTES;\n")
+                .append("    }\n")
+                .append("}\n");
+
+        JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(className);
+        try (Writer writer = sourceFile.openWriter()) {
+            writer.write(source.toString());
+        }
+
+        FileObject serviceFile = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+        try (Writer writer = serviceFile.openWriter()) {
+            writer.write(className + "\n");
+        }
+
+        FileObject resourcesFile = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", RESOURCES_FILE);
+        try (Writer writer = resourcesFile.openWriter()) {
+            for (TypeElement resourceClass : resourceClasses) {
+                writer.write(resourceClass.getQualifiedName() + "\n");
+            }
+        }
+    }
+
+    private void writeRoute(StringBuilder source, Route route) {
+        String resourceClassName = route.resourceClass.getQualifiedName().toString();
+        List<String> parameterTypes = new ArrayList<>();
+        List<String> parameterClasses = new ArrayList<>();
+        List<String> parameterBindings = new ArrayList<>();
+        for (Parameter parameter : route.parameters) {
+            parameterTypes.add(getBinaryName(parameter.type));
+            parameterClasses.add(getClassLiteral(parameter.type));
+            parameterBindings.add(parameter.name == null ? "" : parameter.source.toLowerCase() + ":" + parameter.name);
+        }
+
+        source.append("            new ").append(INDEX_PACKAGE).append("IndexedRoute(\n")
+                .append("                    new org.lambadaframework.jaxrs.model.RouteDefinition(")
+                .append(toLiteral(route.httpMethod)).append(", ")
+                .append(toLiteral(route.path)).append(", ")
+                .append(toLiteral(processingEnv.getElementUtils().getBinaryName(route.resourceClass).toString())).append(", ")
+                .append(toLiteral(route.method.getSimpleName().toString())).append(", ")
+                .append(toListLiteral(parameterTypes)).append(", ")
+                .append(toListLiteral(route.consumes)).append(", ")
+                .append(toListLiteral(route.produces)).append(", ")
+                .append(toListLiteral(parameterBindings)).append(", ")
+                .append(toLiteral(getBinaryName(route.method.getReturnType()))).append("),\n")
+                .append("                    ").append(resourceClassName).append(".class,\n")
+                .append("                    java.util.Arrays.<").append(INDEX_PACKAGE).append("IndexedParameter>asList(");
+
+        for (int i = 0; i < route.parameters.size(); i++) {
+            Parameter parameter = route.parameters.get(i);
+            String genericType = isParameterized(parameter.type)
+                    ? INDEX_PACKAGE + "RouteIndexes.getGenericParameterType(" + resourceClassName + ".class, "
+                    + toLiteral(route.method.getSimpleName().toString()) + ", " + i
+                    + (parameterClasses.isEmpty() ? "" : ", " + String.join(", ", parameterClasses)) + ")"
+                    : parameterClasses.get(i);
+
+            source.append(i == 0 ? "\n" : ",\n")
+                    .append("                            new ").append(INDEX_PACKAGE).append("IndexedParameter(")
+                    .append(INDEX_PACKAGE).append("IndexedParameter.Source.").append(parameter.source).append(", ")
+                    .append(toLiteral(parameter.name)).append(", ")
+                    .append(toLiteral(parameter.defaultValue)).append(", ")
+                    .append(parameterClasses.get(i)).append(", ")
+                    .append(genericType).append(")");
+        }
+
+        source.append("),\n")
+                .append("                    (instance, arguments) -> ");
+
+        boolean isVoid = route.method.getReturnType().getKind() == TypeKind.VOID;
+        if (isVoid) {
+            source.append("{\n                        ");
+        }
+
+        if (route.method.getModifiers().contains(Modifier.STATIC)) {
+            source.append(((TypeElement) route.method.getEnclosingElement()).getQualifiedName());
+        } else {
+            source.append("((").append(resourceClassName).append(") instance)");
+        }
+
+        source.append(".").append(route.method.getSimpleName()).append("(");
+        for (int i = 0; i < route.parameters.size(); i++) {
+            if (i > 0) {
+                source.append(", ");
+            }
+            source.append("(").append(getCastType(route.parameters.get(i).type)).append(") arguments[").append(i).append("]");
+        }
+        source.append(")");
+
+        if (isVoid) {
+            source.append(";\n                        return null;\n                    }");
+        }
+
+        source.append("\n            )");
+    }
+
+    /**
+     * Package of the index is the longest common package of the resources
+     */
+    private String getIndexPackage(List<TypeElement> resourceClasses) {
+        String[] common = null;
+        int length = 0;
+
+        for (TypeElement resourceClass : resourceClasses) {
+            String packageName = processingEnv.getElementUtils().getPackageOf(resourceClass).getQualifiedName().toString();
+            String[] segments = packageName.isEmpty() ? new String[0] : packageName.split("\\.");
+
+            if (common == null) {
+                common = segments;
+                length = segments.length;
+                continue;
+            }
+
+            int i = 0;
+            while (i < length && i < segments.length && common[i].equals(segments[i])) {
+                i++;
+            }
+            length = i;
+        }
+
+        return common == null ? "" : String.join(".", Arrays.copyOf(common, length));
+    }
+
+    private static String getPath(String classPath, String methodPath) {
+        String path = "/" + classPath + (methodPath == null ? "" : "/" + methodPath);
+
+        while (path.contains("//")) {
+            path = path.replace("//", "/");
+        }
+
+        if (path.endsWith("/") && !path.equals("/")) {
+            return path.substring(0, path.length() - 1);
+        }
+
+        return path;
+    }
+
+    private TypeElement getSuperclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+
+        TypeElement superElement = (TypeElement) ((DeclaredType) superclass).asElement();
+        if (superElement.getQualifiedName().contentEquals(Object.class.getName())) {
+            return null;
+        }
+        return superElement;
+    }
+
+    private String getSignature(ExecutableElement method) {
+        StringBuilder signature = new StringBuilder(method.getSimpleName()).append("(");
+        for (VariableElement parameter : method.getParameters()) {
+            signature.append(processingEnv.getTypeUtils().erasure(parameter.asType())).append(",");
+        }
+        return signature.append(")").toString();
+    }
+
+    private static boolean isAccessible(TypeElement type) {
+        if (!type.getModifiers().contains(Modifier.PUBLIC)) {
+            return false;
+        }
+
+        if (type.getNestingKind() == NestingKind.TOP_LEVEL) {
+            return true;
+        }
+
+        return type.getNestingKind() == NestingKind.MEMBER
+                && type.getModifiers().contains(Modifier.STATIC)
+                && isAccessible((TypeElement) type.getEnclosingElement());
+    }
+
+    /**
+     * HTTP method annotations are the ones annotated with @HttpMethod
+     */
+    private static String getHttpMethod(ExecutableElement method) {
+        for (AnnotationMirror annotationMirror : method.getAnnotationMirrors()) {
+            Object httpMethod = getAnnotationValue(annotationMirror.getAnnotationType().asElement(), HTTP_METHOD);
+            if (httpMethod != null) {
+                return (String) httpMethod;
+            }
+        }
+        return null;
+    }
+
+    private static List<String> getMediaTypes(Element element, String annotationName) {
+        List<String> mediaTypes = new ArrayList<>();
+        Object value = getAnnotationValue(element, annotationName);
+        if (value == null) {
+            return mediaTypes;
+        }
+
+        for (Object mediaTypeValue : (List<?>) value) {
+            /**
+             * A single value may have several media types separated by comma
+             */
+            for (String mediaType : ((AnnotationValue) mediaTypeValue).getValue().toString().split(",")) {
+                if (!mediaType.trim().isEmpty()) {
+                    mediaTypes.add(mediaType.trim());
+                }
+            }
+        }
+        return mediaTypes;
+    }
+
+    private static boolean hasAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+            if (getName(annotationMirror).equals(annotationName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the value element of an annotation
+     *
+     * @return Value or null if the element is not annotated
+     */
+    private static Object getAnnotationValue(Element element, String annotationName) {
+        for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+            if (!getName(annotationMirror).equals(annotationName)) {
+                continue;
+            }
+
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotationMirror.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("value")) {
+                    return entry.getValue().getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String getName(AnnotationMirror annotationMirror) {
+        return ((TypeElement) annotationMirror.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    private static boolean isParameterized(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isParameterized(((ArrayType) type).getComponentType());
+        }
+        return type.getKind() == TypeKind.DECLARED && !((DeclaredType) type).getTypeArguments().isEmpty();
+    }
+
+    private String getClassLiteral(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString() + ".class";
+    }
+
+    private String getCastType(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    /**
+     * Gets the name of the type as Class.getName() returns it
+     */
+    private String getBinaryName(TypeMirror type) {
+        TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+        if (erasure.getKind() == TypeKind.ARRAY) {
+            return "[" + getDescriptor(((ArrayType) erasure).getComponentType()).replace('/', '.');
+        }
+        if (erasure.getKind() == TypeKind.DECLARED) {
+            return processingEnv.getElementUtils().getBinaryName((TypeElement) ((DeclaredType) erasure).asElement()).toString();
+        }
+        return erasure.toString();
+    }
+
+    private String getDescriptor(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "Z";
+            case BYTE:
+                return "B";
+            case CHAR:
+                return "C";
+            case SHORT:
+                return "S";
+            case INT:
+                return "I";
+            case LONG:
+                return "J";
+            case FLOAT:
+                return "F";
+            case DOUBLE:
+                return "D";
+            case ARRAY:
+                return "[" + getDescriptor(((ArrayType) type).getComponentType());
+            default:
+                return "L" + getBinaryName(type) + ";";
+        }
+    }
+
+    private static String toListLiteral(List<String> values) {
+        if (values.isEmpty()) {
+            return "java.util.Collections.<String>emptyList()";
+        }
+
+        List<String> literals = new ArrayList<>();
+        for (String value : values) {
+            literals.add(toLiteral(value));
+        }
+        return "java.util.Arrays.asList(" + String.join(", ", literals) + ")";
+    }
+
+    private static String toLiteral(String value) {
+        if (value == null) {
+            return "null";
+        }
+
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                default:
+                    literal.append(c);
+            }
+        }
+        return literal.append("\"").toString();
+    }
+
+    private static final class Route {
+
+        private final String httpMethod;
+
+        private final String path;
+
+        private final TypeElement resourceClass;
+
+        private final ExecutableElement method;
+
+        private final List<String> consumes;
+
+        private final List<String> produces;
+
+        private final List<Parameter> parameters;
+
+        private Route(String httpMethod,
+                      String path,
+                      TypeElement resourceClass,
+                      ExecutableElement method,
+                      List<String> consumes,
+                      List<String> produces,
+                      List<Parameter> parameters) {
+            this.httpMethod = httpMethod;
+            this.path = path;
+            this.resourceClass = resourceClass;
+            this.method = method;
+            this.consumes = consumes;
+            this.produces = produces;
+            this.parameters = parameters;
+        }
+    }
+
+    private static final class Parameter {
+
+        private final String source;
+
+        private final String name;
+
+        private final String defaultValue;
+
+        private final TypeMirror type;
+
+        private Parameter(String source, String name, String defaultValue, TypeMirror type) {
+            this.source = source;
+            this.name = name;
+            this.defaultValue = defaultValue;
+            this.type = type;
+        }
+    }
+
+    private static final class NotIndexableException extends Exception {
+
+        private final Element element;
+
+        private NotIndexableException(String message, Element element) {
+            super(message);
+            this.element = element;
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package org.lambadaframework.processor;
+
+import org.junit.Test;
+import org.lambadaframework.jaxrs.index.IndexedParameter;
+import org.lambadaframework.jaxrs.index.IndexedRoute;
+import org.lambadaframework.jaxrs.index.RouteIndexes;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.lang.reflect.ParameterizedType;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class RouteIndexProcessorTest {
+
+    private static final String RESOURCE_SOURCE = "package org.example.api;\n"
+            + "\n"
+            + "import javax.ws.rs.*;\n"
+            + "import java.util.List;\n"
+            + "\n"
+            + "@Path(\"/users\")\n"
+            + "public class UserResource {\n"
+            + "\n"
+            + "    @GET\n"
+            + "    @Path(\"/{id}\")\n"
+            + "    @Produces(\"application/json\")\n"
+            + "    public String getUser(@PathParam(\"id\") long id, @QueryParam(\"fields\") @DefaultValue(\"name\") String fields) {\n"
+            + "        return id + \":\" + fields;\n"
+            + "    }\n"
+            + "\n"
+            + "    @POST\n"
+            + "    @Consumes(\"application/json\")\n"
+            + "    public void createUsers(List<String> names) {\n"
+            + "    }\n"
+            + "}\n";
+
+    private static final String LOCATOR_SOURCE = "package org.example.api;\n"
+            + "\n"
+            + "import javax.ws.rs.*;\n"
+            + "\n"
+            + "@Path(\"/users\")\n"
+            + "public class UserResource {\n"
+            + "\n"
+            + "    @Path(\"/{id}\")\n"
+            + "    public Object getUser() {\n"
+            + "        return null;\n"
+            + "    }\n"
+            + "}\n";
+
+    private static final String CLASS_CONSUMES_SOURCE = "package org.example.api;\n"
+            + "\n"
+            + "import javax.ws.rs.*;\n"
+            + "\n"
+            + "@Path(\"/users\")\n"
+            + "@Consumes(\"application/json\")\n"
+            + "public class UserResource {\n"
+            + "\n"
+            + "    @POST\n"
+            + "    public void createUser(String name) {\n"
+            + "    }\n"
+            + "}\n";
+
+    private static final String API_SOURCE = "package org.example.api;\n"
+            + "\n"
+            + "import javax.ws.rs.*;\n"
+            + "\n"
+            + "public interface Api {\n"
+            + "\n"
+            + "    @GET\n"
+            + "    @Path(\"{id}\")\n"
+            + "    @Produces(\"text/plain\")\n"
+            + "    String getThing(@PathParam(\"id\") String id);\n"
+            + "}\n";
+
+    private static final String BASE_SOURCE = "package org.example.api;\n"
+            + "\n"
+            + "import javax.ws.rs.*;\n"
+            + "\n"
+            + "public abstract class Base {\n"
+            + "\n"
+            + "    @GET\n"
+            + "    @Path(\"base\")\n"
+            + "    public String getBase(@QueryParam(\"name\") String name) {\n"
+            + "        return \"base \" + name;\n"
+            + "    }\n"
+            + "}\n";
+
+    private static final String IMPL_SOURCE = "package org.example.api;\n"
+            + "\n"
+            + "import javax.ws.rs.*;\n"
+            + "\n"
+            + "@Path(\"/things\")\n"
+            + "public class Impl extends Base implements Api {\n"
+            + "\n"
+            + "    @Override\n"
+            + "    public String getThing(String id) {\n"
+            + "        return \"thing \" + id;\n"
+            + "    }\n"
+            + "\n"
+            + "    @Override\n"
+            + "    public String getBase(String name) {\n"
+            + "        return \"impl \" + name;\n"
+            + "    }\n"
+            + "\n"
+            + "    @POST\n"
+            + "    public void create() {\n"
+            + "    }\n"
+            + "}\n";
+
+    private static final String FIRST_SOURCE = "package org.example.api;\n"
+            + "\n"
+            + "import javax.ws.rs.*;\n"
+            + "\n"
+            + "@Path(\"/first\")\n"
+            + "public class First extends Base {\n"
+            + "}\n";
+
+    private static final String SECOND_SOURCE = "package org.example.api;\n"
+            + "\n"
+            + "import javax.ws.rs.*;\n"
+            + "\n"
+            + "@Path(\"/second\")\n"
+            + "public class Second extends Base {\n"
+            + "}\n";
+
+    private static class Source extends SimpleJavaFileObject {
+
+        private final String source;
+
+        Source(String className, String source) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+
+    private File compile(String source) throws Exception {
+        return compile(new Source("org.example.api.UserResource", source));
+    }
+
+    private File compile(Source... sources) throws Exception {
+        return compile(Files.createTempDirectory("lambada").toFile(), sources);
+    }
+
+    /**
+     * Classes compiled before into the output directory are on the classpath, like in an incremental compile
+     */
+    private File compile(File outputDirectory, Source... sources) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+        fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(outputDirectory));
+        fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singletonList(outputDirectory));
+
+        List<File> classPath = new ArrayList<>();
+        classPath.add(outputDirectory);
+        for (File file : fileManager.getLocation(StandardLocation.CLASS_PATH)) {
+            classPath.add(file);
+        }
+        fileManager.setLocation(StandardLocation.CLASS_PATH, classPath);
+
+        JavaCompiler.CompilationTask task = compiler.getTask(null,
+                fileManager,
+                diagnostics,
+                null,
+                null,
+                Arrays.asList(sources));
+        task.setProcessors(Collections.singletonList(new RouteIndexProcessor()));
+
+        assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+        fileManager.close();
+        return outputDirectory;
+    }
+
+    @Test
+    public void testGeneratedIndex() throws Exception {
+        File outputDirectory = compile(RESOURCE_SOURCE);
+        assertTrue(new File(outputDirectory, "org/example/api/" + RouteIndexProcessor.INDEX_CLASS_NAME + ".java").exists());
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{outputDirectory.toURI().toURL()}, getClass().getClassLoader())) {
+            List<IndexedRoute> routes = RouteIndexes.load(classLoader, "org.example");
+            assertNotNull(routes);
+            assertEquals(2, routes.size());
+            assertNull(RouteIndexes.load(classLoader, "com.example"));
+            assertNull(RouteIndexes.load(classLoader, "org.exam"));
+            assertNull(RouteIndexes.load(classLoader, "org.example.apis"));
+            assertEquals(2, RouteIndexes.load(classLoader, "org.example.api").size());
+
+            IndexedRoute getUser = routes.get(0);
+            assertEquals("GET\t/users/{id}\torg.example.api.UserResource\tgetUser(long,java.lang.String)\t\tapplication/json\tpath:id,query:fields\tjava.lang.String",
+                    getUser.getDefinition().toString());
+            assertEquals(IndexedParameter.Source.PATH, getUser.getParameters().get(0).getSource());
+            assertEquals(long.class, getUser.getParameters().get(0).getType());
+            assertEquals(IndexedParameter.Source.QUERY, getUser.getParameters().get(1).getSource());
+            assertEquals("name", getUser.getParameters().get(1).getDefaultValue());
+
+            Object instance = getUser.getResourceClass().newInstance();
+            assertEquals("42:name", getUser.getDispatcher().dispatch(instance, new Object[]{42L, "name"}));
+
+            IndexedRoute createUsers = routes.get(1);
+            assertEquals("/users", createUsers.getDefinition().getPath());
+            assertEquals(Collections.singletonList(""), createUsers.getDefinition().getParameterBindings());
+            assertEquals("void", createUsers.getDefinition().getReturnType());
+            assertEquals(IndexedParameter.Source.BODY, createUsers.getParameters().get(0).getSource());
+            assertTrue(createUsers.getParameters().get(0).getGenericType() instanceof ParameterizedType);
+            assertNull(createUsers.getDispatcher().dispatch(instance, new Object[]{Collections.emptyList()}));
+        }
+    }
+
+    @Test
+    public void testNotIndexable() throws Exception {
+        File outputDirectory = compile(LOCATOR_SOURCE);
+        assertFalse(new File(outputDirectory, "org/example/api/" + RouteIndexProcessor.INDEX_CLASS_NAME + ".java").exists());
+    }
+
+    @Test
+    public void testClassConsumesDoesNotBindBody() throws Exception {
+        /**
+         * Runtime binds the body only when the method itself consumes JSON, so the index should not either
+         */
+        File outputDirectory = compile(CLASS_CONSUMES_SOURCE);
+        assertFalse(new File(outputDirectory, "org/example/api/" + RouteIndexProcessor.INDEX_CLASS_NAME + ".java").exists());
+    }
+
+    @Test
+    public void testInheritedAnnotations() throws Exception {
+        File outputDirectory = compile(new Source("org.example.api.Api", API_SOURCE),
+                new Source("org.example.api.Base", BASE_SOURCE),
+                new Source("org.example.api.Impl", IMPL_SOURCE));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{outputDirectory.toURI().toURL()}, getClass().getClassLoader())) {
+            List<IndexedRoute> routes = RouteIndexes.load(classLoader, "org.example");
+            assertNotNull(routes);
+            assertEquals(3, routes.size());
+
+            /**
+             * Overriding methods without annotations inherit the ones of the interface and the superclass
+             */
+            IndexedRoute getThing = routes.get(0);
+            assertEquals("GET\t/things/{id}\torg.example.api.Impl\tgetThing(java.lang.String)\t\ttext/plain\tpath:id\tjava.lang.String",
+                    getThing.getDefinition().toString());
+
+            IndexedRoute getBase = routes.get(1);
+            assertEquals("GET\t/things/base\torg.example.api.Impl\tgetBase(java.lang.String)\t\t\tquery:name\tjava.lang.String",
+                    getBase.getDefinition().toString());
+
+            assertEquals("POST\t/things\torg.example.api.Impl\tcreate()\t\t\t\tvoid", routes.get(2).getDefinition().toString());
+
+            Object instance = getThing.getResourceClass().newInstance();
+            assertEquals("thing 42", getThing.getDispatcher().dispatch(instance, new Object[]{"42"}));
+            assertEquals("impl name", getBase.getDispatcher().dispatch(instance, new Object[]{"name"}));
+        }
+    }
+
+    @Test
+    public void testInheritedMethodOfTwoResources() throws Exception {
+        File outputDirectory = compile(new Source("org.example.api.Base", BASE_SOURCE),
+                new Source("org.example.api.First", FIRST_SOURCE),
+                new Source("org.example.api.Second", SECOND_SOURCE));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{outputDirectory.toURI().toURL()}, getClass().getClassLoader())) {
+            List<IndexedRoute> routes = RouteIndexes.load(classLoader, "org.example");
+            assertNotNull(routes);
+            assertEquals(2, routes.size());
+
+            /**
+             * Each resource has its own route, resource class and dispatcher for the same method
+             */
+            for (IndexedRoute route : routes) {
+                String className = route.getResourceClass().getSimpleName();
+                assertEquals("GET\t/" + className.toLowerCase() + "/base\torg.example.api." + className + "\tgetBase(java.lang.String)\t\t\tquery:name\tjava.lang.String",
+                        route.getDefinition().toString());
+                assertEquals("base name", route.getDispatcher().dispatch(route.getResourceClass().newInstance(), new Object[]{"name"}));
+            }
+            assertNotEquals(routes.get(0).getResourceClass(), routes.get(1).getResourceClass());
+        }
+    }
+
+    @Test
+    public void testIncrementalCompile() throws Exception {
+        File outputDirectory = compile(new Source("org.example.api.Api", API_SOURCE),
+                new Source("org.example.api.Base", BASE_SOURCE),
+                new Source("org.example.api.Impl", IMPL_SOURCE),
+                new Source("org.example.api.UserResource", RESOURCE_SOURCE));
+
+        /**
+         * Only one resource is recompiled, the index should still have the routes of the other one
+         */
+        compile(outputDirectory, new Source("org.example.api.UserResource", RESOURCE_SOURCE));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{outputDirectory.toURI().toURL()}, getClass().getClassLoader())) {
+            List<IndexedRoute> routes = RouteIndexes.load(classLoader, "org.example");
+            assertNotNull(routes);
+            assertEquals(5, routes.size());
+
+            Set<String> resourceClasses = new HashSet<>();
+            for (IndexedRoute route : routes) {
+                resourceClasses.add(route.getResourceClass().getName());
+            }
+            assertEquals(new HashSet<>(Arrays.asList("org.example.api.Impl", "org.example.api.UserResource")), resourceClasses);
+        }
+    }
+}
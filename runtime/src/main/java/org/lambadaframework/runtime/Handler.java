@@ -2,11 +2,13 @@ package org.lambadaframework.runtime;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
-import org.lambadaframework.jaxrs.model.ResourceMethod;
+import org.lambadaframework.runtime.metrics.MetricsRegistry;
+import org.lambadaframework.runtime.metrics.RouteMetrics;
 import org.lambadaframework.runtime.models.Request;
 import org.lambadaframework.runtime.models.Response;
 import org.lambadaframework.runtime.router.Router;
 import org.apache.log4j.Logger;
+import org.lambadaframework.logger.LambdaLogger;
 
 
 public class Handler
@@ -14,6 +16,15 @@ public class Handler
 
     static final Logger logger = Logger.getLogger(Handler.class);
 
+    /**
+     * Lambda initializes the handler class before the first request arrives,
+     * so the container is warmed up here if a package is configured.
+     */
+    static {
+        StartupTimings.startInitialization();
+        Warmup.run();
+    }
+
     private Router router;
 
 
@@ -48,17 +59,66 @@ public class Handler
     @Override
     public Response handleRequest(Request request, Context context) {
 
+        long startTime = System.nanoTime();
+        boolean coldStart = StartupTimings.startInvocation();
+
         try {
-            logger.debug("Request started with " + request + " and " + context);
+            return handle(request, context);
+        } finally {
+            StartupTimings.finishInvocation(coldStart, startTime, context);
+            flushMetrics();
+            /**
+             * Container is frozen once we return, buffered log lines are written now
+             */
+            LambdaLogger.flush();
+        }
+    }
+
+    /**
+     * Flushes the route metrics if the container has been reused long enough
+     */
+    static void flushMetrics() {
+        MetricsRegistry metricsRegistry = MetricsRegistry.getDefault();
+        if (metricsRegistry != null) {
+            metricsRegistry.flushIfDue();
+        }
+    }
+
+    /**
+     * Handles the request without marking an invocation,
+     * for handlers which wrap this one and mark the invocation themselves
+     *
+     * @param request Request
+     * @param context Lambda context
+     * @return Response
+     */
+    Response handle(Request request, Context context) {
+
+        try {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Request started with " + request + " and " + context);
+            }
 
             checkHttpMethod(request);
             logger.debug("Request check is ok.");
 
             logger.debug("Matching request to a resource handler.");
-            ResourceMethod matchedResourceMethod = getRouter().route(request);
+            long startTime = System.nanoTime();
+            InvocationPlan invocationPlan = ResourceMethodInvoker.getInvocationPlan(getRouter(), request);
+            RouteMetrics metrics = invocationPlan.getMetrics();
+            if (metrics != null) {
+                metrics.record(RouteMetrics.Phase.ROUTE, System.nanoTime() - startTime);
+            }
+
+            Object result = invocationPlan.invoke(request, context);
 
             logger.debug("Returning result.");
-            return Response.buildFromJAXRSResponse(ResourceMethodInvoker.invoke(matchedResourceMethod, request, context));
+            long serializationStartTime = System.nanoTime();
+            Response response = Response.buildFromJAXRSResponse(result);
+            if (metrics != null) {
+                metrics.record(RouteMetrics.Phase.SERIALIZE, System.nanoTime() - serializationStartTime);
+            }
+            return response;
         } catch (Exception ex) {
         	logger.fatal(request.toString(), ex);
         	return new Response(502, "Internal Error: Uncaught exception logged by framework.");
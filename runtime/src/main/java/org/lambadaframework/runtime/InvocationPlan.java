@@ -0,0 +1,411 @@
+package org.lambadaframework.runtime;
+
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.apache.log4j.Logger;
+import org.lambadaframework.jaxrs.index.IndexedParameter;
+import org.lambadaframework.jaxrs.index.IndexedRoute;
+import org.lambadaframework.jaxrs.route.Route;
+import org.lambadaframework.runtime.converter.ConverterRegistry;
+import org.lambadaframework.runtime.converter.StringConverter;
+import org.lambadaframework.runtime.lifecycle.InstanceProvider;
+import org.lambadaframework.runtime.lifecycle.InstanceProviders;
+import org.lambadaframework.runtime.metrics.MetricsRegistry;
+import org.lambadaframework.runtime.metrics.RouteMetrics;
+import org.lambadaframework.runtime.models.Request;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.QueryParam;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Invocation plan of a resource method.
+ * <p>
+ * Annotations of the handling method and its parameters are read only once while
+ * the plan is compiled. The plan keeps an ordered array of parameter extractors
+ * and a method handle, so invoking a resource method does not need any annotation
+ * lookup or reflective call. Plans of the routes in a generated route index are
+ * compiled from the index and call the generated dispatcher instead.
+ */
+final class InvocationPlan {
+
+    static final Logger logger = Logger.getLogger(InvocationPlan.class);
+
+    /**
+     * Extracts the value of a parameter from the request
+     */
+    interface ParameterExtractor {
+        Object extract(Request request, Context lambdaContext);
+    }
+
+    /**
+     * Calls the resource method with the extracted arguments
+     */
+    interface Invoker {
+        Object invoke(Object instance, Object[] arguments) throws Throwable;
+    }
+
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private final InstanceProvider instanceProvider;
+
+    private final ParameterExtractor[] parameterExtractors;
+
+    /**
+     * Reader of the JSON body parameter, null if the method does not take a deserialized body
+     */
+    private final ObjectReader bodyReader;
+
+    private final Invoker invoker;
+
+    /**
+     * Latency metrics of the route, null if metrics are not enabled
+     */
+    private final RouteMetrics metrics;
+
+    private InvocationPlan(InstanceProvider instanceProvider,
+                           ParameterExtractor[] parameterExtractors,
+                           ObjectReader bodyReader,
+                           Invoker invoker,
+                           String routeName) {
+        this.instanceProvider = instanceProvider;
+        this.parameterExtractors = parameterExtractors;
+        this.bodyReader = bodyReader;
+        this.invoker = invoker;
+
+        MetricsRegistry metricsRegistry = MetricsRegistry.getDefault();
+        this.metrics = metricsRegistry == null ? null : metricsRegistry.getRouteMetrics(routeName);
+    }
+
+    /**
+     * Compiles the invocation plan of the route
+     *
+     * @param route Route of the resource method
+     * @return Invocation plan
+     * @throws IllegalAccessException   if the handling method is not accessible
+     * @throws InstantiationException   if a singleton resource can not be instantiated
+     * @throws IllegalArgumentException if a parameter can not be handled
+     */
+    static InvocationPlan compile(Route route)
+            throws IllegalAccessException, InstantiationException {
+
+        Method method = route.getMethod();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Invocation plan is being compiled for " + method.toString());
+        }
+
+        Class<?> handlerClass = route.getResourceClass();
+
+        /**
+         * Get consumes annotation from handler method
+         */
+        Consumes consumesAnnotation = method.getAnnotation(Consumes.class);
+
+        Parameter[] parameters = method.getParameters();
+        ParameterExtractor[] parameterExtractors = new ParameterExtractor[parameters.length];
+        ObjectReader bodyReader = null;
+
+        for (int i = 0; i < parameters.length; i++) {
+            parameterExtractors[i] = getParameterExtractor(parameters[i], consumesAnnotation);
+
+            if (bodyReader == null
+                    && isJsonBody(parameters[i], consumesAnnotation)
+                    && parameters[i].getType() != String.class) {
+                bodyReader = JacksonSupport.getReader(parameters[i].getParameterizedType());
+            }
+        }
+
+        MethodHandle methodHandle = getInvoker(method);
+
+        return new InvocationPlan(InstanceProviders.forClass(handlerClass),
+                parameterExtractors,
+                bodyReader,
+                (instance, arguments) -> (Object) methodHandle.invokeExact(instance, arguments),
+                route.getHttpMethod() + " " + route.getPath());
+    }
+
+    /**
+     * Compiles the invocation plan of a route of a generated route index
+     *
+     * @param route Indexed route
+     * @return Invocation plan
+     * @throws IllegalAccessException   if resource class is not accessible
+     * @throws InstantiationException   if a singleton resource can not be instantiated
+     * @throws IllegalArgumentException if a parameter can not be handled
+     */
+    static InvocationPlan compile(IndexedRoute route)
+            throws IllegalAccessException, InstantiationException {
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Invocation plan is being compiled for " + route);
+        }
+
+        List<IndexedParameter> parameters = route.getParameters();
+        ParameterExtractor[] parameterExtractors = new ParameterExtractor[parameters.size()];
+        ObjectReader bodyReader = null;
+
+        for (int i = 0; i < parameterExtractors.length; i++) {
+            IndexedParameter parameter = parameters.get(i);
+            parameterExtractors[i] = getParameterExtractor(parameter);
+
+            if (bodyReader == null
+                    && parameter.getSource() == IndexedParameter.Source.BODY
+                    && parameter.getType() != String.class) {
+                bodyReader = JacksonSupport.getReader(parameter.getGenericType());
+            }
+        }
+
+        return new InvocationPlan(InstanceProviders.forClass(route.getResourceClass()),
+                parameterExtractors,
+                bodyReader,
+                route.getDispatcher()::dispatch,
+                route.getDefinition().getHttpMethod() + " " + route.getDefinition().getPath());
+    }
+
+    private static ParameterExtractor getParameterExtractor(IndexedParameter parameter) {
+
+        switch (parameter.getSource()) {
+            case PATH:
+                return getPathExtractor(parameter.getName(), getConverter(parameter.getType(), parameter.getGenericType(), NO_ANNOTATIONS, parameter.getDefaultValue()));
+            case QUERY:
+                return getQueryExtractor(parameter.getName(), getConverter(parameter.getType(), parameter.getGenericType(), NO_ANNOTATIONS, parameter.getDefaultValue()));
+            case HEADER:
+                return getHeaderExtractor(parameter.getName(), getConverter(parameter.getType(), parameter.getGenericType(), NO_ANNOTATIONS, parameter.getDefaultValue()));
+            case BODY:
+                return getBodyExtractor(parameter.getType(), parameter.getGenericType());
+            case CONTEXT:
+                return (request, lambdaContext) -> lambdaContext;
+            default:
+                throw new IllegalArgumentException("Can't handle parameter source [" + parameter.getSource() + "]");
+        }
+    }
+
+    private static ParameterExtractor getParameterExtractor(Parameter parameter, Consumes consumesAnnotation) {
+
+        Class<?> parameterClass = parameter.getType();
+
+        /**
+         * Path parameter
+         */
+        if (parameter.isAnnotationPresent(PathParam.class)) {
+            return getPathExtractor(parameter.getAnnotation(PathParam.class).value(), getConverter(parameter));
+        }
+
+        /**
+         * Query parameter
+         */
+        if (parameter.isAnnotationPresent(QueryParam.class)) {
+            return getQueryExtractor(parameter.getAnnotation(QueryParam.class).value(), getConverter(parameter));
+        }
+
+        /**
+         * Header parameter
+         */
+        if (parameter.isAnnotationPresent(HeaderParam.class)) {
+            return getHeaderExtractor(parameter.getAnnotation(HeaderParam.class).value(), getConverter(parameter));
+        }
+
+        IndexedParameter.Source source = IndexedParameter.getSource(getConsumedTypes(consumesAnnotation), parameterClass.getName());
+
+        if (source == IndexedParameter.Source.BODY) {
+            return getBodyExtractor(parameterClass, parameter.getParameterizedType());
+        }
+
+        /**
+         * Lambda Context can be automatically injected
+         */
+        if (source == IndexedParameter.Source.CONTEXT) {
+            return (request, lambdaContext) -> lambdaContext;
+        }
+
+        /**
+         * last resort
+         */
+        throw new IllegalArgumentException("Can't handle parameter type [" + parameterClass + "]");
+    }
+
+    private static ParameterExtractor getPathExtractor(String name, StringConverter converter) {
+        return (request, lambdaContext) -> converter.convert(
+                request.getPathParameters().get(name)
+        );
+    }
+
+    private static ParameterExtractor getQueryExtractor(String name, StringConverter converter) {
+        return (request, lambdaContext) -> converter.convert(
+                request.getQueryParams().get(name)
+        );
+    }
+
+    private static ParameterExtractor getHeaderExtractor(String name, StringConverter converter) {
+        return (request, lambdaContext) -> converter.convert(
+                request.getRequestHeaders().get(name)
+        );
+    }
+
+    private static ParameterExtractor getBodyExtractor(Class<?> parameterClass, Type parameterType) {
+        if (parameterClass == String.class) {
+            //Pass raw request body
+            return (request, lambdaContext) -> request.getRequestBody();
+        }
+
+        ObjectReader reader = JacksonSupport.getReader(parameterType);
+        Class<?> entityClass = MethodType.methodType(parameterClass).wrap().returnType();
+        return (request, lambdaContext) -> {
+            if (entityClass.isInstance(request.getRequestEntity())) {
+                //Body is already bound while the request is read
+                return request.getRequestEntity();
+            }
+
+            long startTime = System.nanoTime();
+            try {
+                return reader.readValue(request.getRequestBody());
+            } catch (IOException ioException) {
+                logger.error("Could not serialized " + request.getRequestBody() + " to " + parameterClass + ":", ioException);
+                return null;
+            } finally {
+                StartupTimings.record(StartupTimings.Phase.JACKSON_BIND, System.nanoTime() - startTime);
+            }
+        };
+    }
+
+    /**
+     * Resolves the converter of a path, query or header parameter,
+     * applying its default value when the parameter is not sent.
+     */
+    private static StringConverter getConverter(Parameter parameter) {
+        DefaultValue defaultValue = parameter.getAnnotation(DefaultValue.class);
+        return getConverter(parameter.getType(),
+                parameter.getParameterizedType(),
+                parameter.getAnnotations(),
+                defaultValue == null ? null : defaultValue.value());
+    }
+
+    private static StringConverter getConverter(Class<?> parameterClass,
+                                                Type parameterType,
+                                                Annotation[] annotations,
+                                                String defaultString) {
+        StringConverter converter = ConverterRegistry.resolve(parameterClass, parameterType, annotations);
+
+        if (converter == null) {
+            throw new IllegalArgumentException("Can't convert parameter type [" + parameterType + "]");
+        }
+
+        if (defaultString == null) {
+            return converter;
+        }
+
+        return value -> converter.convert(value == null ? defaultString : value);
+    }
+
+    /**
+     * Parameters without any JAX-RS parameter annotation take the request body,
+     * if the method consumes JSON or plain text
+     */
+    private static boolean isJsonBody(Parameter parameter, Consumes consumesAnnotation) {
+        return !parameter.isAnnotationPresent(PathParam.class)
+                && !parameter.isAnnotationPresent(QueryParam.class)
+                && !parameter.isAnnotationPresent(HeaderParam.class)
+                && IndexedParameter.getSource(getConsumedTypes(consumesAnnotation), parameter.getType().getName()) == IndexedParameter.Source.BODY;
+    }
+
+    private static List<String> getConsumedTypes(Consumes consumesAnnotation) {
+        return consumesAnnotation == null ? Collections.emptyList() : Arrays.asList(consumesAnnotation.value());
+    }
+
+    /**
+     * Creates a method handle that takes the resource instance and an array of
+     * arguments, no matter what the signature of the handling method is.
+     */
+    private static MethodHandle getInvoker(Method method)
+            throws IllegalAccessException {
+
+        MethodHandle methodHandle;
+        try {
+            methodHandle = MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            /**
+             * Method or its class is not public
+             */
+            method.setAccessible(true);
+            methodHandle = MethodHandles.lookup().unreflect(method);
+        }
+
+        if (Modifier.isStatic(method.getModifiers())) {
+            methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+        }
+
+        return methodHandle
+                .asType(methodHandle.type().generic())
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(INVOKER_TYPE);
+    }
+
+    ObjectReader getBodyReader() {
+        return bodyReader;
+    }
+
+    RouteMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Invokes the resource method with the values extracted from the request
+     *
+     * @param request       Request
+     * @param lambdaContext Lambda context
+     * @return Return value of the resource method
+     * @throws InvocationTargetException if resource method throws an exception
+     * @throws IllegalAccessException    if resource class can not be instantiated
+     * @throws InstantiationException    if resource class can not be instantiated
+     */
+    Object invoke(Request request, Context lambdaContext)
+            throws
+            InvocationTargetException,
+            IllegalAccessException,
+            InstantiationException {
+
+        long startTime = System.nanoTime();
+
+        Object[] arguments = new Object[parameterExtractors.length];
+        for (int i = 0; i < parameterExtractors.length; i++) {
+            arguments[i] = parameterExtractors[i].extract(request, lambdaContext);
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Varargs = " + Arrays.toString(arguments));
+        }
+
+        long invocationStartTime = System.nanoTime();
+        Object instance = instanceProvider.acquire();
+        try {
+            return invoker.invoke(instance, arguments);
+        } catch (Throwable throwable) {
+            throw new InvocationTargetException(throwable);
+        } finally {
+            instanceProvider.release(instance);
+
+            if (metrics != null) {
+                metrics.record(RouteMetrics.Phase.BIND, invocationStartTime - startTime);
+                metrics.record(RouteMetrics.Phase.INVOKE, System.nanoTime() - invocationStartTime);
+            }
+        }
+    }
+}
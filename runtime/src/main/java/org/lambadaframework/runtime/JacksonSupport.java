@@ -0,0 +1,54 @@
+package org.lambadaframework.runtime;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Framework wide Jackson configuration.
+ * <p>
+ * ObjectMapper is expensive to construct and it caches the serializers and deserializers
+ * it builds, so a single instance is shared for the lifetime of the container. Readers are
+ * created once per target type and reuse the deserializers warmed up by previous requests.
+ */
+public final class JacksonSupport {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    private static final ObjectWriter writer = objectMapper.writer();
+
+    private JacksonSupport() {
+    }
+
+    public static ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    public static ObjectWriter getWriter() {
+        return writer;
+    }
+
+    /**
+     * Gets the reader for the given type
+     *
+     * @param type Type to bind JSON documents to, generic types are supported
+     * @return Reader
+     */
+    public static ObjectReader getReader(Type type) {
+        ObjectReader reader = readers.get(type);
+        if (reader != null) {
+            return reader;
+        }
+
+        reader = objectMapper.readerFor(objectMapper.getTypeFactory().constructType(type));
+        ObjectReader existingReader = readers.putIfAbsent(type, reader);
+        return existingReader != null ? existingReader : reader;
+    }
+}
@@ -0,0 +1,195 @@
+package org.lambadaframework.runtime;
+
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.apache.log4j.Logger;
+import org.lambadaframework.runtime.models.Request;
+import org.lambadaframework.runtime.router.Router;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the event sent by API Gateway with a streaming parser.
+ * <p>
+ * Request template of API Gateway puts the package, path template and method
+ * before the request body. If the request can be routed by the time the body
+ * is reached, the body is bound straight to the parameter type of the resource
+ * method from the parser's buffer, without creating an intermediate string.
+ * <p>
+ * Headers come after the body, so the body is not bound early when the Content-Type
+ * and Accept headers may route the request to another resource method.
+ */
+final class RequestReader {
+
+    static final Logger logger = Logger.getLogger(RequestReader.class);
+
+    private final Router router;
+
+    RequestReader(Router router) {
+        this.router = router;
+    }
+
+    /**
+     * Reads the request event
+     *
+     * @param inputStream Event stream
+     * @return Request
+     * @throws IOException if the event is not a valid request
+     */
+    Request read(InputStream inputStream)
+            throws IOException {
+
+        Request request = new Request();
+        boolean headersRead = false;
+
+        try (JsonParser parser = JacksonSupport.getObjectMapper().getFactory().createParser(inputStream)) {
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Request event should be a JSON object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                /**
+                 * API Gateway template uses lower case field names
+                 */
+                String fieldName = parser.getCurrentName().toLowerCase(Locale.ENGLISH);
+                parser.nextToken();
+
+                switch (fieldName) {
+                    case "package":
+                        request.setPackage(parser.getValueAsString());
+                        break;
+                    case "pathtemplate":
+                        request.setPathtemplate(parser.getValueAsString());
+                        break;
+                    case "method":
+                        request.setMethod(readMethod(parser));
+                        break;
+                    case "requestbody":
+                        readBody(parser, request, headersRead);
+                        break;
+                    case "path":
+                        request.setPath(readMap(parser));
+                        break;
+                    case "querystring":
+                        request.setQuerystring(readMap(parser));
+                        break;
+                    case "header":
+                        request.setHeader(readMap(parser));
+                        headersRead = true;
+                        break;
+                    case "consumes":
+                        request.setConsumes(parser.getValueAsString());
+                        break;
+                    case "produces":
+                        request.setProduces(parser.getValueAsString());
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+        }
+
+        return request;
+    }
+
+    private Request.RequestMethod readMethod(JsonParser parser)
+            throws IOException {
+        String method = parser.getValueAsString();
+        if (method == null) {
+            return null;
+        }
+
+        try {
+            return Request.RequestMethod.valueOf(method);
+        } catch (IllegalArgumentException e) {
+            throw new JsonParseException(parser, "Unknown request method " + method);
+        }
+    }
+
+    private Map<String, String> readMap(JsonParser parser)
+            throws IOException {
+        if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+
+        Map<String, String> map = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.getCurrentName();
+            parser.nextToken();
+            map.put(key, parser.getValueAsString());
+            parser.skipChildren();
+        }
+        return map;
+    }
+
+    private void readBody(JsonParser parser, Request request, boolean headersRead)
+            throws IOException {
+
+        if (parser.getCurrentToken() != JsonToken.VALUE_STRING) {
+            request.setRequestbody(parser.getValueAsString());
+            parser.skipChildren();
+            return;
+        }
+
+        ObjectReader bodyReader = getBodyReader(request, headersRead);
+
+        if (bodyReader != null) {
+            long startTime = System.nanoTime();
+            try {
+                request.setRequestEntity(bodyReader.readValue(new CharArrayReader(
+                        parser.getTextCharacters(),
+                        parser.getTextOffset(),
+                        parser.getTextLength()
+                )));
+                return;
+            } catch (IOException e) {
+                /**
+                 * Invocation plan reports the binding error with the raw body
+                 */
+                logger.debug("Request body could not be bound while reading the request.");
+            } finally {
+                StartupTimings.record(StartupTimings.Phase.JACKSON_BIND, System.nanoTime() - startTime);
+            }
+        }
+
+        request.setRequestbody(parser.getText());
+    }
+
+    /**
+     * Gets the body reader of the resource method that is going to serve the request
+     *
+     * @param request     Request read so far
+     * @param headersRead true if the headers are already read
+     * @return Body reader or null if request can not be routed yet or does not take a deserialized body
+     */
+    private ObjectReader getBodyReader(Request request, boolean headersRead) {
+        if (request.getPackage() == null || request.getPathTemplate() == null || request.getMethod() == null) {
+            return null;
+        }
+
+        try {
+            if (!headersRead && router.isNegotiated(request)) {
+                /**
+                 * Route depends on the headers which are not read yet
+                 */
+                return null;
+            }
+            return ResourceMethodInvoker.getInvocationPlan(router, request).getBodyReader();
+        } catch (RuntimeException | ReflectiveOperationException e) {
+            /**
+             * Handler reports the routing error
+             */
+            return null;
+        }
+    }
+}
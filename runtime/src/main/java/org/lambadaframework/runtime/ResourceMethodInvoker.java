@@ -2,61 +2,111 @@ package org.lambadaframework.runtime;
 
 
 import com.amazonaws.services.lambda.runtime.Context;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.apache.log4j.Logger;
-import org.glassfish.jersey.server.model.Invocable;
-import org.lambadaframework.jaxrs.model.ResourceMethod;
+import org.lambadaframework.jaxrs.index.IndexedRoute;
+import org.lambadaframework.jaxrs.route.Route;
 import org.lambadaframework.runtime.models.Request;
+import org.lambadaframework.runtime.router.Router;
 
-import javax.ws.rs.Consumes;
-import javax.ws.rs.HeaderParam;
-import javax.ws.rs.PathParam;
-import javax.ws.rs.QueryParam;
-import javax.ws.rs.core.MediaType;
-
-import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ResourceMethodInvoker {
 
 
     static final Logger logger = Logger.getLogger(ResourceMethodInvoker.class);
 
+    /**
+     * Invocation plans compiled so far, keyed by resource class, then by handling method.
+     * Resource classes inheriting the same method are instantiated by their own plans.
+     */
+    private static final Map<Class<?>, Map<Method, InvocationPlan>> invocationPlans = new ConcurrentHashMap<>();
+
+    /**
+     * Invocation plans of the generated route index compiled so far, keyed by route
+     */
+    private static final Map<IndexedRoute, InvocationPlan> indexedInvocationPlans = new ConcurrentHashMap<>();
+
     private ResourceMethodInvoker() {
     }
 
-    private static Object toObject(String value, Class<?> clazz) {
-        if (clazz == Integer.class || Integer.TYPE == clazz) {
-            return Integer.parseInt(value);
-        }
-        if (clazz == Long.class || Long.TYPE == clazz) {
-            return Long.parseLong(value);
-        }
-        if (clazz == Float.class || Float.TYPE == clazz) {
-            return Float.parseFloat(value);
-        }
-        if (clazz == Boolean.class || Boolean.TYPE == clazz) {
-            return Boolean.parseBoolean(value);
+    /**
+     * Gets the invocation plan of the route, compiles it if it is not compiled yet
+     *
+     * @param route Route
+     * @return Invocation plan
+     * @throws IllegalAccessException if the handling method is not accessible
+     * @throws InstantiationException if a singleton resource can not be instantiated
+     */
+    static InvocationPlan getInvocationPlan(Route route)
+            throws IllegalAccessException, InstantiationException {
+
+        Method method = route.getMethod();
+
+        Map<Method, InvocationPlan> plansOfClass = invocationPlans.get(route.getResourceClass());
+        if (plansOfClass == null) {
+            plansOfClass = invocationPlans.computeIfAbsent(route.getResourceClass(), key -> new ConcurrentHashMap<>());
         }
-        if (clazz == Double.class || Double.TYPE == clazz) {
-            return Double.parseDouble(value);
+
+        InvocationPlan invocationPlan = plansOfClass.get(method);
+        if (invocationPlan != null) {
+            return invocationPlan;
         }
-        if (clazz == Byte.class || Byte.TYPE == clazz) {
-            return Byte.parseByte(value);
+
+        long startTime = System.nanoTime();
+        invocationPlan = InvocationPlan.compile(route);
+        StartupTimings.record(StartupTimings.Phase.INVOCATION_PLAN, System.nanoTime() - startTime);
+        InvocationPlan existingPlan = plansOfClass.putIfAbsent(method, invocationPlan);
+        return existingPlan != null ? existingPlan : invocationPlan;
+    }
+
+    /**
+     * Gets the invocation plan of an indexed route, compiles it if it is not compiled yet
+     *
+     * @param route Indexed route
+     * @return Invocation plan
+     * @throws IllegalAccessException if the resource class is not accessible
+     * @throws InstantiationException if a singleton resource can not be instantiated
+     */
+    static InvocationPlan getInvocationPlan(IndexedRoute route)
+            throws IllegalAccessException, InstantiationException {
+
+        InvocationPlan invocationPlan = indexedInvocationPlans.get(route);
+        if (invocationPlan != null) {
+            return invocationPlan;
         }
-        if (clazz == Short.class || Short.TYPE == clazz) {
-            return Short.parseShort(value);
+
+        long startTime = System.nanoTime();
+        invocationPlan = InvocationPlan.compile(route);
+        StartupTimings.record(StartupTimings.Phase.INVOCATION_PLAN, System.nanoTime() - startTime);
+        InvocationPlan existingPlan = indexedInvocationPlans.putIfAbsent(route, invocationPlan);
+        return existingPlan != null ? existingPlan : invocationPlan;
+    }
+
+    /**
+     * Gets the invocation plan to serve the request, generated route index is preferred
+     *
+     * @param router  Router
+     * @param request Request
+     * @return Invocation plan
+     * @throws IllegalAccessException if the resource method is not accessible
+     * @throws InstantiationException if a singleton resource can not be instantiated
+     */
+    static InvocationPlan getInvocationPlan(Router router, Request request)
+            throws IllegalAccessException, InstantiationException {
+
+        IndexedRoute indexedRoute = router.routeIndexed(request);
+        if (indexedRoute != null) {
+            return getInvocationPlan(indexedRoute);
         }
-        return value;
+
+        return getInvocationPlan(router.route(request));
     }
 
-    public static Object invoke(ResourceMethod resourceMethod,
+    public static Object invoke(Router router,
                                 Request request,
                                 Context lambdaContext)
             throws
@@ -64,116 +114,25 @@ public class ResourceMethodInvoker {
             IllegalAccessException,
             InstantiationException {
 
-        logger.debug("Request object is: " + request);
-
-
-        Invocable invocable = resourceMethod.getInvocable();
-
-        Method method = invocable.getHandlingMethod();
-        logger.debug("Method is " + method.toString());
-        
-        Class<?> clazz = invocable.getHandler().getHandlerClass();
-
-        Object instance = clazz.newInstance();
-
-        List<Object> varargs = new ArrayList<>();
-
-
-        /**
-         * Get consumes annotation from handler method
-         */
-        Consumes consumesAnnotation = method.getAnnotation(Consumes.class);
-
-        for (Parameter parameter : method.getParameters()) {
-
-            Class<?> parameterClass = parameter.getType();
-
-            /**
-             * Path parameter
-             */
-            if (parameter.isAnnotationPresent(PathParam.class)) {
-                PathParam annotation = parameter.getAnnotation(PathParam.class);
-                varargs.add(toObject(
-                        request.getPathParameters().get(annotation.value()), parameterClass
-                        )
-                );
-
-            }
-
-
-            /**
-             * Query parameter
-             */
-            else if (parameter.isAnnotationPresent(QueryParam.class)) {
-                QueryParam annotation = parameter.getAnnotation(QueryParam.class);
-                varargs.add(toObject(
-                        request.getQueryParams().get(annotation.value()), parameterClass
-                        )
-                );
-            }
-
-            /**
-             * Query parameter
-             */
-            else if (parameter.isAnnotationPresent(HeaderParam.class)) {
-                HeaderParam annotation = parameter.getAnnotation(HeaderParam.class);
-                varargs.add(toObject(
-                        request.getRequestHeaders().get(annotation.value()), parameterClass
-                        )
-                );
-            }
-
-            /**
-             * text/plain is treated the same as application/json, in order to avoid pre-flight CORS OPTION request
-             * 
-             */
-            else if (consumesAnnotation != null && consumesSpecificType(consumesAnnotation, 
-            			Arrays.asList(MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN))) {
-                if (parameterClass == String.class) {
-                    //Pass raw request body
-                    varargs.add(request.getRequestBody());
-                } else {
-                    ObjectMapper mapper = new ObjectMapper();
-                    try {
-                        Object deserializedParameter = mapper.readValue(request.getRequestBody(), parameterClass);
-                        varargs.add(deserializedParameter);
-                    } catch (IOException ioException) {
-                        logger.error("Could not serialized " + request.getRequestBody() + " to " + parameterClass + ":", ioException);
-                        varargs.add(null);
-                    }
-                }
-            }
-
-
-            /**
-             * Lambda Context can be automatically injected
-             */
-            else if (parameter.getType() == Context.class) {
-                varargs.add(lambdaContext);
-            }
-                        
-            /**
-             * last resort
-             */
-            else {
-            	throw new IllegalArgumentException("Can't handle parameter type [" + parameter.getType() + "]");
-            }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Request object is: " + request);
         }
-        
-        logger.debug("Varargs = " + varargs);
-        
-        return method.invoke(instance, varargs.toArray());
+
+        return getInvocationPlan(router, request).invoke(request, lambdaContext);
     }
 
-    private static boolean consumesSpecificType(Consumes annotation, List<String> types) {
+    public static Object invoke(Route route,
+                                Request request,
+                                Context lambdaContext)
+            throws
+            InvocationTargetException,
+            IllegalAccessException,
+            InstantiationException {
 
-        String[] consumingTypes = annotation.value();
-        for (String consumingType : consumingTypes) {
-            if (types.contains(consumingType)) {
-                return true;
-            }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Request object is: " + request);
         }
 
-        return false;
+        return getInvocationPlan(route).invoke(request, lambdaContext);
     }
 }
@@ -0,0 +1,213 @@
+package org.lambadaframework.runtime;
+
+
+import com.amazonaws.services.lambda.runtime.Context;
+import org.apache.log4j.Logger;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cold start timing breakdown of the container.
+ * <p>
+ * Framework components record the monotonic time they spend in each startup phase.
+ * Durations are summed up until the first invocation of the container completes,
+ * then a single structured line is logged and recording becomes a no-op:
+ * <pre>
+ * LAMBADA_STARTUP {"coldStart":true,"initMs":412.108,"classScanningMs":...,"requestMs":35.271}
+ * </pre>
+ * Phases which were not measured are left out of the line rather than reported as zero.
+ * A line per request can be enabled by the lambda.timings.perRequest system property
+ * or the LAMBADA_TIMINGS_PER_REQUEST environment variable.
+ */
+public final class StartupTimings {
+
+    static final Logger logger = Logger.getLogger(StartupTimings.class);
+
+    /**
+     * System property to log a timing line for every request
+     */
+    public static final String PER_REQUEST_PROPERTY = "lambada.timings.perRequest";
+
+    /**
+     * Environment variable to log a timing line for every request
+     */
+    public static final String PER_REQUEST_ENVIRONMENT_VARIABLE = "LAMBADA_TIMINGS_PER_REQUEST";
+
+    static final String STARTUP_MARKER = "LAMBADA_STARTUP ";
+
+    static final String REQUEST_MARKER = "LAMBADA_REQUEST ";
+
+    public enum Phase {
+        /**
+         * Finding and loading the resource classes
+         */
+        CLASS_SCANNING("classScanningMs"),
+        /**
+         * Building the resource model and the routes
+         */
+        MODEL_BUILDING("modelBuildingMs"),
+        /**
+         * Building the routing tables
+         */
+        ROUTING_TABLE("routingTableMs"),
+        /**
+         * Compiling the invocation plans
+         */
+        INVOCATION_PLAN("invocationPlanMs"),
+        /**
+         * Binding JSON documents to parameter types
+         */
+        JACKSON_BIND("jacksonBindMs"),
+        /**
+         * Writing the responses, only measured by {@link StreamHandler}. Responses of
+         * {@link Handler} are serialized by the Lambda runtime after the handler returns.
+         */
+        RESPONSE_SERIALIZATION("responseSerializationMs");
+
+        private final String fieldName;
+
+        Phase(String fieldName) {
+            this.fieldName = fieldName;
+        }
+
+        public String getFieldName() {
+            return fieldName;
+        }
+    }
+
+    private static final long INITIALIZATION_TIME = System.nanoTime();
+
+    private static final boolean PER_REQUEST = isPerRequestEnabled();
+
+    private static final AtomicLongArray durations = new AtomicLongArray(Phase.values().length);
+
+    private static final AtomicBoolean invoked = new AtomicBoolean();
+
+    private static volatile boolean reported;
+
+    private static volatile long firstInvocationTime;
+
+    private StartupTimings() {
+    }
+
+    /**
+     * Marks the start of the container initialization.
+     * <p>
+     * Initialization time is taken when this class is loaded, so it should be called
+     * before anything else is initialized.
+     */
+    static void startInitialization() {
+        logger.debug("Container initialization started.");
+    }
+
+    private static boolean isPerRequestEnabled() {
+        String perRequest = System.getProperty(PER_REQUEST_PROPERTY);
+        if (perRequest == null) {
+            perRequest = System.getenv(PER_REQUEST_ENVIRONMENT_VARIABLE);
+        }
+        return Boolean.parseBoolean(perRequest);
+    }
+
+    /**
+     * Adds the duration to the phase, nothing is done once the startup is reported
+     *
+     * @param phase    Startup phase
+     * @param duration Monotonic duration in nanoseconds
+     */
+    public static void record(Phase phase, long duration) {
+        if (!reported) {
+            durations.addAndGet(phase.ordinal(), duration);
+        }
+    }
+
+    /**
+     * Gets the duration recorded for the phase so far
+     *
+     * @param phase Startup phase
+     * @return Duration in nanoseconds
+     */
+    public static long getDuration(Phase phase) {
+        return durations.get(phase.ordinal());
+    }
+
+    /**
+     * Marks the start of an invocation
+     *
+     * @return true if this is the first invocation of the container
+     */
+    static boolean startInvocation() {
+        if (invoked.get()) {
+            return false;
+        }
+
+        boolean coldStart = invoked.compareAndSet(false, true);
+        if (coldStart) {
+            firstInvocationTime = System.nanoTime();
+        }
+        return coldStart;
+    }
+
+    /**
+     * Marks the end of an invocation, logs the startup line after the first invocation
+     *
+     * @param coldStart Value returned by {@link #startInvocation()}
+     * @param startTime Monotonic start time of the invocation
+     * @param context   Lambda context, may be null
+     */
+    static void finishInvocation(boolean coldStart, long startTime, Context context) {
+        long requestTime = System.nanoTime() - startTime;
+
+        if (coldStart) {
+            reported = true;
+            logger.info(STARTUP_MARKER + getStartupLine(requestTime, context));
+        } else if (PER_REQUEST) {
+            logger.info(REQUEST_MARKER + getRequestLine(requestTime, context));
+        }
+    }
+
+    static String getStartupLine(long requestTime, Context context) {
+        StringBuilder line = new StringBuilder(256)
+                .append("{\"coldStart\":true");
+
+        appendRequestId(line, context);
+        appendMillis(line, "initMs", firstInvocationTime - INITIALIZATION_TIME);
+
+        for (Phase phase : Phase.values()) {
+            long duration = getDuration(phase);
+            if (duration > 0) {
+                appendMillis(line, phase.getFieldName(), duration);
+            }
+        }
+
+        appendMillis(line, "requestMs", requestTime);
+        return line.append('}').toString();
+    }
+
+    static String getRequestLine(long requestTime, Context context) {
+        StringBuilder line = new StringBuilder(96)
+                .append("{\"coldStart\":false");
+
+        appendRequestId(line, context);
+        appendMillis(line, "requestMs", requestTime);
+        return line.append('}').toString();
+    }
+
+    private static void appendRequestId(StringBuilder line, Context context) {
+        String requestId = context == null ? null : context.getAwsRequestId();
+        if (requestId != null) {
+            /**
+             * Request ids are UUIDs, they do not need escaping
+             */
+            line.append(",\"requestId\":\"").append(requestId).append('"');
+        }
+    }
+
+    private static void appendMillis(StringBuilder line, String fieldName, long nanos) {
+        line.append(",\"")
+                .append(fieldName)
+                .append("\":")
+                .append(String.format(Locale.ROOT, "%.3f", nanos / 1e6));
+    }
+}
@@ -0,0 +1,64 @@
+package org.lambadaframework.runtime;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import org.apache.log4j.Logger;
+import org.lambadaframework.logger.LambdaLogger;
+import org.lambadaframework.runtime.models.Request;
+import org.lambadaframework.runtime.models.Response;
+import org.lambadaframework.runtime.router.Router;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Streaming variant of Handler.
+ * <p>
+ * With Handler, Lambda runtime deserializes the event into Request with its own
+ * mapper and the request body is parsed once more into the parameter type.
+ * This handler reads the event with a streaming parser, binds the body straight
+ * to the parameter type and writes the response straight to the output stream.
+ * <p>
+ * To use it set lambdaHandler to org.lambadaframework.runtime.StreamHandler
+ */
+public class StreamHandler
+        implements RequestStreamHandler {
+
+    static final Logger logger = Logger.getLogger(StreamHandler.class);
+
+    private final Handler handler = new Handler();
+
+    public StreamHandler setRouter(Router router) {
+        handler.setRouter(router);
+        return this;
+    }
+
+    @Override
+    public void handleRequest(InputStream inputStream, OutputStream outputStream, Context context)
+            throws IOException {
+
+        long startTime = System.nanoTime();
+        boolean coldStart = StartupTimings.startInvocation();
+
+        try {
+            Response response;
+
+            try {
+                Request request = new RequestReader(handler.getRouter()).read(inputStream);
+                response = handler.handle(request, context);
+            } catch (IOException ex) {
+                logger.fatal("Request could not be read.", ex);
+                response = new Response(502, "Internal Error: Uncaught exception logged by framework.");
+            }
+
+            long serializationStartTime = System.nanoTime();
+            JacksonSupport.getWriter().writeValue(outputStream, response);
+            StartupTimings.record(StartupTimings.Phase.RESPONSE_SERIALIZATION, System.nanoTime() - serializationStartTime);
+        } finally {
+            StartupTimings.finishInvocation(coldStart, startTime, context);
+            Handler.flushMetrics();
+            LambdaLogger.flush();
+        }
+    }
+}
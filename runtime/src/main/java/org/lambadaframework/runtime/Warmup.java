@@ -0,0 +1,142 @@
+package org.lambadaframework.runtime;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.apache.log4j.Logger;
+import org.lambadaframework.jaxrs.index.IndexedRoute;
+import org.lambadaframework.jaxrs.route.Route;
+import org.lambadaframework.runtime.models.Response;
+import org.lambadaframework.runtime.router.Router;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Warms up the container while Lambda initializes the handler class.
+ * <p>
+ * Without warm-up the first request pays for scanning the package, building the
+ * routing table, compiling the invocation plans and initializing Jackson. Warm-up
+ * is opt-in: it runs only if the package is configured by the lambda.package system
+ * property or the LAMBADA_PACKAGE environment variable.
+ */
+public final class Warmup {
+
+    static final Logger logger = Logger.getLogger(Warmup.class);
+
+    private static final String EMPTY_JSON_OBJECT = "{}";
+
+    private Warmup() {
+    }
+
+    /**
+     * Warms up the container for the configured package.
+     * <p>
+     * It is called from a static initializer, so failures are logged and never thrown.
+     * The same failure is going to be answered by every request instead.
+     */
+    public static void run() {
+        String packageName = Router.getConfiguredPackage();
+        if (packageName == null) {
+            return;
+        }
+
+        Router router;
+        try {
+            router = Router.getRouter();
+        } catch (RuntimeException | LinkageError e) {
+            logger.warn("Container could not be warmed up.", e);
+            return;
+        }
+
+        run(router, packageName);
+    }
+
+    /**
+     * Builds the routing table and every invocation plan from the generated route index,
+     * or scans the package if there is no index,
+     * then exercises the Jackson readers and the response writer.
+     *
+     * @param router      Router
+     * @param packageName Package name, nothing is done if it is null
+     */
+    public static void run(Router router, String packageName) {
+
+        if (packageName == null) {
+            return;
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Warming up the container for package " + packageName);
+        }
+
+        try {
+            int routeCount = warmupIndexedRoutes(router.getIndexedRoutes(packageName));
+
+            if (routeCount == 0) {
+                routeCount = warmupRoutes(router.getRoutes(packageName));
+            }
+
+            /**
+             * Not recorded as response serialization, which is only measured on responses
+             * written for requests. Its cost is part of the initialization time.
+             */
+            JacksonSupport.getWriter().writeValueAsBytes(new Response(200, EMPTY_JSON_OBJECT));
+
+            if (logger.isDebugEnabled()) {
+                logger.debug("Container is warmed up with " + routeCount + " resource methods.");
+            }
+        } catch (IOException | RuntimeException | LinkageError e) {
+            /**
+             * Routes are loaded again by the first request
+             */
+            logger.warn("Container could not be warmed up.", e);
+        }
+    }
+
+    /**
+     * Generated route index is preferred, the package is not scanned if it has routes
+     */
+    private static int warmupIndexedRoutes(List<IndexedRoute> indexedRoutes) {
+        for (IndexedRoute indexedRoute : indexedRoutes) {
+            try {
+                exerciseReader(ResourceMethodInvoker.getInvocationPlan(indexedRoute).getBodyReader());
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                /**
+                 * The same error is going to be thrown when the route is requested
+                 */
+                logger.warn("Invocation plan could not be compiled for " + indexedRoute, e);
+            }
+        }
+        return indexedRoutes.size();
+    }
+
+    private static int warmupRoutes(List<Route> routes) {
+        for (Route route : routes) {
+            try {
+                exerciseReader(ResourceMethodInvoker.getInvocationPlan(route).getBodyReader());
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                /**
+                 * The same error is going to be thrown when the method is requested
+                 */
+                logger.warn("Invocation plan could not be compiled for " + route.getMethod(), e);
+            }
+        }
+        return routes.size();
+    }
+
+    private static void exerciseReader(ObjectReader reader) {
+        if (reader == null) {
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        try {
+            reader.readValue(EMPTY_JSON_OBJECT);
+        } catch (IOException | RuntimeException e) {
+            /**
+             * Not every type can be bound from an empty object,
+             * the deserializers are loaded anyway.
+             */
+        }
+        StartupTimings.record(StartupTimings.Phase.JACKSON_BIND, System.nanoTime() - startTime);
+    }
+}
@@ -0,0 +1,232 @@
+package org.lambadaframework.runtime.converter;
+
+import javax.ws.rs.ext.ParamConverter;
+import javax.ws.rs.ext.ParamConverterProvider;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Resolves the converters of path, query and header parameters.
+ * <p>
+ * Resolution follows the JAX-RS rules and is done once per parameter:
+ * <ol>
+ * <li>Registered ParamConverterProviders, including the ones declared in
+ * META-INF/services/javax.ws.rs.ext.ParamConverterProvider</li>
+ * <li>String, primitive types and their wrappers</li>
+ * <li>Static fromString(String) method, enums included</li>
+ * <li>Static valueOf(String) method</li>
+ * <li>Constructor that takes a single String</li>
+ * <li>Static parse(CharSequence) method, e.g. java.time types</li>
+ * <li>List, Set or SortedSet of any of the above</li>
+ * </ol>
+ */
+public final class ConverterRegistry {
+
+    private static final List<ParamConverterProvider> paramConverterProviders = new CopyOnWriteArrayList<>();
+
+    private static final Map<Class<?>, StringConverter> primitiveConverters = new HashMap<>();
+
+    static {
+        putPrimitive(Integer.class, Integer.TYPE, 0, Integer::valueOf);
+        putPrimitive(Long.class, Long.TYPE, 0L, Long::valueOf);
+        putPrimitive(Float.class, Float.TYPE, 0f, Float::valueOf);
+        putPrimitive(Double.class, Double.TYPE, 0d, Double::valueOf);
+        putPrimitive(Boolean.class, Boolean.TYPE, false, Boolean::valueOf);
+        putPrimitive(Byte.class, Byte.TYPE, (byte) 0, Byte::valueOf);
+        putPrimitive(Short.class, Short.TYPE, (short) 0, Short::valueOf);
+        putPrimitive(Character.class, Character.TYPE, '\u0000', ConverterRegistry::toCharacter);
+        primitiveConverters.put(String.class, value -> value);
+
+        for (ParamConverterProvider provider : ServiceLoader.load(ParamConverterProvider.class)) {
+            paramConverterProviders.add(provider);
+        }
+    }
+
+    private ConverterRegistry() {
+    }
+
+    private static void putPrimitive(Class<?> wrapper,
+                                     Class<?> primitive,
+                                     Object defaultValue,
+                                     StringConverter converter) {
+        primitiveConverters.put(wrapper, value -> value == null ? null : converter.convert(value));
+        primitiveConverters.put(primitive, value -> value == null ? defaultValue : converter.convert(value));
+    }
+
+    private static Character toCharacter(String value) {
+        if (value.length() != 1) {
+            throw new IllegalArgumentException("Expected a single character: " + value);
+        }
+        return value.charAt(0);
+    }
+
+    /**
+     * Registers a ParamConverterProvider, providers registered first take precedence
+     *
+     * @param provider Provider
+     */
+    public static void register(ParamConverterProvider provider) {
+        paramConverterProviders.add(provider);
+    }
+
+    /**
+     * Resolves the converter of a parameter
+     *
+     * @param rawType     Parameter class
+     * @param genericType Parameter type
+     * @param annotations Parameter annotations
+     * @return Converter or null if parameter type can not be converted from a String
+     */
+    public static StringConverter resolve(Class<?> rawType, Type genericType, Annotation[] annotations) {
+
+        StringConverter converter = resolveSingle(rawType, genericType, annotations);
+        if (converter != null) {
+            return converter;
+        }
+
+        Supplier<Collection<Object>> collectionFactory = getCollectionFactory(rawType);
+        if (collectionFactory == null || !(genericType instanceof ParameterizedType)) {
+            return null;
+        }
+
+        Type elementType = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+        Class<?> elementClass = getRawClass(elementType);
+        if (elementClass == null) {
+            return null;
+        }
+
+        StringConverter elementConverter = resolveSingle(elementClass, elementType, annotations);
+        if (elementConverter == null) {
+            return null;
+        }
+
+        /**
+         * API Gateway passes a single value for each parameter
+         */
+        return value -> {
+            Collection<Object> collection = collectionFactory.get();
+            if (value != null) {
+                collection.add(elementConverter.convert(value));
+            }
+            return collection;
+        };
+    }
+
+    private static StringConverter resolveSingle(Class<?> rawType, Type genericType, Annotation[] annotations) {
+
+        for (ParamConverterProvider provider : paramConverterProviders) {
+            ParamConverter<?> paramConverter = provider.getConverter(rawType, genericType, annotations);
+            if (paramConverter != null) {
+                return value -> value == null ? null : paramConverter.fromString(value);
+            }
+        }
+
+        StringConverter converter = primitiveConverters.get(rawType);
+        if (converter != null) {
+            return converter;
+        }
+
+        MethodHandle factoryHandle = getFactory(rawType);
+        if (factoryHandle == null) {
+            return null;
+        }
+
+        MethodHandle factory = factoryHandle.asType(MethodType.methodType(Object.class, String.class));
+
+        return value -> {
+            if (value == null) {
+                return null;
+            }
+
+            try {
+                return (Object) factory.invokeExact(value);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable throwable) {
+                throw new IllegalArgumentException("Could not convert " + value + " to " + rawType, throwable);
+            }
+        };
+    }
+
+    /**
+     * Finds a public static fromString, valueOf or parse method or a public constructor
+     *
+     * @return Method handle of type (String)rawType
+     */
+    private static MethodHandle getFactory(Class<?> rawType) {
+
+        if (rawType.isPrimitive() || rawType.isArray() || !Modifier.isPublic(rawType.getModifiers())) {
+            return null;
+        }
+
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        MethodType fromStringType = MethodType.methodType(rawType, String.class);
+
+        try {
+            return lookup.findStatic(rawType, "fromString", fromStringType);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            //try the next one
+        }
+
+        try {
+            return lookup.findStatic(rawType, "valueOf", fromStringType);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            //try the next one
+        }
+
+        if (!Modifier.isAbstract(rawType.getModifiers())) {
+            try {
+                return lookup.findConstructor(rawType, MethodType.methodType(void.class, String.class));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                //try the next one
+            }
+        }
+
+        try {
+            return lookup.findStatic(rawType, "parse", MethodType.methodType(rawType, CharSequence.class))
+                    .asType(fromStringType);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static Supplier<Collection<Object>> getCollectionFactory(Class<?> rawType) {
+        if (rawType == List.class || rawType == Collection.class) {
+            return ArrayList::new;
+        }
+        if (rawType == Set.class) {
+            return HashSet::new;
+        }
+        if (rawType == SortedSet.class) {
+            return TreeSet::new;
+        }
+        return null;
+    }
+
+    private static Class<?> getRawClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,17 @@
+package org.lambadaframework.runtime.converter;
+
+/**
+ * Converts a path, query or header parameter to the type of the method parameter.
+ * <p>
+ * Converters are resolved once per parameter, converting a value is a single call.
+ */
+@FunctionalInterface
+public interface StringConverter {
+
+    /**
+     * @param value Raw parameter value, null if parameter is not sent
+     * @return Converted value
+     * @throws IllegalArgumentException if the value can not be converted
+     */
+    Object convert(String value);
+}
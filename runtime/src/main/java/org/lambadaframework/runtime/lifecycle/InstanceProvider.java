@@ -0,0 +1,24 @@
+package org.lambadaframework.runtime.lifecycle;
+
+/**
+ * Provides the resource instances to invoke resource methods on
+ */
+public interface InstanceProvider {
+
+    /**
+     * Gets an instance to serve a request
+     *
+     * @return Resource instance
+     * @throws InstantiationException if resource class can not be instantiated
+     * @throws IllegalAccessException if resource class can not be instantiated
+     */
+    Object acquire()
+            throws InstantiationException, IllegalAccessException;
+
+    /**
+     * Gives back an instance after the request is served
+     *
+     * @param instance Resource instance returned by acquire
+     */
+    void release(Object instance);
+}
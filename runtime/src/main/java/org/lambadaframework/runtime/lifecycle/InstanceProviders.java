@@ -0,0 +1,159 @@
+package org.lambadaframework.runtime.lifecycle;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates instance providers according to the lifecycle declared on resource classes
+ */
+public final class InstanceProviders {
+
+    /**
+     * Providers created so far, every resource method of a class shares the provider of the class
+     */
+    private static final Map<Class<?>, InstanceProvider> instanceProviders = new ConcurrentHashMap<>();
+
+    private InstanceProviders() {
+    }
+
+    /**
+     * Gets the instance provider of the resource class, it is created once per class.
+     * <p>
+     * Singletons are instantiated right away, so their cost is paid while the
+     * container is initialized rather than in the first request.
+     *
+     * @param resourceClass Resource class
+     * @return Instance provider
+     * @throws InstantiationException if a singleton can not be instantiated
+     * @throws IllegalAccessException if a singleton can not be instantiated
+     */
+    public static InstanceProvider forClass(Class<?> resourceClass)
+            throws InstantiationException, IllegalAccessException {
+
+        InstanceProvider instanceProvider = instanceProviders.get(resourceClass);
+        if (instanceProvider != null) {
+            return instanceProvider;
+        }
+
+        synchronized (instanceProviders) {
+            /**
+             * Singletons should not be instantiated twice by concurrent callers
+             */
+            instanceProvider = instanceProviders.get(resourceClass);
+            if (instanceProvider == null) {
+                instanceProvider = createProvider(resourceClass);
+                instanceProviders.put(resourceClass, instanceProvider);
+            }
+            return instanceProvider;
+        }
+    }
+
+    private static InstanceProvider createProvider(Class<?> resourceClass)
+            throws InstantiationException, IllegalAccessException {
+
+        Lifecycle lifecycle = resourceClass.getAnnotation(Lifecycle.class);
+
+        if (lifecycle == null) {
+            return new PerRequestProvider(resourceClass);
+        }
+
+        switch (lifecycle.value()) {
+            case SINGLETON:
+                return new SingletonProvider(resourceClass.newInstance());
+            case POOLED:
+                if (lifecycle.poolSize() < 1) {
+                    throw new IllegalArgumentException("Pool size of " + resourceClass + " should be positive");
+                }
+                return new PooledProvider(resourceClass, lifecycle.poolSize());
+            default:
+                return new PerRequestProvider(resourceClass);
+        }
+    }
+
+    static final class PerRequestProvider implements InstanceProvider {
+
+        private final Class<?> resourceClass;
+
+        PerRequestProvider(Class<?> resourceClass) {
+            this.resourceClass = resourceClass;
+        }
+
+        @Override
+        public Object acquire()
+                throws InstantiationException, IllegalAccessException {
+            return resourceClass.newInstance();
+        }
+
+        @Override
+        public void release(Object instance) {
+        }
+    }
+
+    static final class SingletonProvider implements InstanceProvider {
+
+        private final Object instance;
+
+        SingletonProvider(Object instance) {
+            this.instance = instance;
+        }
+
+        @Override
+        public Object acquire() {
+            return instance;
+        }
+
+        @Override
+        public void release(Object instance) {
+        }
+    }
+
+    /**
+     * Keeps at most poolSize idle instances.
+     * <p>
+     * Only idle instances are bounded: if the pool is empty a new instance is created instead
+     * of waiting for one, so concurrent requests never block, and instances released to a full
+     * pool are dropped.
+     */
+    static final class PooledProvider implements InstanceProvider {
+
+        private final Class<?> resourceClass;
+
+        private final int poolSize;
+
+        private final Queue<Object> idleInstances = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger idleCount = new AtomicInteger();
+
+        PooledProvider(Class<?> resourceClass, int poolSize) {
+            this.resourceClass = resourceClass;
+            this.poolSize = poolSize;
+        }
+
+        @Override
+        public Object acquire()
+                throws InstantiationException, IllegalAccessException {
+            Object instance = idleInstances.poll();
+            if (instance != null) {
+                idleCount.decrementAndGet();
+                return instance;
+            }
+            return resourceClass.newInstance();
+        }
+
+        @Override
+        public void release(Object instance) {
+            if (idleCount.incrementAndGet() <= poolSize) {
+                idleInstances.offer(instance);
+            } else {
+                idleCount.decrementAndGet();
+            }
+        }
+
+        int getIdleCount() {
+            return idleCount.get();
+        }
+    }
+}
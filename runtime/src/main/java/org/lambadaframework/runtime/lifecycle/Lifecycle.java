@@ -0,0 +1,56 @@
+package org.lambadaframework.runtime.lifecycle;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how the instances of a resource class are managed.
+ * <p>
+ * Resources without this annotation are instantiated for every request.
+ * <pre>
+ * &#64;Path("/users")
+ * &#64;Lifecycle(Lifecycle.Scope.SINGLETON)
+ * public class UserResource {
+ *     private final AmazonDynamoDB dynamoDB = AmazonDynamoDBClientBuilder.defaultClient();
+ *     ...
+ * }
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Lifecycle {
+
+    enum Scope {
+        /**
+         * One instance per Lambda container shared by every resource method of the class,
+         * created while the first invocation plan of the class is compiled.
+         * The instance should be thread safe if the container serves concurrent requests.
+         */
+        SINGLETON,
+
+        /**
+         * Instances are borrowed from a pool and returned after the request. The pool keeps at
+         * most poolSize idle instances, a new one is created when none is idle, so the number
+         * of live instances is not capped.
+         */
+        POOLED,
+
+        /**
+         * A new instance for every request
+         */
+        PER_REQUEST
+    }
+
+    Scope value() default Scope.PER_REQUEST;
+
+    /**
+     * Maximum number of idle instances kept in the pool, only used by pooled scope
+     *
+     * @return Pool size
+     */
+    int poolSize() default 8;
+}
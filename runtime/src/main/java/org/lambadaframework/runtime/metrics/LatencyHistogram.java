@@ -0,0 +1,138 @@
+package org.lambadaframework.runtime.metrics;
+
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram of fixed size.
+ * <p>
+ * Buckets are log-linear like HDR histograms: every power of two is split into
+ * {@value #SUB_BUCKET_COUNT} linear sub-buckets, so a recorded value is off by at most
+ * 12.5% while the whole range up to 2^33 microseconds fits in {@value #BUCKET_COUNT}
+ * counters. Recording a value is a single atomic increment and never allocates.
+ */
+public final class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 3;
+
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Magnitude of the largest value which has its own bucket, larger values are counted in the last bucket
+     */
+    static final int MAXIMUM_MAGNITUDE = 32;
+
+    static final int BUCKET_COUNT = SUB_BUCKET_COUNT * (MAXIMUM_MAGNITUDE - SUB_BUCKET_BITS + 2);
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Records a value
+     *
+     * @param value Value, negative values are counted as zero
+     */
+    public void record(long value) {
+        counts.incrementAndGet(getBucket(value));
+    }
+
+    /**
+     * Takes a snapshot of the counts and resets them.
+     * <p>
+     * Values recorded concurrently are counted either in this snapshot or in the next one.
+     *
+     * @return Snapshot
+     */
+    public Snapshot drain() {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.getAndSet(i, 0);
+            total += snapshot[i];
+        }
+        return new Snapshot(snapshot, total);
+    }
+
+    static int getBucket(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return value < 0 ? 0 : (int) value;
+        }
+
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return Math.min(SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucket, BUCKET_COUNT - 1);
+    }
+
+    /**
+     * Gets the largest value counted in the bucket
+     */
+    static long getHighestValue(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+
+        int shift = (bucket - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        long subBucket = (bucket - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        return ((SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Counts of a histogram at a point in time
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+
+        private final long count;
+
+        private Snapshot(long[] counts, long count) {
+            this.counts = counts;
+            this.count = count;
+        }
+
+        /**
+         * Number of recorded values
+         *
+         * @return Count
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the value at the percentile
+         *
+         * @param percentile Percentile between 0 and 100
+         * @return Highest value of the bucket the percentile falls in, 0 if nothing is recorded
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return getHighestValue(i);
+                }
+            }
+            return getMaximum();
+        }
+
+        /**
+         * Gets the largest recorded value
+         *
+         * @return Highest value of the last non-empty bucket, 0 if nothing is recorded
+         */
+        public long getMaximum() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] > 0) {
+                    return getHighestValue(i);
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package org.lambadaframework.runtime.metrics;
+
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.apache.log4j.Logger;
+
+import java.io.PrintStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per route latency metrics of the container.
+ * <p>
+ * Requests are recorded into the fixed size histograms of their routes. Once the flush
+ * interval has elapsed, the next request that finishes writes one line per active route in
+ * CloudWatch Embedded Metric Format, with the request count and the p50, p99 and maximum
+ * latency of every phase in microseconds, then the histograms start over. A container that
+ * is never reused never pays for a flush.
+ * <p>
+ * Metrics are disabled unless a CloudWatch namespace is configured by the lambda.metrics.namespace
+ * system property or the LAMBADA_METRICS_NAMESPACE environment variable. The flush interval is
+ * configured in seconds by lambda.metrics.interval or LAMBADA_METRICS_INTERVAL.
+ */
+public final class MetricsRegistry {
+
+    static final Logger logger = Logger.getLogger(MetricsRegistry.class);
+
+    public static final String NAMESPACE_PROPERTY = "lambada.metrics.namespace";
+
+    public static final String NAMESPACE_ENVIRONMENT_VARIABLE = "LAMBADA_METRICS_NAMESPACE";
+
+    public static final String INTERVAL_PROPERTY = "lambada.metrics.interval";
+
+    public static final String INTERVAL_ENVIRONMENT_VARIABLE = "LAMBADA_METRICS_INTERVAL";
+
+    static final long DEFAULT_INTERVAL_SECONDS = 60;
+
+    static final String ROUTE_DIMENSION = "Route";
+
+    static final String REQUESTS_METRIC = "Requests";
+
+    private static final String[] PERCENTILE_SUFFIXES = {"P50", "P99", "Max"};
+
+    private static final double[] PERCENTILES = {50, 99, 100};
+
+    private static final String LINE_PREFIX = "{\"_aws\":{\"Timestamp\":";
+
+    private static final class Holder {
+        private static final MetricsRegistry INSTANCE = createDefault();
+    }
+
+    private final ConcurrentMap<String, RouteMetrics> routeMetrics = new ConcurrentHashMap<>();
+
+    private final PrintStream output;
+
+    private final long interval;
+
+    private final AtomicLong lastFlushTime;
+
+    /**
+     * Everything between the timestamp and the dimension value is the same on every line,
+     * so it is encoded once
+     */
+    private final String lineMetadata;
+
+    /**
+     * Creates a registry
+     *
+     * @param namespace CloudWatch namespace
+     * @param interval  Flush interval in nanoseconds
+     * @param output    Stream to write the metrics to
+     */
+    public MetricsRegistry(String namespace, long interval, PrintStream output) {
+        this.output = output;
+        this.interval = interval;
+        this.lastFlushTime = new AtomicLong(System.nanoTime());
+        this.lineMetadata = ",\"CloudWatchMetrics\":[{\"Namespace\":\""
+                + new String(JsonStringEncoder.getInstance().quoteAsString(namespace))
+                + "\",\"Dimensions\":[[\"" + ROUTE_DIMENSION + "\"]],\"Metrics\":["
+                + getMetricDefinitions()
+                + "]}]},\"" + ROUTE_DIMENSION + "\":";
+    }
+
+    private static String getMetricDefinitions() {
+        StringBuilder definitions = new StringBuilder()
+                .append("{\"Name\":\"").append(REQUESTS_METRIC).append("\",\"Unit\":\"Count\"}");
+
+        for (RouteMetrics.Phase phase : RouteMetrics.Phase.values()) {
+            for (String suffix : PERCENTILE_SUFFIXES) {
+                definitions.append(",{\"Name\":\"")
+                        .append(phase.getMetricName()).append(suffix)
+                        .append("\",\"Unit\":\"Microseconds\"}");
+            }
+        }
+        return definitions.toString();
+    }
+
+    private static MetricsRegistry createDefault() {
+        String namespace = getConfiguration(NAMESPACE_PROPERTY, NAMESPACE_ENVIRONMENT_VARIABLE);
+        if (namespace == null || namespace.isEmpty()) {
+            return null;
+        }
+
+        long interval = DEFAULT_INTERVAL_SECONDS;
+        String configuredInterval = getConfiguration(INTERVAL_PROPERTY, INTERVAL_ENVIRONMENT_VARIABLE);
+        if (configuredInterval != null) {
+            try {
+                interval = Long.parseLong(configuredInterval.trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid metrics interval " + configuredInterval + ", using " + DEFAULT_INTERVAL_SECONDS + " seconds.");
+            }
+        }
+
+        return new MetricsRegistry(namespace, TimeUnit.SECONDS.toNanos(interval), System.out);
+    }
+
+    private static String getConfiguration(String property, String environmentVariable) {
+        String value = System.getProperty(property);
+        if (value == null) {
+            value = System.getenv(environmentVariable);
+        }
+        return value;
+    }
+
+    /**
+     * Gets the registry of the container
+     *
+     * @return Registry or null if metrics are not enabled
+     */
+    public static MetricsRegistry getDefault() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Gets the metrics of the route, creates them if they do not exist yet
+     *
+     * @param name Route name
+     * @return Route metrics
+     */
+    public RouteMetrics getRouteMetrics(String name) {
+        RouteMetrics metrics = routeMetrics.get(name);
+        if (metrics != null) {
+            return metrics;
+        }
+
+        metrics = new RouteMetrics(name);
+        RouteMetrics existingMetrics = routeMetrics.putIfAbsent(name, metrics);
+        return existingMetrics != null ? existingMetrics : metrics;
+    }
+
+    /**
+     * Flushes the metrics if the interval has elapsed since the last flush.
+     * <p>
+     * Only one of the concurrent callers flushes.
+     */
+    public void flushIfDue() {
+        long lastFlush = lastFlushTime.get();
+        long now = System.nanoTime();
+        if (now - lastFlush >= interval && lastFlushTime.compareAndSet(lastFlush, now)) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes a line for every route which has served a request since the last flush
+     */
+    public void flush() {
+        long timestamp = System.currentTimeMillis();
+        for (RouteMetrics metrics : routeMetrics.values()) {
+            String line = getLine(metrics, timestamp);
+            if (line != null) {
+                output.println(line);
+            }
+        }
+        output.flush();
+    }
+
+    String getLine(RouteMetrics metrics, long timestamp) {
+        RouteMetrics.Phase[] phases = RouteMetrics.Phase.values();
+        LatencyHistogram.Snapshot[] snapshots = new LatencyHistogram.Snapshot[phases.length];
+        for (int i = 0; i < phases.length; i++) {
+            snapshots[i] = metrics.getHistogram(phases[i]).drain();
+        }
+
+        long requests = snapshots[RouteMetrics.Phase.ROUTE.ordinal()].getCount();
+        if (requests == 0) {
+            return null;
+        }
+
+        StringBuilder line = new StringBuilder(LINE_PREFIX.length() + lineMetadata.length() + 512)
+                .append(LINE_PREFIX)
+                .append(timestamp)
+                .append(lineMetadata)
+                .append(metrics.getEncodedName())
+                .append(",\"").append(REQUESTS_METRIC).append("\":").append(requests);
+
+        for (int i = 0; i < phases.length; i++) {
+            for (int j = 0; j < PERCENTILES.length; j++) {
+                line.append(",\"")
+                        .append(phases[i].getMetricName()).append(PERCENTILE_SUFFIXES[j])
+                        .append("\":")
+                        .append(snapshots[i].getValueAtPercentile(PERCENTILES[j]));
+            }
+        }
+
+        return line.append('}').toString();
+    }
+}
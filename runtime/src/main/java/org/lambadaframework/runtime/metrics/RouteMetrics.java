@@ -0,0 +1,80 @@
+package org.lambadaframework.runtime.metrics;
+
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+/**
+ * Latency histograms of a route, one for each phase of a request
+ */
+public final class RouteMetrics {
+
+    private static final long NANOSECONDS_PER_MICROSECOND = 1000;
+
+    public enum Phase {
+        /**
+         * Finding the route and its invocation plan
+         */
+        ROUTE("Route"),
+        /**
+         * Extracting the arguments from the request
+         */
+        BIND("Bind"),
+        /**
+         * Calling the resource method
+         */
+        INVOKE("Invoke"),
+        /**
+         * Building the response from the return value
+         */
+        SERIALIZE("Serialize");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    private final String name;
+
+    /**
+     * Name encoded as a JSON string once, it is written on every flush
+     */
+    private final String encodedName;
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[Phase.values().length];
+
+    RouteMetrics(String name) {
+        this.name = name;
+        this.encodedName = '"' + new String(JsonStringEncoder.getInstance().quoteAsString(name)) + '"';
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    String getEncodedName() {
+        return encodedName;
+    }
+
+    /**
+     * Records the duration of a phase
+     *
+     * @param phase    Request phase
+     * @param duration Monotonic duration in nanoseconds
+     */
+    public void record(Phase phase, long duration) {
+        histograms[phase.ordinal()].record(duration / NANOSECONDS_PER_MICROSECOND);
+    }
+
+    LatencyHistogram getHistogram(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+}
@@ -1,5 +1,6 @@
 package org.lambadaframework.runtime.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import javax.ws.rs.core.MediaType;
@@ -15,6 +16,10 @@ import java.util.Map;
  */
 public class Request implements Serializable {
 
+    public static final String CONTENT_TYPE_HEADER = "Content-Type";
+
+    public static final String ACCEPT_HEADER = "Accept";
+
     public enum RequestMethod {
         GET, HEAD, POST, PUT, PATCH, DELETE, OPTIONS, TRACE;
     }
@@ -54,6 +59,11 @@ public class Request implements Serializable {
      */
     protected Map<String, String> requestHeaders;
 
+    /**
+     * Request body already bound to the parameter type of the resource method
+     */
+    protected transient Object requestEntity;
+
     /**
      * Consumed media type
      */
@@ -115,6 +125,17 @@ public class Request implements Serializable {
         return this;
     }
 
+    @JsonIgnore
+    public Object getRequestEntity() {
+        return requestEntity;
+    }
+
+    @JsonIgnore
+    public Request setRequestEntity(Object requestEntity) {
+        this.requestEntity = requestEntity;
+        return this;
+    }
+
     public MediaType getConsumedMediaType() {
         return consumedMediaType;
     }
@@ -166,6 +187,50 @@ public class Request implements Serializable {
         return this;
     }
 
+    /**
+     * Gets a request header, header names are case insensitive
+     *
+     * @param name Header name
+     * @return Header value or null if request does not have the header
+     */
+    public String getHeader(String name) {
+        if (requestHeaders == null) {
+            return null;
+        }
+
+        String value = requestHeaders.get(name);
+        if (value != null) {
+            return value;
+        }
+
+        for (Map.Entry<String, String> entry : requestHeaders.entrySet()) {
+            if (name.equalsIgnoreCase(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the Content-Type header used to negotiate the consumed media type
+     *
+     * @return Header value or null
+     */
+    @JsonIgnore
+    public String getContentType() {
+        return getHeader(CONTENT_TYPE_HEADER);
+    }
+
+    /**
+     * Gets the Accept header used to negotiate the produced media type
+     *
+     * @return Header value or null
+     */
+    @JsonIgnore
+    public String getAccept() {
+        return getHeader(ACCEPT_HEADER);
+    }
+
     @Override
     public String toString() {
         return "Request{" +
@@ -0,0 +1,87 @@
+package org.lambadaframework.runtime.router;
+
+import org.lambadaframework.jaxrs.index.IndexedRoute;
+import org.lambadaframework.jaxrs.route.MediaTypes;
+import org.lambadaframework.jaxrs.route.PathTemplate;
+import org.lambadaframework.runtime.models.Request;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable routing table of a package built from a generated route index.
+ * <p>
+ * Routes are looked up by HTTP method and the path template sent by API Gateway.
+ * Anything else falls back to a route matcher built from the indexed routes, literal
+ * segments taking precedence over template variables, and the candidates are checked
+ * against the regular expressions of their templates. No Jersey model is built for
+ * the routes of the table.
+ * <p>
+ * Path precedence and media type negotiation are shared with {@link RoutingTable},
+ * see {@link RouteNegotiator}.
+ */
+public final class IndexedRoutingTable {
+
+    static final IndexedRoutingTable EMPTY = new IndexedRoutingTable(Collections.emptyList());
+
+    private final List<IndexedRoute> indexedRoutes;
+
+    private final RouteNegotiator<IndexedRoute> routeNegotiator;
+
+    private final Map<IndexedRoute, PathTemplate> pathTemplates = new HashMap<>();
+
+    private final Map<IndexedRoute, MediaTypes> consumedTypes = new HashMap<>();
+
+    private final Map<IndexedRoute, MediaTypes> producedTypes = new HashMap<>();
+
+    public IndexedRoutingTable(List<IndexedRoute> indexedRoutes) {
+        for (IndexedRoute indexedRoute : indexedRoutes) {
+            pathTemplates.put(indexedRoute, PathTemplate.compile(indexedRoute.getDefinition().getPath()));
+            consumedTypes.put(indexedRoute, MediaTypes.parse(indexedRoute.getDefinition().getConsumedTypes()));
+            producedTypes.put(indexedRoute, MediaTypes.parse(indexedRoute.getDefinition().getProducedTypes()));
+        }
+
+        this.indexedRoutes = Collections.unmodifiableList(new ArrayList<>(indexedRoutes));
+        this.routeNegotiator = new RouteNegotiator<>(indexedRoutes,
+                IndexedRoute::getDefinition,
+                consumedTypes::get,
+                producedTypes::get,
+                (request, route) -> pathTemplates.get(route).matches(request.getPathTemplate()));
+    }
+
+    public boolean isEmpty() {
+        return indexedRoutes.isEmpty();
+    }
+
+    /**
+     * Gets all the routes in the table
+     *
+     * @return Routes in index order
+     */
+    public List<IndexedRoute> getRoutes() {
+        return indexedRoutes;
+    }
+
+    /**
+     * Checks if the Content-Type and Accept headers of the request may change its route
+     *
+     * @param request Request
+     * @return true if more than one route is declared on the path template serving the request
+     */
+    public boolean isNegotiated(Request request) {
+        return routeNegotiator.isNegotiated(request);
+    }
+
+    /**
+     * Finds the route to serve the request
+     *
+     * @param request Request
+     * @return Route or null if no route matches
+     */
+    public IndexedRoute route(Request request) {
+        return routeNegotiator.route(request);
+    }
+}
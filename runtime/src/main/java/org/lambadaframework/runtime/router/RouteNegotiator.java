@@ -0,0 +1,204 @@
+package org.lambadaframework.runtime.router;
+
+import org.lambadaframework.jaxrs.model.RouteDefinition;
+import org.lambadaframework.jaxrs.route.MediaRange;
+import org.lambadaframework.jaxrs.route.MediaTypes;
+import org.lambadaframework.jaxrs.route.RouteMatcher;
+import org.lambadaframework.runtime.models.Request;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Route selection shared by the routing tables.
+ * <p>
+ * Path precedence is resolved first: routes are grouped by HTTP method and their path
+ * template, and a request is served by a single template. API Gateway sends the declared
+ * template, so the group is a plain map read. Anything else falls back to the route matcher
+ * whose candidates come literal segments first, the first candidate matching the path wins
+ * and only the routes declared on its template are kept. A literal path such as
+ * <code>/users/me</code> thus always beats <code>/users/{id}</code> whatever the media types.
+ * <p>
+ * Content-Type and Accept headers then choose between the routes of the winning template.
+ * A template with a single route is routed without looking at them. Otherwise the headers
+ * are parsed and the routes which can not consume the content type or produce an accepted
+ * type are skipped, the one with the highest quality and the most specific media types wins.
+ * <p>
+ * Nothing is modified after construction.
+ *
+ * @param <R> Route type
+ */
+final class RouteNegotiator<R> {
+
+    private final Function<R, RouteDefinition> definitions;
+
+    private final Function<R, MediaTypes> consumedTypes;
+
+    private final Function<R, MediaTypes> producedTypes;
+
+    private final BiPredicate<Request, R> pathMatcher;
+
+    private final RouteMatcher<R> routeMatcher;
+
+    /**
+     * Routes indexed by HTTP method, then by path template.
+     * Routes of a template are sorted by their rank for requests without negotiation headers.
+     */
+    private final Map<Request.RequestMethod, Map<String, List<R>>> declaredRoutes;
+
+    /**
+     * Builds the negotiator
+     *
+     * @param routes        Routes, the ones with a method that API Gateway can not send are skipped
+     * @param definitions   Gets the definition of a route
+     * @param consumedTypes Gets the media types a route consumes
+     * @param producedTypes Gets the media types a route produces
+     * @param pathMatcher   Checks if a candidate of the route matcher matches the path of a request
+     */
+    RouteNegotiator(List<R> routes,
+                    Function<R, RouteDefinition> definitions,
+                    Function<R, MediaTypes> consumedTypes,
+                    Function<R, MediaTypes> producedTypes,
+                    BiPredicate<Request, R> pathMatcher) {
+        this.definitions = definitions;
+        this.consumedTypes = consumedTypes;
+        this.producedTypes = producedTypes;
+        this.pathMatcher = pathMatcher;
+
+        Map<Request.RequestMethod, Map<String, List<R>>> declaredRoutes = new EnumMap<>(Request.RequestMethod.class);
+        for (Request.RequestMethod requestMethod : Request.RequestMethod.values()) {
+            declaredRoutes.put(requestMethod, new HashMap<>());
+        }
+
+        List<R> matchedRoutes = new ArrayList<>();
+        for (R route : routes) {
+            RouteDefinition definition = definitions.apply(route);
+
+            Request.RequestMethod requestMethod;
+            try {
+                requestMethod = Request.RequestMethod.valueOf(definition.getHttpMethod());
+            } catch (IllegalArgumentException e) {
+                /**
+                 * Not a method that API Gateway can send us
+                 */
+                continue;
+            }
+
+            matchedRoutes.add(route);
+            declaredRoutes.get(requestMethod)
+                    .computeIfAbsent(definition.getPath().intern(), key -> new ArrayList<>(1))
+                    .add(route);
+        }
+
+        List<MediaRange> acceptAny = MediaRange.parseAccept(null);
+        for (Map.Entry<Request.RequestMethod, Map<String, List<R>>> entry : declaredRoutes.entrySet()) {
+            for (Map.Entry<String, List<R>> routesOfPath : entry.getValue().entrySet()) {
+                /**
+                 * Sort is stable, on equal ranks the route declared first stays first
+                 */
+                List<R> sorted = new ArrayList<>(routesOfPath.getValue());
+                sorted.sort(Comparator.comparingInt((R route) -> negotiate(route, null, acceptAny)).reversed());
+                routesOfPath.setValue(Collections.unmodifiableList(sorted));
+            }
+            entry.setValue(Collections.unmodifiableMap(entry.getValue()));
+        }
+
+        this.declaredRoutes = Collections.unmodifiableMap(declaredRoutes);
+        this.routeMatcher = new RouteMatcher<>(matchedRoutes, definitions);
+    }
+
+    /**
+     * Checks if the Content-Type and Accept headers of the request may change its route
+     *
+     * @param request Request
+     * @return true if more than one route is declared on the path template serving the request
+     */
+    boolean isNegotiated(Request request) {
+        if (request.getMethod() == null || request.getPathTemplate() == null) {
+            return false;
+        }
+
+        List<R> candidates = declaredRoutes.get(request.getMethod()).get(request.getPathTemplate());
+        if (candidates == null) {
+            candidates = resolve(request);
+        }
+        return candidates.size() > 1;
+    }
+
+    /**
+     * Finds the route to serve the request
+     *
+     * @param request Request
+     * @return Route or null if no route matches
+     */
+    R route(Request request) {
+        if (request.getMethod() == null || request.getPathTemplate() == null) {
+            return null;
+        }
+
+        List<R> candidates = declaredRoutes.get(request.getMethod()).get(request.getPathTemplate());
+        if (candidates == null) {
+            candidates = resolve(request);
+        }
+
+        if (candidates.size() <= 1) {
+            return candidates.isEmpty() ? null : candidates.get(0);
+        }
+
+        String contentType = request.getContentType();
+        String accept = request.getAccept();
+        if (contentType == null && accept == null) {
+            return candidates.get(0);
+        }
+
+        return negotiate(candidates, MediaRange.parse(contentType), MediaRange.parseAccept(accept));
+    }
+
+    /**
+     * Matches a concrete path, the sorted routes of the first matching template are kept
+     */
+    private List<R> resolve(Request request) {
+        String winningPath = null;
+        for (R candidate : routeMatcher.find(request.getPathTemplate(), request.getMethod().name())) {
+            if (pathMatcher.test(request, candidate)) {
+                winningPath = definitions.apply(candidate).getPath();
+                break;
+            }
+        }
+
+        if (winningPath == null) {
+            return Collections.emptyList();
+        }
+
+        List<R> candidates = declaredRoutes.get(request.getMethod()).get(winningPath);
+        return candidates == null ? Collections.emptyList() : candidates;
+    }
+
+    private int negotiate(R route, MediaRange contentType, List<MediaRange> acceptedTypes) {
+        return MediaTypes.negotiate(consumedTypes.apply(route), producedTypes.apply(route), contentType, acceptedTypes);
+    }
+
+    /**
+     * Media types rank the candidates, on equal ranks the candidate found first wins
+     */
+    private R negotiate(List<R> candidates, MediaRange contentType, List<MediaRange> acceptedTypes) {
+        R foundRoute = null;
+        int foundRank = -1;
+
+        for (R candidate : candidates) {
+            int rank = negotiate(candidate, contentType, acceptedTypes);
+            if (rank > foundRank) {
+                foundRoute = candidate;
+                foundRank = rank;
+            }
+        }
+        return foundRoute;
+    }
+}
@@ -2,16 +2,23 @@ package org.lambadaframework.runtime.router;
 
 import org.apache.log4j.Logger;
 import org.lambadaframework.jaxrs.JAXRSParser;
+import org.lambadaframework.jaxrs.RouteManifest;
+import org.lambadaframework.jaxrs.index.IndexedRoute;
+import org.lambadaframework.jaxrs.index.RouteIndexes;
 import org.lambadaframework.jaxrs.model.Resource;
 import org.lambadaframework.jaxrs.model.ResourceMethod;
+import org.lambadaframework.jaxrs.model.RouteDefinition;
+import org.lambadaframework.jaxrs.route.Route;
+import org.lambadaframework.runtime.StartupTimings;
 import org.lambadaframework.runtime.models.Request;
-import org.lambadaframework.runtime.router.types.*;
 
 import javax.ws.rs.NotFoundException;
-import java.util.LinkedList;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Router class decides which method to call
@@ -21,21 +28,52 @@ public final class Router {
 
     static final Logger logger = Logger.getLogger(Router.class);
 
-    private static Router singletonInstance = null;
+    /**
+     * System property to set the package to be scanned while the container is warmed up
+     */
+    public static final String PACKAGE_PROPERTY = "lambada.package";
 
-    private Map<String, List<Resource>> resourceMap = new ConcurrentHashMap<>();
+    /**
+     * Environment variable to set the package to be scanned while the container is warmed up
+     */
+    public static final String PACKAGE_ENVIRONMENT_VARIABLE = "LAMBADA_PACKAGE";
 
-    private Map<String, ResourceMethod> routingCache = new ConcurrentHashMap<>();
+    /**
+     * Immutable map of package names to routing tables.
+     * <p>
+     * It is never modified, a new map is published instead when a package is added.
+     */
+    private volatile Map<String, RoutingTable> routingTables = Collections.emptyMap();
 
-    private List<RouterType> routerTypes = new LinkedList<>();
+    /**
+     * Immutable map of package names to the routing tables of generated route indexes,
+     * published the same way as the routing tables.
+     */
+    private volatile Map<String, IndexedRoutingTable> indexedRoutingTables = Collections.emptyMap();
 
     JAXRSParser jaxrsParser;
 
     public Router setJaxrsParser(JAXRSParser jaxrsParser) {
-        this.jaxrsParser = jaxrsParser;
+        synchronized (this) {
+            this.jaxrsParser = jaxrsParser;
+            routingTables = Collections.emptyMap();
+            indexedRoutingTables = Collections.emptyMap();
+        }
         return this;
     }
 
+    /**
+     * Holder of the singleton instance.
+     * <p>
+     * JVM initializes the holder class only once and publishes its static fields safely.
+     * Routes are not loaded here: a failure in a static initializer would make the router
+     * unusable for the life of the container, so routing tables are built by the warm-up
+     * or by the first request, and a failed build is retried by the next request.
+     */
+    private static final class Holder {
+        private static final Router INSTANCE = new Router();
+    }
+
     /**
      * Gets the singleton instance
      * <p>
@@ -45,25 +83,40 @@ public final class Router {
      * @return Router
      */
     public static Router getRouter() {
-        if (singletonInstance != null) {
-            logger.debug("Singleton router is being returned.");
-            return singletonInstance;
-        }
-
-        return singletonInstance = new Router();
+        return Holder.INSTANCE;
     }
 
     private Router() {
         logger.debug("Router is being initialized.");
         jaxrsParser = new JAXRSParser();
-        addRouterTypes();
     }
 
-    private void addRouterTypes() {
-        logger.debug("Adding router types.");
-        routerTypes.add(new Path());
-        routerTypes.add(new Method());
-        logger.debug("Router types are added.");
+    /**
+     * Gets the package name configured by system property or environment variable
+     *
+     * @return Package name or null if it is not configured
+     */
+    public static String getConfiguredPackage() {
+        String packageName = System.getProperty(PACKAGE_PROPERTY);
+        if (packageName == null) {
+            packageName = System.getenv(PACKAGE_ENVIRONMENT_VARIABLE);
+        }
+        return packageName;
+    }
+
+    /**
+     * Builds the routing table of the package in advance.
+     * <p>
+     * If a generated route index has the routes of the package, the package is not scanned.
+     *
+     * @param packageName Package name to scan, nothing is done if it is null
+     * @return this
+     */
+    public Router initialize(String packageName) {
+        if (packageName != null && getIndexedRoutingTable(packageName).isEmpty()) {
+            getRoutingTable(packageName);
+        }
+        return this;
     }
 
 
@@ -75,71 +128,280 @@ public final class Router {
      */
     protected List<Resource> getJAXRSResourcesFromPackage(String packageName) {
 
-        logger.debug("Package is being scanned: " + packageName);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Package is being scanned: " + packageName);
+        }
+        JAXRSParser jaxrsParser = this.jaxrsParser.withPackageName(packageName, Router.class);
+        List<Resource> foundResources = jaxrsParser.scan();
+        StartupTimings.record(StartupTimings.Phase.CLASS_SCANNING, jaxrsParser.getClassScanTime());
+        StartupTimings.record(StartupTimings.Phase.MODEL_BUILDING, jaxrsParser.getModelBuildTime());
+        if (logger.isDebugEnabled()) {
+            logger.debug(foundResources.size() + " resources found.");
+        }
+        return foundResources;
+    }
+
+
+    /**
+     * Loads the routes of the package from the route manifest without building the Jersey model.
+     * <p>
+     * Resource classes and methods are resolved by name, they are not initialized until
+     * they are invoked.
+     *
+     * @param packageName Package name
+     * @return Routes or null if there is no route manifest on the classpath or it does not define any route in the package
+     */
+    protected List<Route> getRoutesFromManifest(String packageName) {
+
+        long startTime = System.nanoTime();
+        List<RouteDefinition> routeDefinitions;
+        try {
+            routeDefinitions = RouteManifest.load(Router.class.getClassLoader());
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Route manifest could not be read, package is going to be scanned.", e);
+            return null;
+        }
 
-        if (null != resourceMap.get(packageName)) {
+        long modelStartTime = System.nanoTime();
+        StartupTimings.record(StartupTimings.Phase.CLASS_SCANNING, modelStartTime - startTime);
+
+        if (routeDefinitions == null) {
+            return null;
+        }
+
+        List<Route> routes = getRoutesFromManifest(packageName, routeDefinitions);
+        StartupTimings.record(StartupTimings.Phase.MODEL_BUILDING, System.nanoTime() - modelStartTime);
+        return routes;
+    }
+
+    /**
+     * Resolves the route definitions of the package
+     *
+     * @param packageName      Package name
+     * @param routeDefinitions Route definitions of the manifest
+     * @return Routes or null if the manifest does not define any route in the package or it is stale
+     */
+    List<Route> getRoutesFromManifest(String packageName, List<RouteDefinition> routeDefinitions) {
+        String packagePrefix = packageName + ".";
+        List<Route> routes = new ArrayList<>();
+        for (RouteDefinition routeDefinition : routeDefinitions) {
+            String routePackage = routeDefinition.getPackageName();
+            if (!routePackage.equals(packageName) && !routePackage.startsWith(packagePrefix)) {
+                continue;
+            }
+
+            try {
+                routes.add(Route.from(routeDefinition, Router.class.getClassLoader()));
+            } catch (ReflectiveOperationException e) {
+                logger.warn("Route manifest is stale, package is going to be scanned.", e);
+                return null;
+            }
+        }
+
+        if (routes.isEmpty()) {
             /**
-             * This package is already scanned,
-             * so return cached values
+             * Manifest may belong to another artifact on the classpath
              */
-            logger.debug("Returning cached resource map.");
-            return resourceMap.get(packageName);
+            logger.warn("Route manifest does not define any route in " + packageName + ", package is going to be scanned.");
+            return null;
         }
 
-        logger.debug("Cached resource map not found. Scanning package.");
-        JAXRSParser jaxrsParser = this.jaxrsParser.withPackageName(packageName, Router.class);
-        List<Resource> foundResources = jaxrsParser.scan();
-        resourceMap.put(packageName, foundResources);
-        logger.debug(foundResources.size() + " resources found.");
-        return foundResources;
+        if (logger.isDebugEnabled()) {
+            logger.debug(routes.size() + " routes loaded from route manifest.");
+        }
+        return routes;
+    }
+
+    /**
+     * Gets the routes of the package from the route manifest,
+     * scans the package if there is no manifest.
+     *
+     * @param packageName Package name
+     * @return Routes
+     */
+    protected List<Route> getRoutesFromPackage(String packageName) {
+
+        List<Route> routes = getRoutesFromManifest(packageName);
+        if (routes != null) {
+            return routes;
+        }
+
+        List<Resource> resources = getJAXRSResourcesFromPackage(packageName);
+
+        long startTime = System.nanoTime();
+        routes = new ArrayList<>();
+        for (Resource resource : resources) {
+            for (ResourceMethod resourceMethod : resource.getResourceMethods()) {
+                routes.add(resourceMethod.toRoute());
+            }
+        }
+        StartupTimings.record(StartupTimings.Phase.MODEL_BUILDING, System.nanoTime() - startTime);
+        return routes;
     }
 
 
-    private boolean isResourceMapMatches(Request request, ResourceMethod resourceMethod) {
-        for (RouterType router : routerTypes) {
-            if (!router.isMatching(request, resourceMethod)) {
-                return false;
+    /**
+     * Gets the routing table of the package, loads the routes of the package
+     * and builds the table if it is not built yet.
+     *
+     * @param packageName Package name
+     * @return Routing table
+     */
+    protected RoutingTable getRoutingTable(String packageName) {
+
+        RoutingTable routingTable = routingTables.get(packageName);
+
+        if (routingTable != null) {
+            return routingTable;
+        }
+
+        synchronized (this) {
+            routingTable = routingTables.get(packageName);
+            if (routingTable != null) {
+                return routingTable;
+            }
+
+            logger.debug("Routing table not found. Loading routes of the package.");
+            List<Route> routes = getRoutesFromPackage(packageName);
+
+            long startTime = System.nanoTime();
+            routingTable = new RoutingTable(routes);
+            StartupTimings.record(StartupTimings.Phase.ROUTING_TABLE, System.nanoTime() - startTime);
+
+            Map<String, RoutingTable> newRoutingTables = new HashMap<>(routingTables);
+            newRoutingTables.put(packageName, routingTable);
+            routingTables = Collections.unmodifiableMap(newRoutingTables);
+
+            if (logger.isDebugEnabled()) {
+                logger.debug("Routing table is built with " + routingTable.size() + " routes.");
             }
+            return routingTable;
         }
-        return true;
     }
 
+    /**
+     * Gets the routing table of the generated route indexes for the package
+     *
+     * @param packageName Package name
+     * @return Routing table, empty if no generated index has a route in the package
+     */
+    protected IndexedRoutingTable getIndexedRoutingTable(String packageName) {
+
+        IndexedRoutingTable indexedRoutingTable = indexedRoutingTables.get(packageName);
+
+        if (indexedRoutingTable != null) {
+            return indexedRoutingTable;
+        }
+
+        synchronized (this) {
+            indexedRoutingTable = indexedRoutingTables.get(packageName);
+            if (indexedRoutingTable != null) {
+                return indexedRoutingTable;
+            }
+
+            long startTime = System.nanoTime();
+            List<IndexedRoute> indexedRoutes = RouteIndexes.load(Router.class.getClassLoader(), packageName);
+            indexedRoutingTable = indexedRoutes == null ? IndexedRoutingTable.EMPTY : new IndexedRoutingTable(indexedRoutes);
+            StartupTimings.record(StartupTimings.Phase.ROUTING_TABLE, System.nanoTime() - startTime);
+
+            Map<String, IndexedRoutingTable> newIndexedRoutingTables = new HashMap<>(indexedRoutingTables);
+            newIndexedRoutingTables.put(packageName, indexedRoutingTable);
+            indexedRoutingTables = Collections.unmodifiableMap(newIndexedRoutingTables);
+
+            if (logger.isDebugEnabled()) {
+                logger.debug("Generated route index has " + indexedRoutingTable.getRoutes().size() + " routes.");
+            }
+            return indexedRoutingTable;
+        }
+    }
+
+    /**
+     * Gets the routes of the package from the generated route indexes
+     *
+     * @param packageName Package name
+     * @return Routes, empty if no generated index has a route in the package
+     */
+    public List<IndexedRoute> getIndexedRoutes(String packageName) {
+        return getIndexedRoutingTable(packageName).getRoutes();
+    }
 
-    private String calculateCacheKeyForRequest(Request request) {
-        return request.getPathTemplate() + "-" +
-                request.getMethod();
+    /**
+     * Gets all the routes of the package
+     *
+     * @param packageName Package name
+     * @return Routes
+     */
+    public List<Route> getRoutes(String packageName) {
+        return getRoutingTable(packageName).getRoutes();
     }
 
-    public ResourceMethod route(Request request)
+    /**
+     * Finds the route to serve the request in the generated route indexes.
+     * <p>
+     * Generated indexes are preferred to scanning, Jersey model is not built for their routes.
+     *
+     * @param request Request
+     * @return Route or null if there is no generated index for the request's package
+     * @throws NotFoundException if the index does not have a matching route
+     */
+    public IndexedRoute routeIndexed(Request request)
             throws NotFoundException {
 
         if (request.getPackage() == null) {
-            throw new NotFoundException("Request should have package attribute");
+            return null;
+        }
+
+        IndexedRoutingTable indexedRoutingTable = getIndexedRoutingTable(request.getPackage());
+        if (indexedRoutingTable.isEmpty()) {
+            return null;
         }
 
-        String cacheKey = calculateCacheKeyForRequest(request);
-        ResourceMethod foundMethod;
+        IndexedRoute foundRoute = indexedRoutingTable.route(request);
 
-        logger.debug("Matching request with a corresponding resource method.");
+        if (foundRoute == null) {
+            throw new NotFoundException();
+        }
 
+        return foundRoute;
+    }
 
-        if ((foundMethod = routingCache.get(cacheKey)) != null) {
-            logger.debug("Request is already cached: " + foundMethod.getClass().toString());
-            return foundMethod;
+    /**
+     * Checks if the Content-Type and Accept headers of the request may change its route
+     *
+     * @param request Request
+     * @return true if more than one route is declared on the path and HTTP method of the request
+     */
+    public boolean isNegotiated(Request request) {
+        if (request.getPackage() == null) {
+            return false;
         }
 
-        List<Resource> foundResources = getJAXRSResourcesFromPackage(request.getPackage());
+        IndexedRoutingTable indexedRoutingTable = getIndexedRoutingTable(request.getPackage());
+        if (!indexedRoutingTable.isEmpty()) {
+            return indexedRoutingTable.isNegotiated(request);
+        }
 
-        for (Resource resource : foundResources) {
-            for (ResourceMethod resourceMethod : resource.getResourceMethods()) {
-                if (isResourceMapMatches(request, resourceMethod)) {
-                    logger.debug("Match complete: " + resourceMethod.getClass().toString());
-                    routingCache.put(cacheKey, resourceMethod);
-                    return resourceMethod;
-                }
-            }
+        return getRoutingTable(request.getPackage()).isNegotiated(request);
+    }
+
+    public Route route(Request request)
+            throws NotFoundException {
+
+        if (request.getPackage() == null) {
+            throw new NotFoundException("Request should have package attribute");
+        }
+
+        logger.debug("Matching request with a corresponding route.");
+
+        Route foundRoute = getRoutingTable(request.getPackage()).route(request);
+
+        if (foundRoute == null) {
+            throw new NotFoundException();
         }
 
-        throw new NotFoundException();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Match complete: " + foundRoute);
+        }
+        return foundRoute;
     }
 }
@@ -0,0 +1,97 @@
+package org.lambadaframework.runtime.router;
+
+import org.lambadaframework.jaxrs.route.Route;
+import org.lambadaframework.runtime.models.Request;
+import org.lambadaframework.runtime.router.types.Method;
+import org.lambadaframework.runtime.router.types.Path;
+import org.lambadaframework.runtime.router.types.RouterType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable routing table of a package.
+ * <p>
+ * The table is completely built in its constructor: the route matcher is built
+ * and the routes are grouped by HTTP method and path template in advance. API Gateway
+ * sends the declared resource path as the request's path template, so routing a request
+ * is a plain map read. Anything else falls back to the route matcher and is not cached,
+ * so the table never grows beyond the declared routes. Router types have the final say
+ * on the candidates of the matcher.
+ * <p>
+ * Path precedence and media type negotiation are shared with {@link IndexedRoutingTable},
+ * see {@link RouteNegotiator}.
+ * <p>
+ * Nothing is modified after construction, thus a table can be shared between threads
+ * once it is safely published.
+ */
+public final class RoutingTable {
+
+    private final List<RouterType> routerTypes;
+
+    private final RouteNegotiator<Route> routeNegotiator;
+
+    private final List<Route> routes;
+
+    public RoutingTable(List<Route> routes) {
+        List<RouterType> routerTypes = new ArrayList<>();
+        routerTypes.add(new Path());
+        routerTypes.add(new Method());
+
+        this.routerTypes = Collections.unmodifiableList(routerTypes);
+        this.routes = Collections.unmodifiableList(new ArrayList<>(routes));
+        this.routeNegotiator = new RouteNegotiator<>(routes,
+                Route::getDefinition,
+                Route::getConsumedTypes,
+                Route::getProducedTypes,
+                this::isRouteMatches);
+    }
+
+    private boolean isRouteMatches(Request request, Route route) {
+        for (RouterType router : routerTypes) {
+            if (!router.isMatching(request, route)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Number of routes in the table
+     *
+     * @return Size
+     */
+    public int size() {
+        return routes.size();
+    }
+
+    /**
+     * Gets all the routes in the table
+     *
+     * @return Routes in declaration order
+     */
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    /**
+     * Checks if the Content-Type and Accept headers of the request may change its route
+     *
+     * @param request Request
+     * @return true if more than one route is declared on the path template serving the request
+     */
+    public boolean isNegotiated(Request request) {
+        return routeNegotiator.isNegotiated(request);
+    }
+
+    /**
+     * Finds the route to serve the request
+     *
+     * @param request Request
+     * @return Route or null if no route matches
+     */
+    public Route route(Request request) {
+        return routeNegotiator.route(request);
+    }
+}
@@ -1,13 +1,13 @@
 package org.lambadaframework.runtime.router.types;
 
 
-import org.lambadaframework.jaxrs.model.ResourceMethod;
+import org.lambadaframework.jaxrs.route.Route;
 import org.lambadaframework.runtime.models.Request;
 
 public class Method implements RouterType {
 
     @Override
-    public boolean isMatching(Request request, ResourceMethod resourceMethod) {
-        return resourceMethod.getHttpMethod().equals(request.getMethod().name());
+    public boolean isMatching(Request request, Route route) {
+        return route.getHttpMethod().equals(request.getMethod().name());
     }
 }
@@ -1,23 +1,16 @@
 package org.lambadaframework.runtime.router.types;
 
 
-import org.glassfish.jersey.uri.UriTemplate;
-import org.lambadaframework.jaxrs.model.Resource;
-import org.lambadaframework.jaxrs.model.ResourceMethod;
+import org.lambadaframework.jaxrs.route.Route;
 import org.lambadaframework.runtime.models.Request;
 
-import java.util.HashMap;
-
 public class Path implements RouterType {
 
+    /**
+     * Path template of the route is compiled once when the route is built
+     */
     @Override
-    public boolean isMatching(Request request, ResourceMethod resourceMethod) {
-        Resource resource = resourceMethod.getParent();
-
-        try {
-            return new UriTemplate(resource.getPath()).match(request.getPathTemplate(), new HashMap<>());
-        } catch (NullPointerException e) {
-            return false;
-        }
+    public boolean isMatching(Request request, Route route) {
+        return route.getPathTemplate().matches(request.getPathTemplate());
     }
 }
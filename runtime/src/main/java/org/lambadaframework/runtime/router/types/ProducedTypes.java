@@ -1,12 +0,0 @@
-package org.lambadaframework.runtime.router.types;
-
-
-import org.lambadaframework.jaxrs.model.ResourceMethod;
-import org.lambadaframework.runtime.models.Request;
-
-public class ProducedTypes implements RouterType {
-    @Override
-    public boolean isMatching(Request request, ResourceMethod resourceMethod) {
-        return resourceMethod.getProducedTypes().contains(request.getProducedMediaType());
-    }
-}
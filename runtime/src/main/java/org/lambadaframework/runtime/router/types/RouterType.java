@@ -1,10 +1,10 @@
 package org.lambadaframework.runtime.router.types;
 
 
-import org.lambadaframework.jaxrs.model.ResourceMethod;
+import org.lambadaframework.jaxrs.route.Route;
 import org.lambadaframework.runtime.models.Request;
 
 public interface RouterType {
 
-    boolean isMatching(Request request, ResourceMethod resourceMethod);
+    boolean isMatching(Request request, Route route);
 }
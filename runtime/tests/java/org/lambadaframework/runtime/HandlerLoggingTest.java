@@ -0,0 +1,133 @@
+package org.lambadaframework.runtime;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.lambadaframework.jaxrs.JAXRSParser;
+import org.lambadaframework.runtime.models.Request;
+import org.lambadaframework.runtime.models.Response;
+import org.lambadaframework.runtime.router.Router;
+import org.lambadaframework.stubs.StubHandler;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class HandlerLoggingTest {
+
+    private static final int REQUEST_COUNT = 100;
+
+    private static final int LARGE_BODY_SIZE = 64 * 1024;
+
+    private static class CountingRequest extends Request {
+
+        private int renderCount;
+
+        @Override
+        public String toString() {
+            renderCount++;
+            return super.toString();
+        }
+    }
+
+    private final Logger frameworkLogger = Logger.getLogger("org.lambadaframework");
+
+    private Level level;
+
+    @Before
+    public void setUp() throws Exception {
+        level = frameworkLogger.getLevel();
+        frameworkLogger.setLevel(Level.INFO);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        frameworkLogger.setLevel(level);
+    }
+
+    private Handler getHandler() {
+        /**
+         * Stub resources are packaged in their own jar
+         */
+        Router router = Router.getRouter().setJaxrsParser(new JAXRSParser() {
+            @Override
+            public JAXRSParser withPackageName(String packageName, Class clazz) {
+                return super.withPackageName(packageName, StubHandler.class);
+            }
+        });
+        return new Handler().setRouter(router);
+    }
+
+    private CountingRequest getRequest(int bodySize) {
+        char[] body = new char[bodySize];
+        Arrays.fill(body, 'x');
+
+        CountingRequest request = new CountingRequest();
+        request.setPackage("org.lambadaframework")
+                .setMethod(Request.RequestMethod.GET)
+                .setPathtemplate("/resource1/{id}")
+                .setRequestbody(new String(body))
+                .setPath(Collections.singletonMap("id", "42"))
+                .setHeader(Collections.singletonMap("X-Forwarded-For", "127.0.0.1"));
+        return request;
+    }
+
+    private long getAllocatedBytes(Handler handler, Request request) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            handler.handle(request, null);
+        }
+        return threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBytes;
+    }
+
+    @Test
+    public void testRequestIsNotRenderedAtInfo() throws Exception {
+        Handler handler = getHandler();
+        CountingRequest request = getRequest(16);
+
+        Response response = handler.handle(request, null);
+        assertEquals("200", response.getErrorMessage());
+        assertEquals(0, request.renderCount);
+    }
+
+    @Test
+    public void testRequestIsRenderedAtDebug() throws Exception {
+        Handler handler = getHandler();
+        CountingRequest request = getRequest(16);
+
+        frameworkLogger.setLevel(Level.DEBUG);
+        handler.handle(request, null);
+        assertTrue(request.renderCount > 0);
+    }
+
+    @Test
+    public void testLoggingDoesNotAllocateAtInfo() throws Exception {
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).isThreadAllocatedMemorySupported());
+
+        Handler handler = getHandler();
+        Request smallRequest = getRequest(16);
+        Request largeRequest = getRequest(LARGE_BODY_SIZE);
+
+        /**
+         * Routes, invocation plans and the code paths are warmed up first
+         */
+        getAllocatedBytes(handler, smallRequest);
+        getAllocatedBytes(handler, largeRequest);
+
+        /**
+         * Nothing of the request is rendered, so a large body does not cost anything more.
+         * Rendering it even once per request would allocate at least the body size every time.
+         */
+        long difference = getAllocatedBytes(handler, largeRequest) - getAllocatedBytes(handler, smallRequest);
+        assertTrue("Logging allocated " + difference + " bytes more for large requests", difference < LARGE_BODY_SIZE);
+    }
+}
@@ -6,11 +6,10 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.LambdaLogger;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import org.glassfish.jersey.server.model.Invocable;
-import org.glassfish.jersey.server.model.MethodHandler;
-import org.glassfish.jersey.server.model.ResourceMethod;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.lambadaframework.jaxrs.model.RouteDefinition;
+import org.lambadaframework.jaxrs.route.Route;
 import org.lambadaframework.runtime.models.Request;
 import org.lambadaframework.runtime.models.Response;
 import org.lambadaframework.runtime.router.Router;
@@ -20,6 +19,10 @@ import org.powermock.modules.junit4.PowerMockRunner;
 
 import javax.ws.rs.*;
 import javax.ws.rs.core.MediaType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import static org.easymock.EasyMock.anyObject;
 import static org.easymock.EasyMock.expect;
@@ -27,7 +30,7 @@ import static org.easymock.EasyMock.expect;
 import static org.junit.Assert.*;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({Invocable.class, ResourceMethod.class, Router.class, org.lambadaframework.jaxrs.model.ResourceMethod.class})
+@PrepareForTest({Router.class})
 public class HandlerTest {
 
 
@@ -104,24 +107,28 @@ public class HandlerTest {
 
     private Router getMockRouter(String methodName, Class<?>... parameterTypes) throws NoSuchMethodException {
 
-        Invocable mockInvocable = PowerMock.createMock(Invocable.class);
-        expect(mockInvocable.getHandlingMethod())
-                .andReturn(DummyController.class.getDeclaredMethod(methodName, parameterTypes))
-                .anyTimes();
+        Method method = DummyController.class.getDeclaredMethod(methodName, parameterTypes);
 
-        expect(mockInvocable.getHandler())
-                .andReturn(MethodHandler.create(DummyController.class))
-                .anyTimes();
+        List<String> parameterTypeNames = new ArrayList<>();
+        for (Class<?> parameterType : parameterTypes) {
+            parameterTypeNames.add(parameterType.getName());
+        }
 
-        org.lambadaframework.jaxrs.model.ResourceMethod mockResourceMethod = PowerMock.createMock(org.lambadaframework.jaxrs.model.ResourceMethod
-                .class);
-        expect(mockResourceMethod.getInvocable())
-                .andReturn(mockInvocable)
-                .anyTimes();
+        Route route = new Route(
+                new RouteDefinition("GET", "/", DummyController.class.getName(), methodName, parameterTypeNames,
+                        Collections.emptyList(), Collections.emptyList(),
+                        Collections.nCopies(parameterTypes.length, ""), method.getReturnType().getName()),
+                DummyController.class,
+                method
+        );
 
         Router mockRouter = PowerMock.createMock(Router.class);
+        expect(mockRouter.routeIndexed(anyObject()))
+                .andReturn(null)
+                .anyTimes();
+
         expect(mockRouter.route(anyObject()))
-                .andReturn(mockResourceMethod)
+                .andReturn(route)
                 .anyTimes();
 
         PowerMock.replayAll();
@@ -0,0 +1,77 @@
+package org.lambadaframework.runtime;
+
+import org.junit.Test;
+import org.lambadaframework.jaxrs.model.RouteDefinition;
+import org.lambadaframework.jaxrs.route.Route;
+import org.lambadaframework.runtime.lifecycle.Lifecycle;
+import org.lambadaframework.runtime.models.Request;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class ResourceMethodInvokerTest {
+
+    public static class BaseResource {
+        public String getName() {
+            return getClass().getSimpleName();
+        }
+    }
+
+    public static class FirstResource extends BaseResource {
+    }
+
+    public static class SecondResource extends BaseResource {
+    }
+
+    @Lifecycle(Lifecycle.Scope.SINGLETON)
+    public static class SingletonResource {
+        public Object getEntity() {
+            return this;
+        }
+
+        public Object getEntityUsers() {
+            return this;
+        }
+    }
+
+    private Route getRoute(String path, Class<?> resourceClass) throws Exception {
+        return getRoute(path, resourceClass, "getName");
+    }
+
+    private Route getRoute(String path, Class<?> resourceClass, String methodName) throws Exception {
+        return new Route(
+                new RouteDefinition("GET", path, resourceClass.getName(), methodName,
+                        Collections.emptyList(),
+                        Collections.emptyList(),
+                        Collections.emptyList(),
+                        Collections.emptyList(),
+                        String.class.getName()),
+                resourceClass,
+                resourceClass.getMethod(methodName)
+        );
+    }
+
+    @Test
+    public void testInheritedMethodIsInvokedOnItsResourceClass() throws Exception {
+        Route firstRoute = getRoute("/first", FirstResource.class);
+        Route secondRoute = getRoute("/second", SecondResource.class);
+        assertEquals(firstRoute.getMethod(), secondRoute.getMethod());
+
+        InvocationPlan firstPlan = ResourceMethodInvoker.getInvocationPlan(firstRoute);
+        InvocationPlan secondPlan = ResourceMethodInvoker.getInvocationPlan(secondRoute);
+        assertNotSame(firstPlan, secondPlan);
+        assertSame(firstPlan, ResourceMethodInvoker.getInvocationPlan(firstRoute));
+
+        assertEquals("FirstResource", ResourceMethodInvoker.invoke(firstRoute, new Request(), null));
+        assertEquals("SecondResource", ResourceMethodInvoker.invoke(secondRoute, new Request(), null));
+    }
+
+    @Test
+    public void testSingletonIsSharedByResourceMethods() throws Exception {
+        Object entity = ResourceMethodInvoker.invoke(getRoute("/singleton/{id}", SingletonResource.class, "getEntity"), new Request(), null);
+        Object users = ResourceMethodInvoker.invoke(getRoute("/singleton/{id}/users", SingletonResource.class, "getEntityUsers"), new Request(), null);
+        assertTrue(entity instanceof SingletonResource);
+        assertSame(entity, users);
+    }
+}
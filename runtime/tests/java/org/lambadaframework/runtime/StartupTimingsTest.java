@@ -0,0 +1,46 @@
+package org.lambadaframework.runtime;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.api.easymock.PowerMock;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import static org.easymock.EasyMock.expect;
+import static org.junit.Assert.*;
+
+@RunWith(PowerMockRunner.class)
+public class StartupTimingsTest {
+
+    @Test
+    public void testColdStartIsFlaggedOnce() throws Exception {
+        /**
+         * Another test may have invoked a handler in this JVM already
+         */
+        StartupTimings.startInvocation();
+        assertFalse(StartupTimings.startInvocation());
+    }
+
+    @Test
+    public void testStartupLine() throws Exception {
+        String line = StartupTimings.getStartupLine(1500000L, null);
+        assertTrue(line.startsWith("{\"coldStart\":true,\"initMs\":"));
+        assertTrue(line.endsWith(",\"requestMs\":1.500}"));
+
+        for (StartupTimings.Phase phase : StartupTimings.Phase.values()) {
+            assertEquals(phase.getFieldName(), StartupTimings.getDuration(phase) > 0, line.contains("\"" + phase.getFieldName() + "\""));
+        }
+    }
+
+    @Test
+    public void testRequestLine() throws Exception {
+        Context context = PowerMock.createMock(Context.class);
+        expect(context.getAwsRequestId())
+                .andReturn("2f1c7e5a-93a4-4c08-a6d2-3b4c1fbd0a11")
+                .anyTimes();
+        PowerMock.replayAll();
+
+        assertEquals("{\"coldStart\":false,\"requestId\":\"2f1c7e5a-93a4-4c08-a6d2-3b4c1fbd0a11\",\"requestMs\":0.250}",
+                StartupTimings.getRequestLine(250000L, context));
+    }
+}
@@ -0,0 +1,228 @@
+package org.lambadaframework.runtime;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.lambadaframework.jaxrs.model.RouteDefinition;
+import org.lambadaframework.jaxrs.route.Route;
+import org.lambadaframework.runtime.models.Request;
+import org.lambadaframework.runtime.router.Router;
+import org.powermock.api.easymock.PowerMock;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.getCurrentArguments;
+import static org.junit.Assert.*;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Router.class})
+public class StreamHandlerTest {
+
+    private Router getMockRouter(String methodName, Class<?>... parameterTypes) throws NoSuchMethodException {
+
+        Method method = HandlerTest.DummyController.class.getDeclaredMethod(methodName, parameterTypes);
+
+        List<String> parameterTypeNames = new ArrayList<>();
+        for (Class<?> parameterType : parameterTypes) {
+            parameterTypeNames.add(parameterType.getName());
+        }
+
+        Route route = new Route(
+                new RouteDefinition("GET", "/", HandlerTest.DummyController.class.getName(), methodName, parameterTypeNames,
+                        Collections.emptyList(), Collections.emptyList(),
+                        Collections.nCopies(parameterTypes.length, ""), method.getReturnType().getName()),
+                HandlerTest.DummyController.class,
+                method
+        );
+
+        Router mockRouter = PowerMock.createMock(Router.class);
+        expect(mockRouter.routeIndexed(anyObject()))
+                .andReturn(null)
+                .anyTimes();
+
+        expect(mockRouter.route(anyObject()))
+                .andReturn(route)
+                .anyTimes();
+
+        expect(mockRouter.isNegotiated(anyObject()))
+                .andReturn(false)
+                .anyTimes();
+
+        PowerMock.replayAll();
+        return mockRouter;
+    }
+
+    public static class NegotiatedController {
+
+        @POST
+        @Consumes(MediaType.APPLICATION_JSON)
+        public javax.ws.rs.core.Response createFromJson(HandlerTest.NewEntityRequest jsonEntity) {
+            return javax.ws.rs.core.Response
+                    .status(201)
+                    .entity(jsonEntity)
+                    .build();
+        }
+
+        @POST
+        @Consumes(MediaType.TEXT_PLAIN)
+        public javax.ws.rs.core.Response createFromText(String text) {
+            return javax.ws.rs.core.Response
+                    .status(201)
+                    .entity(Collections.singletonMap("text", text))
+                    .build();
+        }
+    }
+
+    private Route getNegotiatedRoute(String methodName, Class<?> parameterType, String consumedType) throws NoSuchMethodException {
+        return new Route(
+                new RouteDefinition("POST", "/", NegotiatedController.class.getName(), methodName,
+                        Collections.singletonList(parameterType.getName()),
+                        Collections.singletonList(consumedType), Collections.emptyList(),
+                        Collections.singletonList(""), javax.ws.rs.core.Response.class.getName()),
+                NegotiatedController.class,
+                NegotiatedController.class.getMethod(methodName, parameterType)
+        );
+    }
+
+    /**
+     * Routes by Content-Type, like a routing table with both methods on the same path
+     */
+    private Router getNegotiatingRouter() throws NoSuchMethodException {
+        Route jsonRoute = getNegotiatedRoute("createFromJson", HandlerTest.NewEntityRequest.class, MediaType.APPLICATION_JSON);
+        Route textRoute = getNegotiatedRoute("createFromText", String.class, MediaType.TEXT_PLAIN);
+
+        Router mockRouter = PowerMock.createMock(Router.class);
+        expect(mockRouter.routeIndexed(anyObject()))
+                .andReturn(null)
+                .anyTimes();
+
+        expect(mockRouter.route(anyObject()))
+                .andAnswer(() -> MediaType.TEXT_PLAIN.equals(((Request) getCurrentArguments()[0]).getContentType()) ? textRoute : jsonRoute)
+                .anyTimes();
+
+        expect(mockRouter.isNegotiated(anyObject()))
+                .andReturn(true)
+                .anyTimes();
+
+        PowerMock.replayAll();
+        return mockRouter;
+    }
+
+    private JsonNode handle(StreamHandler handler, String event) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        handler.handleRequest(new ByteArrayInputStream(event.getBytes(StandardCharsets.UTF_8)), outputStream, null);
+        return new ObjectMapper().readTree(outputStream.toByteArray());
+    }
+
+    @Test
+    public void testWithJsonAsObject201Result()
+            throws Exception {
+
+        StreamHandler handler = new StreamHandler()
+                .setRouter(getMockRouter("createEntityWithJsonObject", HandlerTest.NewEntityRequest.class));
+
+        JsonNode response = handle(handler, "{\n" +
+                "  \"package\": \"org.lambadaframework\",\n" +
+                "  \"pathtemplate\": \"/{id}/jsonobject\",\n" +
+                "  \"method\": \"POST\",\n" +
+                "  \"requestbody\": \"{\\\"id\\\":1}\",\n" +
+                "  \"path\": {\n" +
+                "    \"id\": \"123\"\n" +
+                "  },\n" +
+                "  \"querystring\": {},\n" +
+                "  \"header\": {}\n" +
+                "}");
+
+        assertEquals("201", response.get("errorMessage").asText());
+        assertEquals(1, response.get("entity").get("id").asLong());
+    }
+
+    @Test
+    public void testWithPathAndQueryParameters201Result()
+            throws Exception {
+
+        StreamHandler handler = new StreamHandler()
+                .setRouter(getMockRouter("createEntity", long.class, String.class));
+
+        JsonNode response = handle(handler, "{\n" +
+                "  \"package\": \"org.lambadaframework\",\n" +
+                "  \"pathtemplate\": \"/{id}\",\n" +
+                "  \"method\": \"POST\",\n" +
+                "  \"requestbody\": \"{}\",\n" +
+                "  \"path\": {\n" +
+                "    \"id\": \"123\"\n" +
+                "  },\n" +
+                "  \"querystring\": {\n" +
+                "    \"query1\": \"test3\"\n" +
+                "  },\n" +
+                "  \"header\": {},\n" +
+                "  \"unknown\": [1, 2, {\"a\": \"b\"}]\n" +
+                "}");
+
+        assertEquals("201", response.get("errorMessage").asText());
+        assertEquals(123, response.get("entity").get("id").asLong());
+        assertEquals("test3", response.get("entity").get("query1").asText());
+        assertEquals("http://www.google.com", response.get("headers").get("Location").asText());
+    }
+
+    @Test
+    public void testWithInvalidEvent()
+            throws Exception {
+
+        StreamHandler handler = new StreamHandler()
+                .setRouter(getMockRouter("createEntity", long.class, String.class));
+
+        JsonNode response = handle(handler, "[]");
+        assertEquals("502", response.get("errorMessage").asText());
+    }
+
+    @Test
+    public void testBodyIsBoundByTheNegotiatedRoute()
+            throws Exception {
+
+        StreamHandler handler = new StreamHandler().setRouter(getNegotiatingRouter());
+
+        /**
+         * Body comes before the headers which route it to the plain text method
+         */
+        JsonNode response = handle(handler, "{\n" +
+                "  \"package\": \"org.lambadaframework\",\n" +
+                "  \"pathtemplate\": \"/\",\n" +
+                "  \"method\": \"POST\",\n" +
+                "  \"requestbody\": \"{\\\"id\\\":1}\",\n" +
+                "  \"header\": {\n" +
+                "    \"Content-Type\": \"text/plain\"\n" +
+                "  }\n" +
+                "}");
+
+        assertEquals("201", response.get("errorMessage").asText());
+        assertEquals("{\"id\":1}", response.get("entity").get("text").asText());
+
+        response = handle(handler, "{\n" +
+                "  \"package\": \"org.lambadaframework\",\n" +
+                "  \"pathtemplate\": \"/\",\n" +
+                "  \"method\": \"POST\",\n" +
+                "  \"requestbody\": \"{\\\"id\\\":1}\",\n" +
+                "  \"header\": {\n" +
+                "    \"Content-Type\": \"application/json\"\n" +
+                "  }\n" +
+                "}");
+
+        assertEquals("201", response.get("errorMessage").asText());
+        assertEquals(1, response.get("entity").get("id").asLong());
+    }
+}
@@ -0,0 +1,71 @@
+package org.lambadaframework.runtime;
+
+import org.junit.Test;
+import org.lambadaframework.jaxrs.JAXRSParser;
+import org.lambadaframework.jaxrs.model.Resource;
+import org.lambadaframework.jaxrs.route.Route;
+import org.lambadaframework.runtime.models.Request;
+import org.lambadaframework.runtime.models.Response;
+import org.lambadaframework.runtime.router.Router;
+import org.lambadaframework.stubs.StubHandler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class WarmupTest {
+
+    @Test
+    public void testWarmupCompilesAllPlans() throws Exception {
+        /**
+         * Stub resources are packaged in their own jar
+         */
+        Router router = Router.getRouter().setJaxrsParser(new JAXRSParser() {
+            @Override
+            public JAXRSParser withPackageName(String packageName, Class clazz) {
+                return super.withPackageName(packageName, StubHandler.class);
+            }
+        });
+        long serializationTime = StartupTimings.getDuration(StartupTimings.Phase.RESPONSE_SERIALIZATION);
+        Warmup.run(router, "org.lambadaframework");
+
+        /**
+         * No response is written for a request, the phase is not measured
+         */
+        assertEquals(serializationTime, StartupTimings.getDuration(StartupTimings.Phase.RESPONSE_SERIALIZATION));
+        assertEquals(6, router.getRoutes("org.lambadaframework").size());
+        for (Route route : router.getRoutes("org.lambadaframework")) {
+            assertSame(ResourceMethodInvoker.getInvocationPlan(route),
+                    ResourceMethodInvoker.getInvocationPlan(route));
+        }
+    }
+
+    @Test
+    public void testWarmupWithoutPackage() throws Exception {
+        Warmup.run(Router.getRouter(), null);
+    }
+
+    @Test
+    public void testWarmupFailureIsAnsweredPerRequest() throws Exception {
+        Router router = Router.getRouter().setJaxrsParser(new JAXRSParser() {
+            @Override
+            public List<Resource> scan() {
+                throw new UncheckedIOException(new IOException("Classpath can not be read"));
+            }
+        });
+
+        try {
+            Warmup.run(router, "org.lambadaframework");
+
+            Response response = new Handler().setRouter(router).handle(new Request()
+                    .setPackage("org.lambadaframework")
+                    .setMethod(Request.RequestMethod.GET)
+                    .setPathtemplate("/resource1"), null);
+            assertEquals("502", response.getErrorMessage());
+        } finally {
+            router.setJaxrsParser(new JAXRSParser());
+        }
+    }
+}
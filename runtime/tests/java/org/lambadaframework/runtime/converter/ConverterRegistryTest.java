@@ -0,0 +1,117 @@
+package org.lambadaframework.runtime.converter;
+
+import org.junit.Test;
+
+import javax.ws.rs.ext.ParamConverter;
+import javax.ws.rs.ext.ParamConverterProvider;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class ConverterRegistryTest {
+
+    public enum Color {
+        RED, GREEN
+    }
+
+    public static class Name {
+        final String value;
+
+        public Name(String value) {
+            this.value = value;
+        }
+    }
+
+    public static class Point {
+        final int x;
+        final int y;
+
+        Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    public static class Unconvertible {
+    }
+
+    public List<Color> colors;
+
+    private static StringConverter resolve(Class<?> clazz) {
+        return ConverterRegistry.resolve(clazz, clazz, new Annotation[0]);
+    }
+
+    @Test
+    public void testPrimitives() throws Exception {
+        assertEquals(42L, resolve(long.class).convert("42"));
+        assertEquals(0L, resolve(long.class).convert(null));
+        assertNull(resolve(Long.class).convert(null));
+        assertEquals(true, resolve(boolean.class).convert("true"));
+        assertEquals('x', resolve(char.class).convert("x"));
+        assertEquals("value", resolve(String.class).convert("value"));
+    }
+
+    @Test
+    public void testStaticFactoriesAndConstructor() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        assertEquals(uuid, resolve(UUID.class).convert(uuid.toString()));
+        assertEquals(Color.GREEN, resolve(Color.class).convert("GREEN"));
+        assertEquals(LocalDate.of(2016, 7, 1), resolve(LocalDate.class).convert("2016-07-01"));
+        assertEquals("lambada", ((Name) resolve(Name.class).convert("lambada")).value);
+        assertNull(resolve(Name.class).convert(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidEnumValue() throws Exception {
+        resolve(Color.class).convert("BLUE");
+    }
+
+    @Test
+    public void testCollections() throws Exception {
+        Type listType = getClass().getField("colors").getGenericType();
+        StringConverter converter = ConverterRegistry.resolve(List.class, listType, new Annotation[0]);
+        assertEquals(Collections.singletonList(Color.RED), converter.convert("RED"));
+        assertEquals(Collections.emptyList(), converter.convert(null));
+    }
+
+    @Test
+    public void testUnconvertible() throws Exception {
+        assertNull(resolve(Unconvertible.class));
+        assertNull(resolve(Point.class));
+    }
+
+    @Test
+    public void testParamConverterProvider() throws Exception {
+        ConverterRegistry.register(new ParamConverterProvider() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> ParamConverter<T> getConverter(Class<T> rawType, Type genericType, Annotation[] annotations) {
+                if (rawType != Point.class) {
+                    return null;
+                }
+                return (ParamConverter<T>) new ParamConverter<Point>() {
+                    @Override
+                    public Point fromString(String value) {
+                        List<String> parts = Arrays.asList(value.split(","));
+                        return new Point(Integer.parseInt(parts.get(0)), Integer.parseInt(parts.get(1)));
+                    }
+
+                    @Override
+                    public String toString(Point value) {
+                        return value.x + "," + value.y;
+                    }
+                };
+            }
+        });
+
+        Point point = (Point) resolve(Point.class).convert("3,4");
+        assertEquals(3, point.x);
+        assertEquals(4, point.y);
+    }
+}
@@ -0,0 +1,52 @@
+package org.lambadaframework.runtime.lifecycle;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class InstanceProvidersTest {
+
+    public static class PerRequestResource {
+    }
+
+    @Lifecycle(Lifecycle.Scope.SINGLETON)
+    public static class SingletonResource {
+    }
+
+    @Lifecycle(value = Lifecycle.Scope.POOLED, poolSize = 1)
+    public static class PooledResource {
+    }
+
+    @Test
+    public void testPerRequest() throws Exception {
+        InstanceProvider instanceProvider = InstanceProviders.forClass(PerRequestResource.class);
+        Object instance = instanceProvider.acquire();
+        instanceProvider.release(instance);
+        assertTrue(instance instanceof PerRequestResource);
+        assertNotSame(instance, instanceProvider.acquire());
+    }
+
+    @Test
+    public void testSingleton() throws Exception {
+        InstanceProvider instanceProvider = InstanceProviders.forClass(SingletonResource.class);
+        Object instance = instanceProvider.acquire();
+        assertTrue(instance instanceof SingletonResource);
+        assertSame(instance, instanceProvider.acquire());
+        assertSame(instanceProvider, InstanceProviders.forClass(SingletonResource.class));
+    }
+
+    @Test
+    public void testPooled() throws Exception {
+        InstanceProvider instanceProvider = InstanceProviders.forClass(PooledResource.class);
+        Object first = instanceProvider.acquire();
+        Object second = instanceProvider.acquire();
+        assertNotSame(first, second);
+
+        instanceProvider.release(first);
+        instanceProvider.release(second);
+        assertEquals(1, ((InstanceProviders.PooledProvider) instanceProvider).getIdleCount());
+
+        assertSame(first, instanceProvider.acquire());
+        assertEquals(0, ((InstanceProviders.PooledProvider) instanceProvider).getIdleCount());
+    }
+}
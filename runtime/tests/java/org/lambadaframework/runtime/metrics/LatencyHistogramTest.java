@@ -0,0 +1,42 @@
+package org.lambadaframework.runtime.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBuckets() throws Exception {
+        for (long value = 0; value < LatencyHistogram.SUB_BUCKET_COUNT * 2; value++) {
+            assertEquals(value, LatencyHistogram.getHighestValue(LatencyHistogram.getBucket(value)));
+        }
+
+        for (long value = 16; value < 1L << 33; value = value * 3 + 1) {
+            long highestValue = LatencyHistogram.getHighestValue(LatencyHistogram.getBucket(value));
+            assertTrue(highestValue >= value);
+            assertTrue(highestValue <= value + value / LatencyHistogram.SUB_BUCKET_COUNT);
+        }
+
+        assertEquals(0, LatencyHistogram.getBucket(-1));
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.getBucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testPercentiles() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.drain();
+        assertEquals(100, snapshot.getCount());
+        assertEquals(51, snapshot.getValueAtPercentile(50));
+        assertEquals(103, snapshot.getValueAtPercentile(99));
+        assertEquals(103, snapshot.getMaximum());
+
+        LatencyHistogram.Snapshot empty = histogram.drain();
+        assertEquals(0, empty.getCount());
+        assertEquals(0, empty.getValueAtPercentile(99));
+    }
+}
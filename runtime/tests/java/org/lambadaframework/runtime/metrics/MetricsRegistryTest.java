@@ -0,0 +1,49 @@
+package org.lambadaframework.runtime.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void testEmbeddedMetricFormat() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        MetricsRegistry registry = new MetricsRegistry("Lambada", 0, new PrintStream(output, true, "UTF-8"));
+
+        RouteMetrics metrics = registry.getRouteMetrics("GET /resource1/{id: \\d+}");
+        assertSame(metrics, registry.getRouteMetrics("GET /resource1/{id: \\d+}"));
+        registry.getRouteMetrics("DELETE /resource1");
+
+        for (RouteMetrics.Phase phase : RouteMetrics.Phase.values()) {
+            metrics.record(phase, 2000000L);
+            metrics.record(phase, 5000L);
+        }
+
+        registry.flushIfDue();
+
+        String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8).trim().split("\n");
+        assertEquals(1, lines.length);
+
+        JsonNode line = new ObjectMapper().readTree(lines[0]);
+        JsonNode directive = line.get("_aws").get("CloudWatchMetrics").get(0);
+        assertEquals("Lambada", directive.get("Namespace").asText());
+        assertEquals("Route", directive.get("Dimensions").get(0).get(0).asText());
+        assertEquals(13, directive.get("Metrics").size());
+
+        assertEquals("GET /resource1/{id: \\d+}", line.get("Route").asText());
+        assertEquals(2, line.get("Requests").asLong());
+        assertEquals(5, line.get("InvokeP50").asLong());
+        assertTrue(line.get("InvokeMax").asLong() >= 2000);
+
+        output.reset();
+        registry.flush();
+        assertEquals(0, output.size());
+    }
+}
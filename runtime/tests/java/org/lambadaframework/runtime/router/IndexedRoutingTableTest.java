@@ -0,0 +1,132 @@
+package org.lambadaframework.runtime.router;
+
+import org.junit.Test;
+import org.lambadaframework.jaxrs.index.IndexedParameter;
+import org.lambadaframework.jaxrs.index.IndexedRoute;
+import org.lambadaframework.jaxrs.model.RouteDefinition;
+import org.lambadaframework.runtime.models.Request;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class IndexedRoutingTableTest {
+
+    private IndexedRoute getRoute(String httpMethod, String path, String methodName) {
+        return getRoute(httpMethod, path, methodName, "application/json");
+    }
+
+    private IndexedRoute getRoute(String httpMethod, String path, String methodName, String producedType) {
+        return new IndexedRoute(
+                new RouteDefinition(httpMethod, path, "org.lambadaframework.Resource", methodName,
+                        Collections.singletonList("java.lang.String"),
+                        Collections.emptyList(),
+                        Collections.singletonList(producedType),
+                        Collections.singletonList("path:id"),
+                        "java.lang.String"),
+                Object.class,
+                Collections.singletonList(new IndexedParameter(IndexedParameter.Source.PATH, "id", null, String.class, String.class)),
+                (instance, arguments) -> methodName
+        );
+    }
+
+    private IndexedRoutingTable getRoutingTable() {
+        return new IndexedRoutingTable(Arrays.asList(
+                getRoute("GET", "/resource1/{id}", "getEntity"),
+                getRoute("GET", "/resource1/users", "getUsers"),
+                getRoute("DELETE", "/resource1/{id}", "removeEntity")
+        ));
+    }
+
+    private String route(IndexedRoutingTable routingTable, Request.RequestMethod method, String pathTemplate) {
+        IndexedRoute route = routingTable.route(new Request()
+                .setPackage("org.lambadaframework")
+                .setMethod(method)
+                .setPathtemplate(pathTemplate));
+        return route == null ? null : route.getDefinition().getMethodName();
+    }
+
+    @Test
+    public void testDeclaredRoutes() throws Exception {
+        IndexedRoutingTable routingTable = getRoutingTable();
+        assertEquals(3, routingTable.getRoutes().size());
+        assertEquals("getEntity", route(routingTable, Request.RequestMethod.GET, "/resource1/{id}"));
+        assertEquals("getUsers", route(routingTable, Request.RequestMethod.GET, "/resource1/users"));
+        assertEquals("removeEntity", route(routingTable, Request.RequestMethod.DELETE, "/resource1/{id}"));
+    }
+
+    @Test
+    public void testConcretePaths() throws Exception {
+        IndexedRoutingTable routingTable = getRoutingTable();
+        assertEquals("getEntity", route(routingTable, Request.RequestMethod.GET, "/resource1/42"));
+        assertEquals("getUsers", route(routingTable, Request.RequestMethod.GET, "/resource1/users"));
+        assertNull(route(routingTable, Request.RequestMethod.GET, "/resource1/42/users"));
+        assertNull(route(routingTable, Request.RequestMethod.POST, "/resource1/42"));
+    }
+
+    @Test
+    public void testRegexTemplates() throws Exception {
+        IndexedRoutingTable routingTable = new IndexedRoutingTable(Arrays.asList(
+                getRoute("GET", "/resource1/{id: [0-9]+}", "getEntity"),
+                getRoute("GET", "/resource1/{name: [a-z]+}/users", "getUsers")
+        ));
+        assertEquals("getEntity", route(routingTable, Request.RequestMethod.GET, "/resource1/{id: [0-9]+}"));
+        assertEquals("getEntity", route(routingTable, Request.RequestMethod.GET, "/resource1/42"));
+        assertNull(route(routingTable, Request.RequestMethod.GET, "/resource1/abc"));
+        assertEquals("getUsers", route(routingTable, Request.RequestMethod.GET, "/resource1/abc/users"));
+        assertNull(route(routingTable, Request.RequestMethod.GET, "/resource1/42/users"));
+    }
+
+    @Test
+    public void testNegotiatedRoutes() throws Exception {
+        IndexedRoutingTable routingTable = new IndexedRoutingTable(Arrays.asList(
+                getRoute("GET", "/resource1/{id}", "getEntity", "*/*"),
+                getRoute("GET", "/resource1/{id}", "getEntityAsText", "text/plain"),
+                getRoute("GET", "/resource1/{id}", "getEntityAsJson", "application/json")
+        ));
+
+        Request request = new Request()
+                .setMethod(Request.RequestMethod.GET)
+                .setPathtemplate("/resource1/{id}");
+
+        assertEquals("getEntityAsText", routingTable.route(request).getDefinition().getMethodName());
+
+        request.setHeader(Collections.singletonMap("Accept", "text/plain;q=0.5, application/json"));
+        assertEquals("getEntityAsJson", routingTable.route(request).getDefinition().getMethodName());
+        assertEquals("getEntityAsJson", routingTable.route(request).getDefinition().getMethodName());
+
+        request.setHeader(Collections.singletonMap("Accept", "image/png"));
+        assertEquals("getEntity", routingTable.route(request).getDefinition().getMethodName());
+
+        request.setPathtemplate("/resource1/42");
+        request.setHeader(Collections.singletonMap("Accept", "text/*"));
+        assertEquals("getEntityAsText", routingTable.route(request).getDefinition().getMethodName());
+    }
+
+    @Test
+    public void testLiteralPathBeatsTemplate() throws Exception {
+        IndexedRoutingTable routingTable = new IndexedRoutingTable(Arrays.asList(
+                getRoute("GET", "/users/{id}", "byId", "application/json"),
+                getRoute("GET", "/users/me", "me", "*/*")
+        ));
+
+        Request request = new Request()
+                .setMethod(Request.RequestMethod.GET)
+                .setPathtemplate("/users/me")
+                .setHeader(Collections.singletonMap("Accept", "application/json"));
+        assertEquals("me", routingTable.route(request).getDefinition().getMethodName());
+        assertFalse(routingTable.isNegotiated(request));
+
+        request.setPathtemplate("/users/42");
+        assertEquals("byId", routingTable.route(request).getDefinition().getMethodName());
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        assertTrue(IndexedRoutingTable.EMPTY.isEmpty());
+        assertNull(IndexedRoutingTable.EMPTY.route(new Request()
+                .setMethod(Request.RequestMethod.GET)
+                .setPathtemplate("/resource1")));
+    }
+}
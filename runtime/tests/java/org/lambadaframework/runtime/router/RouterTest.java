@@ -7,12 +7,16 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.lambadaframework.jaxrs.JAXRSParser;
 import org.lambadaframework.jaxrs.model.Resource;
+import org.lambadaframework.jaxrs.model.RouteDefinition;
+import org.lambadaframework.jaxrs.route.Route;
 import org.lambadaframework.runtime.models.Request;
 import org.powermock.api.easymock.PowerMock;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import javax.ws.rs.NotFoundException;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.core.MediaType;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -46,6 +50,14 @@ public class RouterTest {
                 .andReturn(resourceList)
                 .anyTimes();
 
+        expect(mockJaxRSParser.getClassScanTime())
+                .andReturn(0L)
+                .anyTimes();
+
+        expect(mockJaxRSParser.getModelBuildTime())
+                .andReturn(0L)
+                .anyTimes();
+
         expect(mockJaxRSParser.withPackageName(anyString(),
                 anyObject(Class.class)))
                 .andReturn(mockJaxRSParser)
@@ -63,11 +75,58 @@ public class RouterTest {
                 .setPackage("org.lambadaframework")
                 .setPathtemplate("/{id}");
 
-        org.lambadaframework.jaxrs.model.ResourceMethod routedResource = Router
+        Route routedResource = Router
+                .getRouter()
+                .setJaxrsParser(getJAXRSParser())
+                .route(request);
+
+        assertNotNull(routedResource);
+    }
+
+    @Test
+    public void routeWithConcretePath() throws Exception {
+        Request request = new Request();
+        request
+                .setMethod(Request.RequestMethod.GET)
+                .setPackage("org.lambadaframework")
+                .setPathtemplate("/123");
+
+        Route routedResource = Router
                 .getRouter()
                 .setJaxrsParser(getJAXRSParser())
                 .route(request);
 
         assertNotNull(routedResource);
     }
-}
\ No newline at end of file
+
+    @Test(expected = NotFoundException.class)
+    public void routeWithUndeclaredMethod() throws Exception {
+        Request request = new Request();
+        request
+                .setMethod(Request.RequestMethod.POST)
+                .setPackage("org.lambadaframework")
+                .setPathtemplate("/{id}");
+
+        Router
+                .getRouter()
+                .setJaxrsParser(getJAXRSParser())
+                .route(request);
+    }
+
+    @Test
+    public void routesFromManifest() throws Exception {
+        List<RouteDefinition> routeDefinitions = Collections.singletonList(RouteDefinition.parse(
+                "GET\t/resource1/{id}\torg.lambadaframework.stubs.StubHandler\tgetEntity(long)\t\tapplication/json\tpath:id\tjava.lang.Object"));
+        Router router = Router.getRouter();
+
+        List<Route> routes = router.getRoutesFromManifest("org.lambadaframework", routeDefinitions);
+        assertEquals(1, routes.size());
+        assertEquals("getEntity", routes.get(0).getDefinition().getMethodName());
+
+        /**
+         * Manifest of another artifact, the package should be scanned
+         */
+        assertNull(router.getRoutesFromManifest("org.example", routeDefinitions));
+        assertNull(router.getRoutesFromManifest("org.lambadaframework.stub", routeDefinitions));
+    }
+}
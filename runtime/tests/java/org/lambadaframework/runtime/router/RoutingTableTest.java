@@ -0,0 +1,193 @@
+package org.lambadaframework.runtime.router;
+
+import org.junit.Test;
+import org.lambadaframework.jaxrs.JAXRSParser;
+import org.lambadaframework.jaxrs.model.Resource;
+import org.lambadaframework.jaxrs.model.ResourceMethod;
+import org.lambadaframework.jaxrs.model.RouteDefinition;
+import org.lambadaframework.jaxrs.route.Route;
+import org.lambadaframework.runtime.models.Request;
+import org.lambadaframework.stubs.StubHandler;
+import org.lambadaframework.stubs.generator.ResourceTree;
+import org.lambadaframework.stubs.generator.ResourceTreeGenerator;
+
+import java.io.File;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RoutingTableTest {
+
+    private RoutingTable getRoutingTable() {
+        List<Route> routes = new ArrayList<>();
+        for (Resource resource : new JAXRSParser()
+                .withPackageName("org.lambadaframework", StubHandler.class)
+                .scan()) {
+            for (ResourceMethod resourceMethod : resource.getResourceMethods()) {
+                routes.add(resourceMethod.toRoute());
+            }
+        }
+        return new RoutingTable(routes);
+    }
+
+    private Request getRequest(Request.RequestMethod method, String pathTemplate) {
+        return new Request()
+                .setPackage("org.lambadaframework")
+                .setMethod(method)
+                .setPathtemplate(pathTemplate);
+    }
+
+    private String getMethodName(Route route) {
+        assertNotNull(route);
+        return route.getMethod().getName();
+    }
+
+    @Test
+    public void testDeclaredRoutes() throws Exception {
+        RoutingTable routingTable = getRoutingTable();
+        assertEquals(6, routingTable.size());
+        assertEquals("getList", getMethodName(routingTable.route(getRequest(Request.RequestMethod.GET, "/resource1"))));
+        assertEquals("getEntity", getMethodName(routingTable.route(getRequest(Request.RequestMethod.GET, "/resource1/{id}"))));
+        assertEquals("removeEntityUser", getMethodName(routingTable.route(getRequest(Request.RequestMethod.DELETE, "/resource1/{id}/users"))));
+    }
+
+    @Test
+    public void testUndeclaredTemplateFallsBackToMatcher() throws Exception {
+        RoutingTable routingTable = getRoutingTable();
+        assertEquals("getEntityUsers", getMethodName(routingTable.route(getRequest(Request.RequestMethod.GET, "/resource1/42/users"))));
+    }
+
+    @Test
+    public void testSingleCandidateIsNotNegotiated() throws Exception {
+        RoutingTable routingTable = getRoutingTable();
+        Request request = getRequest(Request.RequestMethod.GET, "/resource1/{id}");
+
+        request.setHeader(Collections.singletonMap("Accept", "text/html, application/*;q=0.8"));
+        assertEquals("getEntity", getMethodName(routingTable.route(request)));
+
+        request.setHeader(Collections.singletonMap("Accept", "text/html"));
+        assertEquals("getEntity", getMethodName(routingTable.route(request)));
+
+        request.setHeader(Collections.singletonMap("Content-Type", "text/plain"));
+        assertEquals("getEntity", getMethodName(routingTable.route(request)));
+    }
+
+    public static class NegotiatedResource {
+
+        public String getEntity(String id) {
+            return id;
+        }
+
+        public String getEntityAsText(String id) {
+            return id;
+        }
+
+        public String getEntityAsJson(String id) {
+            return id;
+        }
+    }
+
+    private Route getRoute(String path, String methodName, String producedType) throws Exception {
+        return new Route(
+                new RouteDefinition("GET", path, NegotiatedResource.class.getName(), methodName,
+                        Collections.singletonList(String.class.getName()),
+                        Collections.emptyList(),
+                        Collections.singletonList(producedType),
+                        Collections.singletonList(RouteDefinition.PATH_BINDING + ":id"),
+                        String.class.getName()),
+                NegotiatedResource.class,
+                NegotiatedResource.class.getMethod(methodName, String.class)
+        );
+    }
+
+    @Test
+    public void testNegotiatedRoutes() throws Exception {
+        RoutingTable routingTable = new RoutingTable(Arrays.asList(
+                getRoute("/resource1/{id}", "getEntity", "*/*"),
+                getRoute("/resource1/{id}", "getEntityAsText", "text/plain"),
+                getRoute("/resource1/{id}", "getEntityAsJson", "application/json")
+        ));
+        Request request = getRequest(Request.RequestMethod.GET, "/resource1/{id}");
+
+        assertEquals("getEntityAsText", getMethodName(routingTable.route(request)));
+
+        request.setHeader(Collections.singletonMap("Accept", "text/plain;q=0.5, application/json"));
+        assertEquals("getEntityAsJson", getMethodName(routingTable.route(request)));
+
+        request.setHeader(Collections.singletonMap("Accept", "image/png"));
+        assertEquals("getEntity", getMethodName(routingTable.route(request)));
+
+        request.setPathtemplate("/resource1/42");
+        request.setHeader(null);
+        assertEquals("getEntityAsText", getMethodName(routingTable.route(request)));
+
+        request.setHeader(Collections.singletonMap("Accept", "application/*"));
+        assertEquals("getEntityAsJson", getMethodName(routingTable.route(request)));
+    }
+
+    @Test
+    public void testLiteralPathBeatsTemplate() throws Exception {
+        RoutingTable routingTable = new RoutingTable(Arrays.asList(
+                getRoute("/users/me", "getEntity", "*/*"),
+                getRoute("/users/{id}", "getEntityAsJson", "application/json")
+        ));
+
+        Request request = getRequest(Request.RequestMethod.GET, "/users/me");
+        assertEquals("getEntity", getMethodName(routingTable.route(request)));
+        assertFalse(routingTable.isNegotiated(request));
+
+        request.setHeader(Collections.singletonMap("Accept", "application/json"));
+        assertEquals("getEntity", getMethodName(routingTable.route(request)));
+
+        request.setPathtemplate("/users/42");
+        assertEquals("getEntityAsJson", getMethodName(routingTable.route(request)));
+
+        request.setPathtemplate("/users/{id}");
+        request.setHeader(null);
+        assertEquals("getEntityAsJson", getMethodName(routingTable.route(request)));
+    }
+
+    @Test
+    public void testNotFound() throws Exception {
+        RoutingTable routingTable = getRoutingTable();
+        assertNull(routingTable.route(getRequest(Request.RequestMethod.HEAD, "/resource1")));
+        assertNull(routingTable.route(getRequest(Request.RequestMethod.GET, "/resource2")));
+        assertNull(routingTable.route(getRequest(null, "/resource1")));
+        assertNull(routingTable.route(getRequest(Request.RequestMethod.GET, null)));
+    }
+
+    @Test
+    public void testGeneratedResourceTree() throws Exception {
+        ResourceTree tree = new ResourceTreeGenerator()
+                .withResourceCount(20)
+                .withMethodCount(8)
+                .withDepth(4)
+                .generate();
+
+        File classesDirectory = Files.createTempDirectory("lambada").toFile();
+        try (URLClassLoader classLoader = tree.compile(classesDirectory)) {
+            List<Route> routes = new ArrayList<>();
+            for (Resource resource : new JAXRSParser()
+                    .withClassesDirectory(classesDirectory.getPath(), tree.getPackageName(), classLoader)
+                    .scan()) {
+                for (ResourceMethod resourceMethod : resource.getResourceMethods()) {
+                    routes.add(resourceMethod.toRoute());
+                }
+            }
+
+            RoutingTable routingTable = new RoutingTable(routes);
+            assertEquals(tree.getEndpoints().size(), routingTable.size());
+
+            for (ResourceTree.Endpoint endpoint : tree.getEndpoints()) {
+                Request.RequestMethod method = Request.RequestMethod.valueOf(endpoint.getHttpMethod());
+                assertEquals(endpoint.getMethodName(), getMethodName(routingTable.route(getRequest(method, endpoint.getPath()))));
+                assertEquals(endpoint.getMethodName(), getMethodName(routingTable.route(getRequest(method, endpoint.getConcretePath()))));
+            }
+        }
+    }
+}
@@ -1,13 +1,12 @@
 package org.lambadaframework.runtime.router.types;
 
-import org.glassfish.jersey.process.Inflector;
 import org.junit.Test;
-import org.lambadaframework.jaxrs.model.Resource;
-import org.lambadaframework.jaxrs.model.ResourceMethod;
+import org.lambadaframework.jaxrs.model.RouteDefinition;
+import org.lambadaframework.jaxrs.route.Route;
 import org.lambadaframework.runtime.models.Request;
 
-import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.core.MediaType;
+import java.util.Collections;
 
 import static org.junit.Assert.*;
 
@@ -25,50 +24,59 @@ public class RouterTypeTest {
         return request;
     }
 
-    private ResourceMethod getResourceMethod() {
-
-        org.glassfish.jersey.server.model.Resource.Builder resourceBuilder = org.glassfish.jersey.server.model.Resource.builder();
-        resourceBuilder.path("/helloworld/{id}");
-        org.glassfish.jersey.server.model.ResourceMethod resourceMethod =
-                resourceBuilder
-                        .addMethod("GET")
-                        .consumes(MediaType.APPLICATION_JSON_TYPE)
-                        .produces(MediaType.APPLICATION_JSON_TYPE)
-                        .handledBy(new Inflector<ContainerRequestContext, Object>() {
-                            @Override
-                            public Object apply(ContainerRequestContext containerRequestContext) {
-                                return "HELLO";
-                            }
-                        })
-                        .build();
-
+    public static class HelloWorld {
+        public String get(String id) {
+            return "HELLO " + id;
+        }
+    }
 
-        Resource resource = new Resource(resourceBuilder.build());
+    private Route getRoute(String path) throws Exception {
+        return new Route(
+                new RouteDefinition("GET", path, HelloWorld.class.getName(), "get",
+                        Collections.singletonList(String.class.getName()),
+                        Collections.singletonList(MediaType.APPLICATION_JSON),
+                        Collections.singletonList(MediaType.APPLICATION_JSON),
+                        Collections.singletonList(RouteDefinition.PATH_BINDING + ":id"),
+                        String.class.getName()),
+                HelloWorld.class,
+                HelloWorld.class.getMethod("get", String.class)
+        );
+    }
 
-        return resource.getResourceMethods().get(0);
+    private Route getRoute() throws Exception {
+        return getRoute("/helloworld/{id}");
     }
 
     @Test
-    public void consumedTypesTest() throws Exception {
-        RouterType routerType = new ConsumedTypes();
-        assertTrue(routerType.isMatching(getRequest(), getResourceMethod()));
+    public void methodTest() throws Exception {
+        RouterType routerType = new Method();
+        assertTrue(routerType.isMatching(getRequest(), getRoute()));
     }
 
     @Test
-    public void producedTypesTest() throws Exception {
-        RouterType routerType = new ProducedTypes();
-        assertTrue(routerType.isMatching(getRequest(), getResourceMethod()));
+    public void pathTest() throws Exception {
+        RouterType routerType = new Path();
+        assertTrue(routerType.isMatching(getRequest(), getRoute()));
     }
 
     @Test
-    public void methodTest() throws Exception {
-        RouterType routerType = new Method();
-        assertTrue(routerType.isMatching(getRequest(), getResourceMethod()));
+    public void pathWithConcretePathTest() throws Exception {
+        RouterType routerType = new Path();
+        Route route = getRoute();
+
+        assertTrue(routerType.isMatching(getRequest().setPathtemplate("/helloworld/123"), route));
+        assertFalse(routerType.isMatching(getRequest().setPathtemplate("/helloworld"), route));
+        assertFalse(routerType.isMatching(getRequest().setPathtemplate("/helloworld/123/users"), route));
+        assertFalse(routerType.isMatching(getRequest().setPathtemplate(null), route));
     }
 
     @Test
-    public void pathTest() throws Exception {
+    public void pathWithRegexTemplateTest() throws Exception {
         RouterType routerType = new Path();
-        assertTrue(routerType.isMatching(getRequest(), getResourceMethod()));
+        Route route = getRoute("/helloworld/{id: [0-9]+}");
+
+        assertTrue(routerType.isMatching(getRequest().setPathtemplate("/helloworld/{id: [0-9]+}"), route));
+        assertTrue(routerType.isMatching(getRequest().setPathtemplate("/helloworld/123"), route));
+        assertFalse(routerType.isMatching(getRequest().setPathtemplate("/helloworld/abc"), route));
     }
-}
\ No newline at end of file
+}
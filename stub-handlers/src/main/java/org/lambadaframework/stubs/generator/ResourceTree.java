@@ -0,0 +1,182 @@
+package org.lambadaframework.stubs.generator;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resources generated by {@link ResourceTreeGenerator}
+ */
+public class ResourceTree {
+
+    /**
+     * Resource method of the tree, with a path that matches its template
+     */
+    public static class Endpoint {
+
+        private final String httpMethod;
+
+        private final String path;
+
+        private final String concretePath;
+
+        private final String className;
+
+        private final String methodName;
+
+        Endpoint(String httpMethod, String path, String concretePath, String className, String methodName) {
+            this.httpMethod = httpMethod;
+            this.path = path;
+            this.concretePath = concretePath;
+            this.className = className;
+            this.methodName = methodName;
+        }
+
+        public String getHttpMethod() {
+            return httpMethod;
+        }
+
+        /**
+         * Full path template, like API Gateway sends it
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * Path with a value for every template variable
+         */
+        public String getConcretePath() {
+            return concretePath;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public String getMethodName() {
+            return methodName;
+        }
+    }
+
+    private static class Source extends SimpleJavaFileObject {
+
+        private final String source;
+
+        Source(String className, String source) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+
+    private final String packageName;
+
+    private final Map<String, String> sources;
+
+    private final List<Endpoint> endpoints;
+
+    ResourceTree(String packageName, Map<String, String> sources, List<Endpoint> endpoints) {
+        this.packageName = packageName;
+        this.sources = Collections.unmodifiableMap(sources);
+        this.endpoints = Collections.unmodifiableList(endpoints);
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * Gets the sources of the resource classes
+     *
+     * @return Sources by class name, in generation order
+     */
+    public Map<String, String> getSources() {
+        return sources;
+    }
+
+    /**
+     * Gets the resource methods of the tree
+     *
+     * @return Endpoints in generation order
+     */
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Writes the sources in the package directories under the output directory
+     *
+     * @param outputDirectory Source root
+     * @throws IOException when a source cannot be written
+     */
+    public void writeSources(File outputDirectory) throws IOException {
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            File file = new File(outputDirectory, source.getKey().replace('.', File.separatorChar) + ".java");
+            Files.createDirectories(file.getParentFile().toPath());
+            Files.write(file.toPath(), source.getValue().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Compiles the resources against the class path of the JVM.
+     * <p>
+     * Annotation processors on the class path are run too, so their generated
+     * sources and resources end up in the output directory.
+     *
+     * @param outputDirectory Directory for the classes
+     * @return Class loader of the compiled classes, the caller should close it
+     * @throws IOException when the classes cannot be written
+     */
+    public URLClassLoader compile(File outputDirectory) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Resource trees can only be compiled with a JDK");
+        }
+
+        List<JavaFileObject> compilationUnits = new ArrayList<>(sources.size());
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            compilationUnits.add(new Source(source.getKey(), source.getValue()));
+        }
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            Files.createDirectories(outputDirectory.toPath());
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(outputDirectory));
+            fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singletonList(outputDirectory));
+
+            Boolean compiled = compiler.getTask(null,
+                    fileManager,
+                    diagnostics,
+                    Arrays.asList("-classpath", System.getProperty("java.class.path")),
+                    null,
+                    compilationUnits).call();
+
+            if (!compiled) {
+                throw new IllegalStateException("Resource tree cannot be compiled: " + diagnostics.getDiagnostics());
+            }
+        }
+
+        return new URLClassLoader(new URL[]{outputDirectory.toURI().toURL()}, ResourceTree.class.getClassLoader());
+    }
+}
@@ -0,0 +1,222 @@
+package org.lambadaframework.stubs.generator;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates synthetic JAX-RS resources to measure the framework at the size of real APIs.
+ * <p>
+ * Every resource class is mapped to <code>/resource{i}</code> and has the same number of methods.
+ * The path of a method has as many segments as the depth of the tree, the last one is a
+ * literal unique in its class, the others are literals or template variables, some of them
+ * with a regular expression. HTTP methods cycle through GET, POST, PUT and DELETE. Generation
+ * is deterministic for a given seed, so runs at the same size can be compared.
+ * <pre>
+ * ResourceTree tree = new ResourceTreeGenerator()
+ *         .withResourceCount(100)
+ *         .withMethodCount(10)
+ *         .withDepth(3)
+ *         .generate();
+ * URLClassLoader classLoader = tree.compile(classesDirectory);
+ * </pre>
+ * Sources can also be written at build time, i.e. with the exec plugin:
+ * <code>ResourceTreeGenerator outputDirectory [resources] [methods] [depth]</code>
+ */
+public class ResourceTreeGenerator {
+
+    public static final String DEFAULT_PACKAGE_NAME = "org.lambadaframework.stubs.generated";
+
+    private static final String[] HTTP_METHODS = {"GET", "POST", "PUT", "DELETE"};
+
+    private String packageName = DEFAULT_PACKAGE_NAME;
+
+    private int resourceCount = 10;
+
+    private int methodCount = 10;
+
+    private int depth = 2;
+
+    private double variableRatio = 0.5;
+
+    private long seed = 42;
+
+    public ResourceTreeGenerator withPackageName(String packageName) {
+        this.packageName = packageName;
+        return this;
+    }
+
+    public ResourceTreeGenerator withResourceCount(int resourceCount) {
+        if (resourceCount < 1) {
+            throw new IllegalArgumentException("There should be at least 1 resource");
+        }
+        this.resourceCount = resourceCount;
+        return this;
+    }
+
+    public ResourceTreeGenerator withMethodCount(int methodCount) {
+        if (methodCount < 1) {
+            throw new IllegalArgumentException("Every resource should have at least 1 method");
+        }
+        this.methodCount = methodCount;
+        return this;
+    }
+
+    /**
+     * Sets the number of path segments of the methods, below the path of their resource
+     *
+     * @param depth Depth, at least 1
+     * @return this
+     */
+    public ResourceTreeGenerator withDepth(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Depth should be at least 1");
+        }
+        this.depth = depth;
+        return this;
+    }
+
+    /**
+     * Sets the probability of a segment above the last one to be a template variable
+     *
+     * @param variableRatio Ratio between 0 and 1
+     * @return this
+     */
+    public ResourceTreeGenerator withVariableRatio(double variableRatio) {
+        if (variableRatio < 0 || variableRatio > 1) {
+            throw new IllegalArgumentException("Variable ratio should be between 0 and 1");
+        }
+        this.variableRatio = variableRatio;
+        return this;
+    }
+
+    public ResourceTreeGenerator withSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public ResourceTree generate() {
+        Random random = new Random(seed);
+        Map<String, String> sources = new LinkedHashMap<>();
+        List<ResourceTree.Endpoint> endpoints = new ArrayList<>(resourceCount * methodCount);
+
+        for (int i = 0; i < resourceCount; i++) {
+            String simpleName = "Resource" + i;
+            String className = packageName + "." + simpleName;
+
+            StringBuilder source = new StringBuilder(512 + methodCount * 384)
+                    .append("package ").append(packageName).append(";\n\n")
+                    .append("import javax.ws.rs.*;\n")
+                    .append("import javax.ws.rs.core.MediaType;\n\n")
+                    .append("@Path(\"/resource").append(i).append("\")\n")
+                    .append("@Produces(MediaType.APPLICATION_JSON)\n")
+                    .append("@Consumes(MediaType.APPLICATION_JSON)\n")
+                    .append("public class ").append(simpleName).append(" {\n");
+
+            for (int j = 0; j < methodCount; j++) {
+                endpoints.add(appendMethod(source, random, className, "/resource" + i, j));
+            }
+
+            sources.put(className, source.append("}\n").toString());
+        }
+
+        return new ResourceTree(packageName, sources, endpoints);
+    }
+
+    private ResourceTree.Endpoint appendMethod(StringBuilder source, Random random, String className, String resourcePath, int index) {
+        String httpMethod = HTTP_METHODS[index % HTTP_METHODS.length];
+        String methodName = httpMethod.toLowerCase() + "Method" + index;
+
+        StringBuilder path = new StringBuilder();
+        StringBuilder concretePath = new StringBuilder(resourcePath);
+        List<String> parameters = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+
+        for (int k = 0; k < depth - 1; k++) {
+            if (random.nextDouble() >= variableRatio) {
+                path.append("/level").append(k);
+                concretePath.append("/level").append(k);
+                continue;
+            }
+
+            String variable = "id" + k;
+            variables.add(variable);
+            concretePath.append('/').append(k + 1);
+
+            /**
+             * Plain String, plain long and long with a regular expression, in equal parts
+             */
+            switch (random.nextInt(3)) {
+                case 0:
+                    path.append("/{").append(variable).append('}');
+                    parameters.add("@PathParam(\"" + variable + "\") String " + variable);
+                    break;
+                case 1:
+                    path.append("/{").append(variable).append('}');
+                    parameters.add("@PathParam(\"" + variable + "\") long " + variable);
+                    break;
+                default:
+                    path.append("/{").append(variable).append(": [0-9]+}");
+                    parameters.add("@PathParam(\"" + variable + "\") long " + variable);
+                    break;
+            }
+        }
+
+        path.append("/method").append(index);
+        concretePath.append("/method").append(index);
+
+        if ("GET".equals(httpMethod)) {
+            parameters.add("@QueryParam(\"limit\") @DefaultValue(\"10\") int limit");
+            variables.add("limit");
+        } else if (!"DELETE".equals(httpMethod)) {
+            parameters.add("String body");
+            variables.add("body");
+        }
+
+        source.append("\n    @").append(httpMethod).append('\n')
+                .append("    @Path(\"").append(path).append("\")\n")
+                .append("    public String ").append(methodName).append('(')
+                .append(String.join(", ", parameters)).append(") {\n")
+                .append("        return \"").append(methodName).append('"');
+        for (String variable : variables) {
+            source.append(" + \":\" + ").append(variable);
+        }
+        source.append(";\n    }\n");
+
+        return new ResourceTree.Endpoint(httpMethod,
+                resourcePath + path,
+                concretePath.toString(),
+                className,
+                methodName);
+    }
+
+    /**
+     * Writes the sources of a generated tree
+     *
+     * @param args Output directory, then optionally the number of resources, methods and the depth
+     * @throws IOException when the sources cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ResourceTreeGenerator outputDirectory [resources] [methods] [depth]");
+            System.exit(1);
+        }
+
+        ResourceTreeGenerator generator = new ResourceTreeGenerator();
+        if (args.length > 1) {
+            generator.withResourceCount(Integer.parseInt(args[1]));
+        }
+        if (args.length > 2) {
+            generator.withMethodCount(Integer.parseInt(args[2]));
+        }
+        if (args.length > 3) {
+            generator.withDepth(Integer.parseInt(args[3]));
+        }
+
+        generator.generate().writeSources(new File(args[0]));
+    }
+}